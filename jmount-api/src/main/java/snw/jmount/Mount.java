@@ -17,12 +17,17 @@
 package snw.jmount;
 
 import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.Nullable;
 import snw.jmount.handle.ConstructorMP;
 import snw.jmount.handle.FieldAccessor;
 import snw.jmount.handle.WrappedConstructor;
 
 import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * An utility tool which is configured, ready-to-use for creating instances of Mount Points and origin things.
@@ -33,7 +38,8 @@ import java.util.NoSuchElementException;
 public interface Mount {
 
     /**
-     * Create a Mount Point on the origin object.
+     * Create a Mount Point on the origin object. <br>
+     * A new instance is returned every time unless interning is enabled, see {@link MountBuilder#interning(boolean)}.
      *
      * @param mpType The Mount Point interface class object
      * @param origin The origin object
@@ -81,6 +87,44 @@ public interface Mount {
      */
     void fillEnum(Class<?> enumMPClazz) throws IllegalArgumentException, NoSuchElementException;
 
+    // -- Preload --
+
+    /**
+     * Load the provided Mount Point types in parallel on the provided executor,
+     *  so the first {@link #mount(Class, Object)} calls in live traffic don't need to do it. <br>
+     * For each Mount Point type, it is verified, all its members (including the inherited ones) are resolved,
+     *  the members of its origin class are indexed, the implementation of it is prepared,
+     *  and the enum constants declared by it are filled if its origin class is an enum (see {@link #fillEnum(Class)}).
+     *
+     * @param executor The executor which runs the tasks, each Mount Point type is loaded in a separate task
+     * @param mpTypes The Mount Point types
+     * @return The future of the report, it is completed when all Mount Point types are done.
+     *          The failures of the Mount Point types are recorded in the report instead of failing the future
+     */
+    CompletableFuture<PreloadReport> preload(Executor executor, Collection<Class<?>> mpTypes);
+
+    /**
+     * Load the provided Mount Point types in parallel on the provided executor.
+     *
+     * @param executor The executor which runs the tasks
+     * @param mpTypes The Mount Point types
+     * @return The future of the report
+     * @see #preload(Executor, Collection)
+     */
+    default CompletableFuture<PreloadReport> preload(Executor executor, Class<?>... mpTypes) {
+        return preload(executor, Arrays.asList(mpTypes));
+    }
+
+    /**
+     * Load all Mount Point types listed in the index files written by {@code jmount-processor},
+     *  which are visible to the class loader of this object.
+     *
+     * @param executor The executor which runs the tasks
+     * @return The future of the report
+     * @see #preload(Executor, Collection)
+     */
+    CompletableFuture<PreloadReport> preloadIndexed(Executor executor);
+
     // -- Field --
 
     /**
@@ -189,4 +233,11 @@ public interface Mount {
      */
     ClassLoader classLoader();
 
+    /**
+     * Get the metrics of this object.
+     *
+     * @return The metrics, or null if it is disabled, see {@link MountBuilder#metrics(boolean)}
+     */
+    @Nullable MountMetrics metrics();
+
 }
@@ -17,8 +17,10 @@
 package snw.jmount;
 
 import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.Nullable;
 import snw.jmount.spi.MountBuilderProvider;
 
+import java.nio.file.Path;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.ServiceLoader;
@@ -49,6 +51,62 @@ public interface MountBuilder {
     @Contract("null -> fail; _ -> this")
     MountBuilder nameTransformer(NameTransformer nameTransformer);
 
+    /**
+     * Set whether the {@link Mount} object interns the Mount Point instances, it is disabled by default. <br>
+     * If enabled, {@link Mount#mount(Class, Object)} returns the same Mount Point instance
+     *  for the same origin object (compared by identity) and Mount Point type,
+     *  as long as the instance returned before is still reachable.
+     * The interned instances don't keep their origin objects alive. <br>
+     * The Mount Point instances are always compared by identity,
+     *  so two Mount Point instances are equal only if they are the same instance.
+     * With interning, this means they are equal if and only if they have the same origin object and Mount Point type.
+     *
+     * @param interning True to intern the Mount Point instances
+     * @return This builder
+     */
+    @Contract("_ -> this")
+    MountBuilder interning(boolean interning);
+
+    /**
+     * Set whether the {@link Mount} object uses the Mount Point classes generated by {@code jmount-processor}
+     *  at compile time, it is enabled by default. <br>
+     * The generated classes are found by the index file written by the processor,
+     *  the Mount Point types without a generated class are still implemented at runtime.
+     *
+     * @param prepared True to use the Mount Point classes generated at compile time
+     * @return This builder
+     */
+    @Contract("_ -> this")
+    MountBuilder prepared(boolean prepared);
+
+    /**
+     * Set the file which persists the members resolved for the Mount Point methods, it is disabled by default. <br>
+     * If enabled, the file is loaded when the {@link Mount} object is built,
+     *  and the members found in it are used instead of looking them up again,
+     *  as long as the Mount Points and the origin classes have not been changed.
+     * The new members are written to the file when they are resolved. <br>
+     * The cache is discarded if the {@link NameTransformer#fingerprint() fingerprint} of the name transformer
+     *  is changed, the name transformers keeping the default fingerprint
+     *  are assumed to give the same results for the same origin classes.
+     *
+     * @param file The cache file, or null to disable the cache
+     * @return This builder
+     */
+    @Contract("_ -> this")
+    MountBuilder resolutionCache(@Nullable Path file);
+
+    /**
+     * Set whether the {@link Mount} object counts the mounts, resolutions, cache hits and calls,
+     *  it is disabled by default. <br>
+     * The counters are available from {@link Mount#metrics()}.
+     * If disabled, nothing is counted, and the calls of the Mount Point methods are not affected at all.
+     *
+     * @param metrics True to enable the metrics
+     * @return This builder
+     */
+    @Contract("_ -> this")
+    MountBuilder metrics(boolean metrics);
+
     /**
      * Build a new {@link Mount} object.
      *
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * The counters of a {@link Mount} object, available if it is enabled by {@link MountBuilder#metrics(boolean)}. <br>
+ * The counters are updated without locking, so the values read while the {@link Mount} object is in use
+ *  may not be consistent with each other.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public interface MountMetrics {
+
+    /**
+     * The caches of a {@link Mount} object.
+     */
+    enum Cache {
+        /**
+         * The origin classes of the Mount Point types.
+         */
+        ORIGIN_CLASS,
+        /**
+         * The methods resolved for the Mount Point types, a miss means the Mount Point type is verified and resolved.
+         */
+        METHOD,
+        /**
+         * The fields requested by {@link Mount#accessField} and {@link Mount#accessStaticField}.
+         */
+        FIELD,
+        /**
+         * The Mount Point instances of the results returned by the Mount Point methods,
+         *  and the interned ones (see {@link MountBuilder#interning(boolean)}).
+         */
+        RESULT
+    }
+
+    /**
+     * Get the amount of the Mount Point instances created for each Mount Point type.
+     *
+     * @return The amounts, keyed by the Mount Point types
+     */
+    Map<Class<?>, Long> getMounts();
+
+    /**
+     * Get the amount of the Mount Point types verified and resolved, including the failed ones.
+     *
+     * @return The amount of the resolutions
+     */
+    long getResolutions();
+
+    /**
+     * Get the time spent on verifying and resolving the Mount Point types.
+     *
+     * @return The time in nanoseconds
+     */
+    long getResolutionNanos();
+
+    /**
+     * Get the amount of the requests answered by the provided cache.
+     *
+     * @param cache The cache
+     * @return The amount of the hits
+     */
+    long getHits(Cache cache);
+
+    /**
+     * Get the amount of the requests not answered by the provided cache, which computed the values.
+     *
+     * @param cache The cache
+     * @return The amount of the misses
+     */
+    long getMisses(Cache cache);
+
+    /**
+     * Get the amount of the calls of each Mount Point method.
+     *
+     * @return The amounts, keyed by the Mount Point methods
+     */
+    Map<Method, Long> getInvocations();
+
+    /**
+     * Get the amount of the exceptions wrapped into {@code ReflectOperationException} while performing reflective
+     *  operations on behalf of the {@link Mount} object (e.g. looking up the origin classes, creating the Mount Point
+     *  instances and accessing the fields).
+     *
+     * @return The amount of the wrapped exceptions
+     */
+    long getWrappedExceptions();
+}
@@ -16,6 +16,10 @@
 
 package snw.jmount;
 
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
 /**
  * The name transformer.
  *
@@ -55,4 +59,33 @@ public interface NameTransformer {
         return methodNameWithPattern;
     }
 
+    /**
+     * Transform the names of all the members of the origin class at once, this is optional. <br>
+     * The implementations caching the transformed names call this before transforming any member of the origin class,
+     *  so the name transformers backed by mapping tables can answer the whole class in one call. <br>
+     * The keys of the returned map are the field names,
+     *  and the method names followed by the descriptors of their argument types (e.g. {@code run(Ljava/lang/String;I)}),
+     *  the argument types are the origin classes.
+     * The members not in the returned map are transformed by the other methods.
+     * The results must be the same as the ones returned by the other methods.
+     *
+     * @param originClassName The exact origin class name
+     * @return The exact names of the members, or null if this is not supported
+     */
+    default @Nullable Map<String, String> transformMemberNames(String originClassName) {
+        return null;
+    }
+
+    /**
+     * Get the fingerprint of the names given by this name transformer, e.g. the hash of its mapping table. <br>
+     * The persistent caches of the resolved members (see {@link MountBuilder#resolutionCache(java.nio.file.Path)})
+     *  are discarded when the fingerprint changes, so it must change when the transformed names may change.
+     * The name transformers always giving the same names can keep the default value.
+     *
+     * @return The fingerprint
+     */
+    default long fingerprint() {
+        return 0;
+    }
+
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The result of {@link Mount#preload}, including the time spent on each Mount Point type and the failures.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public final class PreloadReport {
+    private final Map<Class<?>, Result> results;
+    private final long elapsedNanos;
+
+    /**
+     * Create a report.
+     *
+     * @param results The results of the Mount Point types, in the order they were requested
+     * @param elapsedNanos The time spent on the whole preload in nanoseconds
+     */
+    public PreloadReport(Map<Class<?>, Result> results, long elapsedNanos) {
+        this.results = Collections.unmodifiableMap(new LinkedHashMap<>(results));
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Get the results of all requested Mount Point types.
+     *
+     * @return The results, in the order they were requested
+     */
+    public Map<Class<?>, Result> getResults() {
+        return results;
+    }
+
+    /**
+     * Get the failures of the Mount Point types which cannot be loaded.
+     *
+     * @return The exceptions thrown while loading them, in the order they were requested
+     */
+    public Map<Class<?>, Throwable> getFailures() {
+        final Map<Class<?>, Throwable> failures = new LinkedHashMap<>();
+        for (Result result : results.values()) {
+            if (result.failure != null) {
+                failures.put(result.type, result.failure);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Check if all requested Mount Point types are loaded.
+     *
+     * @return True if none of them failed
+     */
+    public boolean isSuccessful() {
+        for (Result result : results.values()) {
+            if (result.failure != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the time spent on the whole preload, the Mount Point types were loaded in parallel
+     *  so it is usually less than the sum of their times.
+     *
+     * @return The time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "PreloadReport{types=" + results.size() + ", failures=" + getFailures().size()
+                + ", elapsedNanos=" + elapsedNanos + "}";
+    }
+
+    /**
+     * The result of a Mount Point type.
+     */
+    public static final class Result {
+        private final Class<?> type;
+        private final long elapsedNanos;
+        private final @Nullable Throwable failure;
+
+        /**
+         * Create a result.
+         *
+         * @param type The Mount Point type
+         * @param elapsedNanos The time spent on loading it in nanoseconds
+         * @param failure The exception thrown while loading it, or null if it is loaded
+         */
+        public Result(Class<?> type, long elapsedNanos, @Nullable Throwable failure) {
+            this.type = type;
+            this.elapsedNanos = elapsedNanos;
+            this.failure = failure;
+        }
+
+        /**
+         * Get the Mount Point type.
+         *
+         * @return The Mount Point type
+         */
+        public Class<?> getType() {
+            return type;
+        }
+
+        /**
+         * Get the time spent on loading the Mount Point type.
+         *
+         * @return The time in nanoseconds
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Get the exception thrown while loading the Mount Point type.
+         *
+         * @return The exception, or null if it is loaded
+         */
+        public @Nullable Throwable getFailure() {
+            return failure;
+        }
+
+        /**
+         * Check if the Mount Point type is loaded.
+         *
+         * @return True if it is loaded
+         */
+        public boolean isSuccessful() {
+            return failure == null;
+        }
+
+        @Override
+        public String toString() {
+            return type.getName() + (failure != null ? " failed: " + failure : " loaded")
+                    + " in " + elapsedNanos + "ns";
+        }
+    }
+}
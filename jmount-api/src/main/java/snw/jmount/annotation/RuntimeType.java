@@ -22,7 +22,12 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * This annotation is used to mark the things which is needed to suppress the type check on mounting.
+ * This annotation is used to mark the things which is needed to suppress the type check on mounting. <br>
+ * If a Mount Point method with such parameters matches more than one overload in the origin class,
+ *  the overload is selected on each call by the classes of the arguments passed to these parameters
+ *  (the parameters of primitive types and Mount Point types are not considered),
+ *  the most specific overload accepting them is called,
+ *  and an {@link IllegalArgumentException} is thrown if none of them accepts them.
  *
  * @author SNWCreations
  * @since 0.1.0
@@ -20,7 +20,16 @@ package snw.jmount.handle;
 import java.lang.reflect.Field;
 
 /**
- * The field accessor, provides the ability that wrapping the underlying data as the Mount Point object.
+ * The field accessor, provides the ability that wrapping the underlying data as the Mount Point object. <br>
+ * The primitive fields can be accessed without boxing by the typed methods, such as {@link #getInt()}. <br>
+ * The atomic operations, such as {@link #compareAndSet(Object, Object)}, and the accesses with memory ordering,
+ *  such as {@link #getVolatile()}, are supported for the fields of every type, including the primitive ones. <br>
+ * The operations writing the field throw {@link IllegalStateException} if it is final,
+ *  and {@link IllegalArgumentException} if the type of the provided value does not match the type of the field.
+ *  The atomic additions are only available for {@code int} and {@code long} fields,
+ *  by {@link #getAndAddInt(int)} and {@link #getAndAddLong(long)}, which throw {@link IllegalStateException}
+ *  for the fields of the other types,
+ *  just like {@link #compareAndSetInt(int, int)} and {@link #compareAndSetLong(long, long)}.
  *
  * @param <T> The Mount Point type
  * @author SNWCreations
@@ -53,6 +62,343 @@ public interface FieldAccessor<T> {
      */
     T getMounted() throws IllegalStateException;
 
+    /**
+     * Get the value of the underlying field whose type is {@code boolean}, without boxing.
+     *
+     * @return The value
+     * @throws IllegalStateException Thrown if the type of the underlying field is not {@code boolean}
+     */
+    default boolean getBoolean() throws IllegalStateException {
+        if (getUnderlyingField().getType() != boolean.class) {
+            throw new IllegalStateException("The type of the underlying field is not boolean");
+        }
+        return (Boolean) get();
+    }
+
+    /**
+     * Set the value of the underlying field whose type is {@code boolean}, without boxing.
+     *
+     * @param newValue The new value
+     * @throws IllegalStateException Thrown if the type of the underlying field is not {@code boolean},
+     *                               or the underlying field is final
+     */
+    default void setBoolean(boolean newValue) throws IllegalStateException {
+        if (getUnderlyingField().getType() != boolean.class) {
+            throw new IllegalStateException("The type of the underlying field is not boolean");
+        }
+        set(newValue);
+    }
+
+    /**
+     * Get the value of the underlying field whose type is {@code byte}, without boxing.
+     *
+     * @return The value
+     * @throws IllegalStateException Thrown if the type of the underlying field is not {@code byte}
+     */
+    default byte getByte() throws IllegalStateException {
+        if (getUnderlyingField().getType() != byte.class) {
+            throw new IllegalStateException("The type of the underlying field is not byte");
+        }
+        return (Byte) get();
+    }
+
+    /**
+     * Set the value of the underlying field whose type is {@code byte}, without boxing.
+     *
+     * @param newValue The new value
+     * @throws IllegalStateException Thrown if the type of the underlying field is not {@code byte},
+     *                               or the underlying field is final
+     */
+    default void setByte(byte newValue) throws IllegalStateException {
+        if (getUnderlyingField().getType() != byte.class) {
+            throw new IllegalStateException("The type of the underlying field is not byte");
+        }
+        set(newValue);
+    }
+
+    /**
+     * Get the value of the underlying field whose type is {@code char}, without boxing.
+     *
+     * @return The value
+     * @throws IllegalStateException Thrown if the type of the underlying field is not {@code char}
+     */
+    default char getChar() throws IllegalStateException {
+        if (getUnderlyingField().getType() != char.class) {
+            throw new IllegalStateException("The type of the underlying field is not char");
+        }
+        return (Character) get();
+    }
+
+    /**
+     * Set the value of the underlying field whose type is {@code char}, without boxing.
+     *
+     * @param newValue The new value
+     * @throws IllegalStateException Thrown if the type of the underlying field is not {@code char},
+     *                               or the underlying field is final
+     */
+    default void setChar(char newValue) throws IllegalStateException {
+        if (getUnderlyingField().getType() != char.class) {
+            throw new IllegalStateException("The type of the underlying field is not char");
+        }
+        set(newValue);
+    }
+
+    /**
+     * Get the value of the underlying field whose type is {@code short}, without boxing.
+     *
+     * @return The value
+     * @throws IllegalStateException Thrown if the type of the underlying field is not {@code short}
+     */
+    default short getShort() throws IllegalStateException {
+        if (getUnderlyingField().getType() != short.class) {
+            throw new IllegalStateException("The type of the underlying field is not short");
+        }
+        return (Short) get();
+    }
+
+    /**
+     * Set the value of the underlying field whose type is {@code short}, without boxing.
+     *
+     * @param newValue The new value
+     * @throws IllegalStateException Thrown if the type of the underlying field is not {@code short},
+     *                               or the underlying field is final
+     */
+    default void setShort(short newValue) throws IllegalStateException {
+        if (getUnderlyingField().getType() != short.class) {
+            throw new IllegalStateException("The type of the underlying field is not short");
+        }
+        set(newValue);
+    }
+
+    /**
+     * Get the value of the underlying field whose type is {@code int}, without boxing.
+     *
+     * @return The value
+     * @throws IllegalStateException Thrown if the type of the underlying field is not {@code int}
+     */
+    default int getInt() throws IllegalStateException {
+        if (getUnderlyingField().getType() != int.class) {
+            throw new IllegalStateException("The type of the underlying field is not int");
+        }
+        return (Integer) get();
+    }
+
+    /**
+     * Set the value of the underlying field whose type is {@code int}, without boxing.
+     *
+     * @param newValue The new value
+     * @throws IllegalStateException Thrown if the type of the underlying field is not {@code int},
+     *                               or the underlying field is final
+     */
+    default void setInt(int newValue) throws IllegalStateException {
+        if (getUnderlyingField().getType() != int.class) {
+            throw new IllegalStateException("The type of the underlying field is not int");
+        }
+        set(newValue);
+    }
+
+    /**
+     * Get the value of the underlying field whose type is {@code long}, without boxing.
+     *
+     * @return The value
+     * @throws IllegalStateException Thrown if the type of the underlying field is not {@code long}
+     */
+    default long getLong() throws IllegalStateException {
+        if (getUnderlyingField().getType() != long.class) {
+            throw new IllegalStateException("The type of the underlying field is not long");
+        }
+        return (Long) get();
+    }
+
+    /**
+     * Set the value of the underlying field whose type is {@code long}, without boxing.
+     *
+     * @param newValue The new value
+     * @throws IllegalStateException Thrown if the type of the underlying field is not {@code long},
+     *                               or the underlying field is final
+     */
+    default void setLong(long newValue) throws IllegalStateException {
+        if (getUnderlyingField().getType() != long.class) {
+            throw new IllegalStateException("The type of the underlying field is not long");
+        }
+        set(newValue);
+    }
+
+    /**
+     * Get the value of the underlying field whose type is {@code float}, without boxing.
+     *
+     * @return The value
+     * @throws IllegalStateException Thrown if the type of the underlying field is not {@code float}
+     */
+    default float getFloat() throws IllegalStateException {
+        if (getUnderlyingField().getType() != float.class) {
+            throw new IllegalStateException("The type of the underlying field is not float");
+        }
+        return (Float) get();
+    }
+
+    /**
+     * Set the value of the underlying field whose type is {@code float}, without boxing.
+     *
+     * @param newValue The new value
+     * @throws IllegalStateException Thrown if the type of the underlying field is not {@code float},
+     *                               or the underlying field is final
+     */
+    default void setFloat(float newValue) throws IllegalStateException {
+        if (getUnderlyingField().getType() != float.class) {
+            throw new IllegalStateException("The type of the underlying field is not float");
+        }
+        set(newValue);
+    }
+
+    /**
+     * Get the value of the underlying field whose type is {@code double}, without boxing.
+     *
+     * @return The value
+     * @throws IllegalStateException Thrown if the type of the underlying field is not {@code double}
+     */
+    default double getDouble() throws IllegalStateException {
+        if (getUnderlyingField().getType() != double.class) {
+            throw new IllegalStateException("The type of the underlying field is not double");
+        }
+        return (Double) get();
+    }
+
+    /**
+     * Set the value of the underlying field whose type is {@code double}, without boxing.
+     *
+     * @param newValue The new value
+     * @throws IllegalStateException Thrown if the type of the underlying field is not {@code double},
+     *                               or the underlying field is final
+     */
+    default void setDouble(double newValue) throws IllegalStateException {
+        if (getUnderlyingField().getType() != double.class) {
+            throw new IllegalStateException("The type of the underlying field is not double");
+        }
+        set(newValue);
+    }
+
+    /**
+     * Get the origin object inside the underlying field with volatile memory semantics.
+     *
+     * @return The origin object
+     */
+    Object getVolatile();
+
+    /**
+     * Set the provided value as the new value to the underlying field with volatile memory semantics.
+     *
+     * @param newValue The new value
+     * @throws IllegalArgumentException Thrown if the type of the new value does NOT match
+     *                                  the type of the underlying field
+     * @throws IllegalStateException    Thrown if the underlying field is final
+     */
+    void setVolatile(Object newValue) throws IllegalArgumentException, IllegalStateException;
+
+    /**
+     * Get the origin object inside the underlying field with opaque memory semantics.
+     *
+     * @return The origin object
+     */
+    Object getOpaque();
+
+    /**
+     * Set the provided value as the new value to the underlying field with opaque memory semantics.
+     *
+     * @param newValue The new value
+     * @throws IllegalArgumentException Thrown if the type of the new value does NOT match
+     *                                  the type of the underlying field
+     * @throws IllegalStateException    Thrown if the underlying field is final
+     */
+    void setOpaque(Object newValue) throws IllegalArgumentException, IllegalStateException;
+
+    /**
+     * Get the origin object inside the underlying field with acquire memory semantics.
+     *
+     * @return The origin object
+     */
+    Object getAcquire();
+
+    /**
+     * Set the provided value as the new value to the underlying field with release memory semantics.
+     *
+     * @param newValue The new value
+     * @throws IllegalArgumentException Thrown if the type of the new value does NOT match
+     *                                  the type of the underlying field
+     * @throws IllegalStateException    Thrown if the underlying field is final
+     */
+    void setRelease(Object newValue) throws IllegalArgumentException, IllegalStateException;
+
+    /**
+     * Atomically set the provided value as the new value to the underlying field
+     *  if the current value is the expected value. <br>
+     * The values are compared by identity, or by their primitive values if the underlying field is primitive
+     *  (by the raw bits for {@code float} and {@code double}).
+     *
+     * @param expectedValue The expected value
+     * @param newValue      The new value
+     * @return True if the new value is set
+     * @throws IllegalArgumentException Thrown if the type of the values does NOT match
+     *                                  the type of the underlying field
+     * @throws IllegalStateException    Thrown if the underlying field is final
+     */
+    boolean compareAndSet(Object expectedValue, Object newValue) throws IllegalArgumentException, IllegalStateException;
+
+    /**
+     * Atomically set the provided value as the new value to the underlying field, and return the previous value.
+     *
+     * @param newValue The new value
+     * @return The previous origin object inside the underlying field
+     * @throws IllegalArgumentException Thrown if the type of the new value does NOT match
+     *                                  the type of the underlying field
+     * @throws IllegalStateException    Thrown if the underlying field is final
+     */
+    Object getAndSet(Object newValue) throws IllegalArgumentException, IllegalStateException;
+
+    /**
+     * Atomically set the provided value as the new value to the underlying field whose type is {@code int}
+     *  if the current value is the expected value, without boxing.
+     *
+     * @param expectedValue The expected value
+     * @param newValue      The new value
+     * @return True if the new value is set
+     * @throws IllegalStateException Thrown if the type of the underlying field is not {@code int},
+     *                               or the underlying field is final
+     */
+    boolean compareAndSetInt(int expectedValue, int newValue) throws IllegalStateException;
+
+    /**
+     * Atomically add the provided value to the underlying field whose type is {@code int}, without boxing.
+     *
+     * @param delta The value to add
+     * @return The previous value
+     * @throws IllegalStateException Thrown if the type of the underlying field is not {@code int},
+     *                               or the underlying field is final
+     */
+    int getAndAddInt(int delta) throws IllegalStateException;
+
+    /**
+     * Atomically set the provided value as the new value to the underlying field whose type is {@code long}
+     *  if the current value is the expected value, without boxing.
+     *
+     * @param expectedValue The expected value
+     * @param newValue      The new value
+     * @return True if the new value is set
+     * @throws IllegalStateException Thrown if the type of the underlying field is not {@code long},
+     *                               or the underlying field is final
+     */
+    boolean compareAndSetLong(long expectedValue, long newValue) throws IllegalStateException;
+
+    /**
+     * Atomically add the provided value to the underlying field whose type is {@code long}, without boxing.
+     *
+     * @param delta The value to add
+     * @return The previous value
+     * @throws IllegalStateException Thrown if the type of the underlying field is not {@code long},
+     *                               or the underlying field is final
+     */
+    long getAndAddLong(long delta) throws IllegalStateException;
+
     /**
      * Return true if the underlying field is marked as final.
      *
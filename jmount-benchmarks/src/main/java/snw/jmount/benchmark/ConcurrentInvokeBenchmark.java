@@ -0,0 +1,66 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import snw.jmount.Mount;
+import snw.jmount.benchmark.objects.mp.PartMP;
+import snw.jmount.benchmark.objects.mp.TargetMP;
+import snw.jmount.benchmark.objects.origin.Target;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the calls returning Mount Points scale when the same Mount Point instance is shared by threads.
+ * Compare the scores of the different thread counts, the time per operation should stay the same.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentInvokeBenchmark {
+    @Param({"jdk", "bytecode"})
+    public String implementation;
+
+    private TargetMP mp;
+
+    @Setup
+    public void setUp() {
+        final Mount mount = Mounts.create(implementation);
+        mp = mount.mount(TargetMP.class, new Target());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public PartMP returnsMountPoint1Thread() {
+        return mp.part();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public PartMP returnsMountPoint4Threads() {
+        return mp.part();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public PartMP returnsMountPointMaxThreads() {
+        return mp.part();
+    }
+}
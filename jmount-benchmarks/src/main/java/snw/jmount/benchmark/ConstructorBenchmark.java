@@ -0,0 +1,79 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import snw.jmount.Mount;
+import snw.jmount.benchmark.objects.mp.PartMP;
+import snw.jmount.benchmark.objects.mp.TargetMP;
+import snw.jmount.benchmark.objects.origin.Part;
+import snw.jmount.benchmark.objects.origin.Target;
+import snw.jmount.handle.ConstructorMP;
+import snw.jmount.handle.WrappedConstructor;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link WrappedConstructor} and {@link ConstructorMP}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConstructorBenchmark {
+    @Param({"jdk", "bytecode"})
+    public String implementation;
+
+    private Part part;
+    private PartMP partMP;
+    private WrappedConstructor wrappedConstructor;
+    private ConstructorMP<TargetMP> constructorMP;
+    private Constructor<Target> constructor;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        final Mount mount = Mounts.create(implementation);
+        part = new Part(3);
+        partMP = mount.mount(PartMP.class, part);
+        wrappedConstructor = mount.findConstructorAndWrap(Target.class, int.class, PartMP.class);
+        constructorMP = mount.findConstructorAndWrapAsMP(TargetMP.class, int.class, PartMP.class);
+        constructor = Target.class.getDeclaredConstructor(int.class, Part.class);
+    }
+
+    @Benchmark
+    public Object wrapped() {
+        return wrappedConstructor.newInstance(1, part);
+    }
+
+    @Benchmark
+    public TargetMP mountPoint() {
+        return constructorMP.newInstance(1, partMP);
+    }
+
+    @Benchmark
+    public Target direct() {
+        return new Target(1, part);
+    }
+
+    @Benchmark
+    public Target reflect() throws ReflectiveOperationException {
+        return constructor.newInstance(1, part);
+    }
+}
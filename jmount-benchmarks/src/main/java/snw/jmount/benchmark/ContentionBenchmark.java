@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import snw.jmount.Mount;
+import snw.jmount.benchmark.objects.mp.TargetMP;
+import snw.jmount.benchmark.objects.origin.Target;
+
+import java.util.concurrent.*;
+
+/**
+ * Measures a burst of threads mounting the same Mount Point type on a new {@link Mount} at the same time,
+ *  which is what happens right after the startup. Each operation is a whole burst.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentionBenchmark {
+    @Param({"jdk", "bytecode", "prepared"})
+    public String implementation;
+
+    @Param({"256"})
+    public int threads;
+
+    private ExecutorService executor;
+    private Target target;
+
+    @Setup
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(threads);
+        target = new Target();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void burst() throws Exception {
+        final Mount mount = Mounts.create(implementation);
+        final CountDownLatch start = new CountDownLatch(1);
+        final Future<?>[] futures = new Future<?>[threads];
+        for (int i = 0; i < threads; i++) {
+            futures[i] = executor.submit(() -> {
+                start.await();
+                return mount.mount(TargetMP.class, target);
+            });
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+}
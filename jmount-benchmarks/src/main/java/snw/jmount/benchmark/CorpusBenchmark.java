@@ -0,0 +1,153 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import snw.jmount.Mount;
+import snw.jmount.benchmark.corpus.SyntheticCorpus;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the startup scales with the size of the code base, by a {@link SyntheticCorpus}.
+ * Every invocation loads the classes again, and mounts every origin object on a new {@link Mount}.
+ * The first call one also calls every method of every Mount Point once, so all members are resolved (and linked).
+ * The allocations are reported by the allocation profiler,
+ *  and the heap retained by the mounted objects (with the generated classes) is reported as {@code retainedBytes}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class CorpusBenchmark {
+    private static final int DEPTH = 8;
+    private static final int OVERLOADS = 4;
+
+    @Param({"jdk", "bytecode"})
+    public String implementation;
+
+    @Param({"100", "1000", "5000"})
+    public int classes;
+
+    @Param({"4", "16"})
+    public int methods;
+
+    private SyntheticCorpus corpus;
+    private ClassLoader classLoader;
+    private Class<?>[] mountPoints;
+    private Object[] origins;
+    private Method[][] calls;
+    private Object[][][] arguments;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Memory {
+        public long retainedBytes;
+        private long usedBefore;
+        private Object[] mounted;
+
+        // depends on the benchmark state, so the loaded classes are not counted
+        @Setup(Level.Invocation)
+        public void before(CorpusBenchmark benchmark) {
+            usedBefore = usedMemory();
+        }
+
+        @TearDown(Level.Invocation)
+        public void after() {
+            retainedBytes = usedMemory() - usedBefore;
+            mounted = null;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void generate() {
+        corpus = SyntheticCorpus.generate(classes, DEPTH, methods, OVERLOADS);
+    }
+
+    @Setup(Level.Invocation)
+    public void load() throws ReflectiveOperationException {
+        classLoader = corpus.newClassLoader();
+        mountPoints = new Class<?>[classes];
+        origins = new Object[classes];
+        calls = new Method[classes][];
+        arguments = new Object[classes][][];
+        for (int i = 0; i < classes; i++) {
+            mountPoints[i] = Class.forName(SyntheticCorpus.mountPointName(i), true, classLoader);
+            origins[i] = Class.forName(SyntheticCorpus.originName(i), true, classLoader)
+                    .getDeclaredConstructor().newInstance();
+            calls[i] = mountPoints[i].getMethods();
+            arguments[i] = new Object[calls[i].length][];
+            for (int m = 0; m < calls[i].length; m++) {
+                arguments[i][m] = defaultArguments(calls[i][m].getParameterTypes());
+            }
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void unload() {
+        classLoader = null;
+        mountPoints = null;
+        origins = null;
+        calls = null;
+        arguments = null;
+    }
+
+    @Benchmark
+    public Object[] startup(Memory memory) {
+        return memory.mounted = mountAll();
+    }
+
+    @Benchmark
+    public Object[] firstCall(Memory memory) throws IllegalAccessException, InvocationTargetException {
+        final Object[] mounted = memory.mounted = mountAll();
+        for (int i = 0; i < classes; i++) {
+            for (int m = 0; m < calls[i].length; m++) {
+                calls[i][m].invoke(mounted[i], arguments[i][m]);
+            }
+        }
+        return mounted;
+    }
+
+    private Object[] mountAll() {
+        final Mount mount = Mounts.create(implementation, classLoader, corpus.nameTransformer());
+        final Object[] mounted = new Object[classes];
+        for (int i = 0; i < classes; i++) {
+            mounted[i] = mount.mount(mountPoints[i], origins[i]);
+        }
+        return mounted;
+    }
+
+    private static Object[] defaultArguments(Class<?>[] types) {
+        final Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            // the default value of every primitive type, null for the others
+            args[i] = types[i].isPrimitive() ? Array.get(Array.newInstance(types[i], 1), 0) : null;
+        }
+        return args;
+    }
+
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import snw.jmount.benchmark.objects.mp.OverloadsMP;
+import snw.jmount.benchmark.objects.origin.Overloads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Mount Point methods whose overloads are selected by the classes of the {@code @RuntimeType} arguments,
+ *  with one, three (within the inline cache) and six (megamorphic) classes of arguments at the same call site.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DispatchBenchmark {
+    private static final Object[] POLYMORPHIC = {"s", 1, new Object()};
+    private static final Object[] MEGAMORPHIC = {"s", 1, new Object(), new StringBuilder(), 1L, new StringBuffer()};
+
+    @Param({"jdk", "bytecode", "prepared"})
+    public String implementation;
+
+    private Overloads overloads;
+    private OverloadsMP mp;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        overloads = new Overloads();
+        mp = Mounts.create(implementation).mount(OverloadsMP.class, overloads);
+    }
+
+    @Benchmark
+    public int monomorphic() {
+        return mp.accept("s");
+    }
+
+    @Benchmark
+    public int monomorphicDirect() {
+        return overloads.accept("s");
+    }
+
+    @Benchmark
+    public int polymorphic() {
+        return mp.accept(POLYMORPHIC[index++ % POLYMORPHIC.length]);
+    }
+
+    @Benchmark
+    public int megamorphic() {
+        return mp.accept(MEGAMORPHIC[index++ % MEGAMORPHIC.length]);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import snw.jmount.Mount;
+import snw.jmount.benchmark.objects.mp.PartMP;
+import snw.jmount.benchmark.objects.mp.TargetMP;
+import snw.jmount.benchmark.objects.origin.Part;
+import snw.jmount.benchmark.objects.origin.Target;
+import snw.jmount.handle.FieldAccessor;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link FieldAccessor} and the field accessor methods of Mount Points.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FieldAccessBenchmark {
+    @Param({"jdk", "bytecode", "prepared"})
+    public String implementation;
+
+    private Mount mount;
+    private Target target;
+    private Part part;
+    private TargetMP mp;
+    private FieldAccessor<PartMP> accessor;
+    private FieldAccessor<?> numberAccessor;
+    private Field partField;
+    private Field numberField;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        mount = Mounts.create(implementation);
+        target = new Target();
+        part = target.part;
+        mp = mount.mount(TargetMP.class, target);
+        accessor = mp.partAccessor();
+        numberAccessor = mp.numberAccessor();
+        partField = Target.class.getDeclaredField("part");
+        numberField = Target.class.getDeclaredField("number");
+        numberField.setAccessible(true);
+    }
+
+    @Benchmark
+    public Object get() {
+        return accessor.get();
+    }
+
+    @Benchmark
+    public Object getDirect() {
+        return target.part;
+    }
+
+    @Benchmark
+    public Object getReflect() throws IllegalAccessException {
+        return partField.get(target);
+    }
+
+    @Benchmark
+    public void set() {
+        accessor.set(part);
+    }
+
+    @Benchmark
+    public void setDirect() {
+        target.part = part;
+    }
+
+    @Benchmark
+    public void setReflect() throws IllegalAccessException {
+        partField.set(target, part);
+    }
+
+    @Benchmark
+    public PartMP getMounted() {
+        return accessor.getMounted();
+    }
+
+    @Benchmark
+    public FieldAccessor<PartMP> accessorMethod() {
+        return mp.partAccessor();
+    }
+
+    @Benchmark
+    public FieldAccessor<PartMP> accessField() {
+        return mount.accessField(target, "part", PartMP.class);
+    }
+
+    @Benchmark
+    public int getterMethod() {
+        return mp.getNumber();
+    }
+
+    @Benchmark
+    public int getInt() {
+        return numberAccessor.getInt();
+    }
+
+    @Benchmark
+    public void setInt() {
+        numberAccessor.setInt(1);
+    }
+
+    @Benchmark
+    public int getAndAddInt() {
+        return numberAccessor.getAndAddInt(1);
+    }
+
+    @Benchmark
+    public boolean compareAndSetInt() {
+        return numberAccessor.compareAndSetInt(numberAccessor.getInt(), 1);
+    }
+
+    @Benchmark
+    public Object getBoxed() {
+        return numberAccessor.get();
+    }
+
+    @Benchmark
+    public int getterMethodReflect() throws IllegalAccessException {
+        return numberField.getInt(target);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import snw.jmount.Mount;
+import snw.jmount.benchmark.objects.mp.ColorMP;
+import snw.jmount.benchmark.objects.origin.Color;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Mount#fillEnum}.
+ * The baseline only looks up the enum constants for the fields, without mounting and setting them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FillEnumBenchmark {
+    @Param({"jdk", "bytecode"})
+    public String implementation;
+
+    private Mount mount;
+
+    @Setup
+    public void setUp() {
+        mount = Mounts.create(implementation);
+        mount.fillEnum(ColorMP.class);
+    }
+
+    @Benchmark
+    public void fillEnum() {
+        mount.fillEnum(ColorMP.class);
+    }
+
+    @Benchmark
+    public Object[] baselineReflect() {
+        final Field[] fields = ColorMP.class.getDeclaredFields();
+        final Object[] constants = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            constants[i] = Enum.valueOf(Color.class, fields[i].getName());
+        }
+        return constants;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import snw.jmount.Mount;
+import snw.jmount.benchmark.objects.mp.PartMP;
+import snw.jmount.benchmark.objects.mp.TargetMP;
+import snw.jmount.benchmark.objects.origin.Part;
+import snw.jmount.benchmark.objects.origin.Target;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Mount Point method calls with different argument counts,
+ *  and the calls returning another Mount Point.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InvokeBenchmark {
+    @Param({"jdk", "bytecode", "prepared"})
+    public String implementation;
+
+    private Target target;
+    private Part part;
+    private TargetMP mp;
+    private PartMP partMP;
+    private Method zero;
+    private Method one;
+    private Method many;
+    private Method returnsPart;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        final Mount mount = Mounts.create(implementation);
+        target = new Target();
+        part = new Part(3);
+        mp = mount.mount(TargetMP.class, target);
+        partMP = mount.mount(PartMP.class, part);
+        zero = Target.class.getDeclaredMethod("zero");
+        one = Target.class.getDeclaredMethod("one", int.class);
+        many = Target.class.getDeclaredMethod("many", int.class, long.class, double.class, String.class, Part.class);
+        returnsPart = Target.class.getDeclaredMethod("part");
+    }
+
+    @Benchmark
+    public int zeroArgs() {
+        return mp.zero();
+    }
+
+    @Benchmark
+    public int zeroArgsDirect() {
+        return target.zero();
+    }
+
+    @Benchmark
+    public Object zeroArgsReflect() throws ReflectiveOperationException {
+        return zero.invoke(target);
+    }
+
+    @Benchmark
+    public int oneArg() {
+        return mp.one(1);
+    }
+
+    @Benchmark
+    public int oneArgDirect() {
+        return target.one(1);
+    }
+
+    @Benchmark
+    public Object oneArgReflect() throws ReflectiveOperationException {
+        return one.invoke(target, 1);
+    }
+
+    @Benchmark
+    public int manyArgs() {
+        return mp.many(1, 2L, 3.0, "four", partMP);
+    }
+
+    @Benchmark
+    public int manyArgsDirect() {
+        return target.many(1, 2L, 3.0, "four", part);
+    }
+
+    @Benchmark
+    public Object manyArgsReflect() throws ReflectiveOperationException {
+        return many.invoke(target, 1, 2L, 3.0, "four", part);
+    }
+
+    @Benchmark
+    public PartMP returnsMountPoint() {
+        return mp.part();
+    }
+
+    @Benchmark
+    public Part returnsMountPointDirect() {
+        return target.part();
+    }
+
+    @Benchmark
+    public Object returnsMountPointReflect() throws ReflectiveOperationException {
+        return returnsPart.invoke(target);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import snw.jmount.Mount;
+import snw.jmount.benchmark.objects.mp.TargetMP;
+import snw.jmount.benchmark.objects.origin.Target;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Mount#mount}.
+ * The cold one builds a new {@link Mount} every time, so the Mount Point is verified (and generated) again.
+ * The cold cached one also loads the members resolved before from the resolution cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MountBenchmark {
+    private static final InvocationHandler NOOP_HANDLER = (proxy, method, args) -> null;
+
+    @Param({"jdk", "bytecode", "prepared"})
+    public String implementation;
+
+    private Mount mount;
+    private Mount interningMount;
+    private Target target;
+    private Path resolutionCache;
+
+    @Setup
+    public void setUp() throws IOException {
+        mount = Mounts.create(implementation);
+        target = new Target();
+        mount.mount(TargetMP.class, target);
+        interningMount = Mounts.create(implementation, true);
+        interningMount.mount(TargetMP.class, target);
+        resolutionCache = Files.createTempFile("jmount", ".cache");
+        Mounts.create(implementation, false, resolutionCache).mount(TargetMP.class, target);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(resolutionCache);
+    }
+
+    @Benchmark
+    public Object warm() {
+        return mount.mount(TargetMP.class, target);
+    }
+
+    @Benchmark
+    public Object warmInterning() {
+        return interningMount.mount(TargetMP.class, target);
+    }
+
+    @Benchmark
+    public Object cold() {
+        return Mounts.create(implementation).mount(TargetMP.class, target);
+    }
+
+    @Benchmark
+    public Object coldCached() {
+        return Mounts.create(implementation, false, resolutionCache).mount(TargetMP.class, target);
+    }
+
+    @Benchmark
+    public Object baselineProxy() {
+        return Proxy.newProxyInstance(TargetMP.class.getClassLoader(), new Class[]{TargetMP.class}, NOOP_HANDLER);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.benchmark;
+
+import org.jetbrains.annotations.Nullable;
+import snw.jmount.Mount;
+import snw.jmount.MountBuilder;
+import snw.jmount.NameTransformer;
+import snw.jmount.common.AbstractMountBuilder;
+import snw.jmount.impl.bytecode.BytecodeMountBuilder;
+import snw.jmount.impl.jdk.JDKMountBuilder;
+
+import java.nio.file.Path;
+
+/**
+ * Creates the {@link Mount} objects of the implementations being measured.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public final class Mounts {
+
+    private Mounts() {
+    }
+
+    /**
+     * Create a new {@link Mount} of the provided implementation.
+     *
+     * @param implementation The brand of the implementation, "jdk", "bytecode" or "prepared"
+     * @return The new {@link Mount}
+     */
+    public static Mount create(String implementation) {
+        return create(implementation, false);
+    }
+
+    /**
+     * Create a new {@link Mount} of the provided implementation.
+     *
+     * @param implementation The brand of the implementation, "jdk", "bytecode" or "prepared"
+     * @param interning True to intern the Mount Point instances
+     * @return The new {@link Mount}
+     */
+    public static Mount create(String implementation, boolean interning) {
+        return create(implementation, interning, null);
+    }
+
+    /**
+     * Create a new {@link Mount} of the provided implementation.
+     *
+     * @param implementation The brand of the implementation, "jdk", "bytecode" or "prepared"
+     * @param interning True to intern the Mount Point instances
+     * @param resolutionCache The file of the resolution cache, or null to disable it
+     * @return The new {@link Mount}
+     */
+    public static Mount create(String implementation, boolean interning, @Nullable Path resolutionCache) {
+        return builder(implementation)
+                .classLoader(Mounts.class.getClassLoader())
+                .nameTransformer(name -> name)
+                .interning(interning)
+                .resolutionCache(resolutionCache)
+                .build();
+    }
+
+    /**
+     * Create a new {@link Mount} of the provided implementation, for the classes of another class loader.
+     *
+     * @param implementation The brand of the implementation, "jdk" or "bytecode"
+     * @param classLoader The class loader of the origin classes
+     * @param nameTransformer The name transformer
+     * @return The new {@link Mount}
+     */
+    public static Mount create(String implementation, ClassLoader classLoader, NameTransformer nameTransformer) {
+        return builder(implementation)
+                .classLoader(classLoader)
+                .nameTransformer(nameTransformer)
+                .build();
+    }
+
+    private static MountBuilder builder(String implementation) {
+        final AbstractMountBuilder builder;
+        boolean prepared = false;
+        switch (implementation) {
+            case "prepared": // the classes generated by jmount-processor, the other things are done by "jdk"
+                builder = new JDKMountBuilder();
+                prepared = true;
+                break;
+            case "jdk":
+                builder = new JDKMountBuilder();
+                break;
+            case "bytecode":
+                builder = new BytecodeMountBuilder();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        }
+        return builder.prepared(prepared);
+    }
+}
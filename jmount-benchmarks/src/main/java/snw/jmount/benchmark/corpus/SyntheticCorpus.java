@@ -0,0 +1,245 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.benchmark.corpus;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import snw.jmount.NameTransformer;
+import snw.jmount.annotation.AccessField;
+import snw.jmount.annotation.MountPoint;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * A generated set of origin classes and their Mount Points, to see how JMount scales with large obfuscated code. <br>
+ * The origin classes have obfuscated names ({@code o.a}, {@code o.b}, ...), and form inheritance chains of the
+ *  provided depth. Every class declares a field, and some methods with the same (obfuscated) name but different
+ *  parameters. The Mount Point of every class ({@code synthetic.mp.Type<index>MP}) uses the readable names,
+ *  it declares the field getter, all methods of its origin class, and the first method of every superclass,
+ *  so the inherited methods are looked up in the hierarchy. The {@link #nameTransformer()} maps the names. <br>
+ * The classes are generated once, and defined in a new class loader by every {@link #newClassLoader()} call,
+ *  so every resolution starts from the cold state.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public final class SyntheticCorpus {
+    // the parameter lists of the overloads, every method uses the first ones
+    private static final String[] PARAMETERS = {
+            "()", "(I)", "(J)", "(Ljava/lang/String;)", "(Ljava/lang/Object;)",
+            "(II)", "(D)", "(Z)", "(ILjava/lang/String;)", "([I)"
+    };
+
+    private final int classes;
+    private final Map<String, byte[]> bytes = new HashMap<>();
+    private final Map<String, String> names = new HashMap<>();
+
+    private SyntheticCorpus(int classes) {
+        this.classes = classes;
+    }
+
+    /**
+     * Generate a corpus.
+     *
+     * @param classes The number of the origin classes (and the Mount Points)
+     * @param depth The length of the inheritance chains
+     * @param methods The number of the method names declared by every class
+     * @param overloads The number of the overloads of every method name, at most 10
+     * @return The corpus
+     */
+    public static SyntheticCorpus generate(int classes, int depth, int methods, int overloads) {
+        if (classes < 1 || depth < 1 || methods < 1 || overloads < 1 || overloads > PARAMETERS.length) {
+            throw new IllegalArgumentException("Illegal corpus size");
+        }
+        final SyntheticCorpus corpus = new SyntheticCorpus(classes);
+        for (int i = 0; i < classes; i++) {
+            final int level = i % depth;
+            corpus.names.put(readableName(i), obfuscatedName(i).replace('/', '.'));
+            corpus.names.put("value" + level, obfuscate(level));
+            for (int k = 0; k < methods; k++) {
+                corpus.names.put(methodName(level, k), obfuscate(level * methods + k));
+            }
+            corpus.bytes.put(obfuscatedName(i).replace('/', '.'), origin(i, level, methods, overloads));
+            corpus.bytes.put(mountPointName(i), mountPoint(i, level, methods, overloads));
+        }
+        return corpus;
+    }
+
+    /**
+     * Return the number of the origin classes (and the Mount Points).
+     *
+     * @return The number of the classes
+     */
+    public int size() {
+        return classes;
+    }
+
+    /**
+     * Return the binary name of a Mount Point.
+     *
+     * @param index The index of the class
+     * @return The name of the Mount Point
+     */
+    public static String mountPointName(int index) {
+        return "synthetic.mp.Type" + index + "MP";
+    }
+
+    /**
+     * Return the binary name of an origin class.
+     *
+     * @param index The index of the class
+     * @return The name of the origin class
+     */
+    public static String originName(int index) {
+        return obfuscatedName(index).replace('/', '.');
+    }
+
+    /**
+     * Create a class loader which defines the classes of this corpus again.
+     *
+     * @return The new class loader
+     */
+    public ClassLoader newClassLoader() {
+        return new CorpusClassLoader(SyntheticCorpus.class.getClassLoader(), bytes);
+    }
+
+    /**
+     * Create the name transformer, which maps the names used by the Mount Points to the obfuscated names.
+     *
+     * @return The name transformer
+     */
+    public NameTransformer nameTransformer() {
+        return new NameTransformer() {
+            @Override
+            public String transformClassName(String classNameWithPattern) {
+                return names.getOrDefault(classNameWithPattern, classNameWithPattern);
+            }
+
+            @Override
+            public String transformFieldName(String originClassName, String fieldNameWithPattern) {
+                return names.getOrDefault(fieldNameWithPattern, fieldNameWithPattern);
+            }
+
+            @Override
+            public String transformMethodName(String originClassName, String methodNameWithPattern, Class<?>[] convertedArgTypes) {
+                return names.getOrDefault(methodNameWithPattern, methodNameWithPattern);
+            }
+        };
+    }
+
+    private static byte[] origin(int index, int level, int methods, int overloads) {
+        final ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        final String superName = level == 0 ? "java/lang/Object" : obfuscatedName(index - 1);
+        writer.visit(V1_8, ACC_PUBLIC | ACC_SUPER, obfuscatedName(index), null, superName, null);
+        writer.visitField(ACC_PUBLIC, obfuscate(level), "I", null, null).visitEnd();
+
+        final MethodVisitor init = writer.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        init.visitCode();
+        init.visitVarInsn(ALOAD, 0);
+        init.visitMethodInsn(INVOKESPECIAL, superName, "<init>", "()V", false);
+        init.visitVarInsn(ALOAD, 0);
+        init.visitLdcInsn(index);
+        init.visitFieldInsn(PUTFIELD, obfuscatedName(index), obfuscate(level), "I");
+        init.visitInsn(RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        for (int k = 0; k < methods; k++) {
+            for (int o = 0; o < overloads; o++) {
+                final MethodVisitor method = writer.visitMethod(
+                        ACC_PUBLIC, obfuscate(level * methods + k), PARAMETERS[o] + "I", null, null);
+                method.visitCode();
+                method.visitLdcInsn(index * 31 + k * 7 + o);
+                method.visitInsn(IRETURN);
+                method.visitMaxs(0, 0);
+                method.visitEnd();
+            }
+        }
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    private static byte[] mountPoint(int index, int level, int methods, int overloads) {
+        final ClassWriter writer = new ClassWriter(0);
+        writer.visit(V1_8, ACC_PUBLIC | ACC_ABSTRACT | ACC_INTERFACE,
+                mountPointName(index).replace('.', '/'), null, "java/lang/Object", null);
+        final AnnotationVisitor mountPoint = writer.visitAnnotation(Type.getDescriptor(MountPoint.class), true);
+        mountPoint.visit("value", readableName(index));
+        mountPoint.visitEnd();
+
+        final MethodVisitor getter = writer.visitMethod(ACC_PUBLIC | ACC_ABSTRACT, "getValue", "()I", null, null);
+        final AnnotationVisitor accessField = getter.visitAnnotation(Type.getDescriptor(AccessField.class), true);
+        accessField.visit("value", "value" + level);
+        accessField.visitEnd();
+        getter.visitEnd();
+
+        for (int l = 0; l <= level; l++) {
+            for (int k = 0; k < (l == level ? methods : 1); k++) {
+                for (int o = 0; o < overloads; o++) {
+                    writer.visitMethod(ACC_PUBLIC | ACC_ABSTRACT, methodName(l, k), PARAMETERS[o] + "I", null, null)
+                            .visitEnd();
+                }
+            }
+        }
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    private static String readableName(int index) {
+        return "synthetic.Type" + index;
+    }
+
+    private static String methodName(int level, int index) {
+        return "method" + level + "_" + index;
+    }
+
+    private static String obfuscatedName(int index) {
+        return "o/" + obfuscate(index);
+    }
+
+    // a, b, ..., z, aa, ab, ...
+    private static String obfuscate(int index) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = index; i >= 0; i = i / 26 - 1) {
+            builder.append((char) ('a' + i % 26));
+        }
+        return builder.reverse().toString();
+    }
+
+    private static final class CorpusClassLoader extends ClassLoader {
+        private final Map<String, byte[]> bytes;
+
+        CorpusClassLoader(ClassLoader parent, Map<String, byte[]> bytes) {
+            super(parent);
+            this.bytes = bytes;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            final byte[] b = bytes.get(name);
+            if (b == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, b, 0, b.length);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.benchmark.objects.mp;
+
+import snw.jmount.annotation.AccessField;
+import snw.jmount.annotation.MountPoint;
+import snw.jmount.handle.FieldAccessor;
+
+@MountPoint("snw.jmount.benchmark.objects.origin.Target")
+public interface TargetMP {
+    int zero();
+
+    int one(int a);
+
+    int many(int a, long b, double c, String d, PartMP e);
+
+    PartMP part(); // returns another Mount Point, goes through the result cache
+
+    @AccessField("number")
+    int getNumber();
+
+    @AccessField("number")
+    FieldAccessor<?> numberAccessor();
+
+    @AccessField("part")
+    FieldAccessor<PartMP> partAccessor();
+}
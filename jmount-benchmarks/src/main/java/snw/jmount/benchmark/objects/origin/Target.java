@@ -0,0 +1,47 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.benchmark.objects.origin;
+
+public class Target {
+    private int number;
+    public Part part = new Part(1);
+
+    public Target() {
+        this(1, new Part(2));
+    }
+
+    public Target(int number, Part part) {
+        this.number = number;
+        this.part = part;
+    }
+
+    public int zero() {
+        return number;
+    }
+
+    public int one(int a) {
+        return number + a;
+    }
+
+    public int many(int a, long b, double c, String d, Part e) {
+        return number + a + (int) b + (int) c + d.length() + e.value;
+    }
+
+    public Part part() {
+        return part;
+    }
+}
@@ -16,19 +16,39 @@
 
 package snw.jmount.common;
 
+import org.jetbrains.annotations.Nullable;
 import snw.jmount.Mount;
 import snw.jmount.NameTransformer;
+import snw.jmount.MountMetrics;
+import snw.jmount.PreloadReport;
+import snw.jmount.common.event.MountEventSink;
+import snw.jmount.common.event.MountEvents;
+import snw.jmount.common.exceptions.ReflectOperationException;
 import snw.jmount.common.handle.ConstructorMPImpl;
 import snw.jmount.common.handle.MethodHandleBasedFieldAccessor;
 import snw.jmount.common.handle.MethodHandleBasedWrappedConstructor;
+import snw.jmount.common.mapping.CachingNameTransformer;
+import snw.jmount.common.meta.FieldHandles;
+import snw.jmount.common.meta.MemberIndex;
+import snw.jmount.common.meta.MountPointMetadata;
+import snw.jmount.common.meta.ResolutionCache;
+import snw.jmount.common.metrics.MetricsRecorder;
+import snw.jmount.common.prepared.PreparedMountPoints;
+import snw.jmount.common.util.ConcurrentWeakIdentityMap;
 import snw.jmount.handle.ConstructorMP;
 import snw.jmount.handle.FieldAccessor;
 import snw.jmount.handle.WrappedConstructor;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import static snw.jmount.common.util.MountUtils.*;
@@ -41,12 +61,78 @@ import static snw.jmount.common.util.ReflectUtils.*;
  * @since 0.1.0
  */
 public abstract class AbstractMount implements Mount {
+    // a failed instanceof check against an interface scans the secondary supers of the class every time,
+    // which is slow for the common case (arguments and results which are not Mount Points), so remember the answer
+    private static final ClassValue<Boolean> MOUNTED_TYPES = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return MountedObject.class.isAssignableFrom(type);
+        }
+    };
+    // the value of preparedFactories for the Mount Point types without a generated class
+    private static final MethodHandle NOT_PREPARED = MethodHandles.identity(Object.class);
+
     protected final NameTransformer nameTransformer;
+    // caches the results of the name transformer, used for looking up the underlying things
+    protected final CachingNameTransformer cachingNameTransformer;
     protected final ClassLoader classLoader;
+    protected final boolean interning;
+    protected final boolean prepared;
+    protected final @Nullable ResolutionCache resolutionCache;
+    protected final @Nullable MetricsRecorder metrics; // null if disabled
+    // the values are the origin classes, or OriginClassNotFound if the origin class cannot be found
+    protected final ClassValue<Object> originClassCache = new ClassValue<Object>() {
+        @Override
+        protected Object computeValue(Class<?> type) {
+            checkIfIsMP(type); // not cached, thrown every time
+            if (metrics != null) {
+                metrics.missed(MountMetrics.Cache.ORIGIN_CLASS);
+            }
+            try {
+                return convertToUnderlyingClass(type, AbstractMount.this);
+            } catch (ReflectOperationException e) {
+                return new OriginClassNotFound(e);
+            }
+        }
+    };
+    // the holders are created cheaply, the metadata is resolved in them by only one thread
+    protected final ClassValue<MetadataHolder> metadataCache = new ClassValue<MetadataHolder>() {
+        @Override
+        protected MetadataHolder computeValue(Class<?> type) {
+            return new MetadataHolder(type);
+        }
+    };
+
+    // the mounted objects are referenced weakly, so the tables don't keep their origins (or this mount) alive
+    protected final ClassValue<ConcurrentWeakIdentityMap<Object, Object>> mountedCache =
+            new ClassValue<ConcurrentWeakIdentityMap<Object, Object>>() {
+                @Override
+                protected ConcurrentWeakIdentityMap<Object, Object> computeValue(Class<?> type) {
+                    return new ConcurrentWeakIdentityMap<>();
+                }
+            };
+
+    // the fields requested by accessField and accessStaticField, the Mount Point types in the keys are checked
+    protected final ClassValue<Map<FieldKey, FieldHandles>> accessedFieldCache =
+            new ClassValue<Map<FieldKey, FieldHandles>>() {
+                @Override
+                protected Map<FieldKey, FieldHandles> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    // the factories of the Mount Point classes generated at compile time, they reference this mount
+    protected final Map<Class<?>, MethodHandle> preparedFactories = new ConcurrentHashMap<>();
 
     protected AbstractMount(AbstractMountBuilder builder) {
         this.nameTransformer = builder.nameTransformer;
+        this.cachingNameTransformer = CachingNameTransformer.of(builder.nameTransformer);
         this.classLoader = builder.classLoader;
+        this.interning = builder.interning;
+        this.prepared = builder.prepared;
+        this.resolutionCache = builder.resolutionCache != null
+                ? ResolutionCache.load(builder.resolutionCache, builder.nameTransformer) : null;
+        this.metrics = builder.metrics ? new MetricsRecorder() : null;
     }
 
     @Override
@@ -59,10 +145,45 @@ public abstract class AbstractMount implements Mount {
         return classLoader;
     }
 
+    /**
+     * Get the name transformer used for looking up the underlying things,
+     *  which caches the results of {@link #nameTransformer()}.
+     *
+     * @return The caching name transformer
+     */
+    public CachingNameTransformer getCachingNameTransformer() {
+        return cachingNameTransformer;
+    }
+
+    /**
+     * Get the persistent cache of the resolved members used by this mount object.
+     *
+     * @return The cache, or null if it is disabled
+     */
+    public @Nullable ResolutionCache getResolutionCache() {
+        return resolutionCache;
+    }
+
+    @Override
+    public @Nullable MetricsRecorder metrics() {
+        return metrics;
+    }
+
     @Override
     public void fillEnum(Class<?> enumMPClazz) throws IllegalArgumentException, NoSuchElementException {
         checkIfIsMP(enumMPClazz);
         final Class<?> originClass = findOriginClass(enumMPClazz);
+        final Object event = MountEvents.begin(MountEventSink.Kind.FILL_ENUM);
+        try {
+            fillEnum0(enumMPClazz, originClass);
+        } finally {
+            if (event != null) {
+                MountEvents.end(event, enumMPClazz, originClass, null);
+            }
+        }
+    }
+
+    private void fillEnum0(Class<?> enumMPClazz, Class<?> originClass) {
         if (!originClass.isEnum()) {
             throw new IllegalArgumentException("The underlying class is not an enum");
         }
@@ -91,40 +212,261 @@ public abstract class AbstractMount implements Mount {
     }
 
     @Override
-    public Class<?> findOriginClass(Class<?> mp) throws IllegalArgumentException {
-        return convertToUnderlyingClass(mp, this);
+    public Object unmount(Object mp) throws IllegalArgumentException {
+        if (!isMount(mp)) {
+            throw new IllegalArgumentException("Provided object is not a Mount Point object");
+        }
+        return ((MountedObject) mp).jmount$origin();
     }
 
     @Override
-    public Constructor<?> findConstructor(Class<?> originClazz, Class<?>... argTypes) throws NoSuchElementException {
-        return lookUpConstructor(originClazz, argTypes, this);
+    public boolean isMount(Object mp) {
+        return mp != null && MOUNTED_TYPES.get(mp.getClass());
+    }
+
+    /**
+     * Check if the provided object is a Mount Point instance created by this mount object.
+     *
+     * @param mp The object
+     * @return True if the provided object is a Mount Point instance created by this mount object
+     */
+    public boolean isMountedByThis(Object mp) {
+        return isMount(mp) && ((MountedObject) mp).jmount$mount() == this;
     }
 
     @Override
-    public <T> ConstructorMP<T> findConstructorAndWrapAsMP(Class<T> mp, Class<?>... argTypes) throws NoSuchElementException, IllegalArgumentException {
-        return new ConstructorMPImpl<>(this, mp, findConstructorAndWrap(findOriginClass(mp), argTypes));
+    public Class<?> findOriginClass(Class<?> mp) throws IllegalArgumentException, ReflectOperationException {
+        if (metrics != null) {
+            metrics.requested(MountMetrics.Cache.ORIGIN_CLASS);
+        }
+        final Object result = originClassCache.get(mp);
+        if (result instanceof OriginClassNotFound) {
+            // the first failure has the useful stack trace, so don't fill another one
+            throw new ReflectOperationException(
+                    "Cannot find the origin class of " + mp.getName(), ((OriginClassNotFound) result).exception,
+                    false, false
+            );
+        }
+        return (Class<?>) result;
     }
 
     /**
-     * Check if the class is a valid Mount Point and do nothing, otherwise this method fails.
+     * Get the metadata of the provided Mount Point type, the Mount Point will be verified
+     *  and its members will be resolved if this is the first time to request it. <br>
+     * The resolution is done only once, the other threads requesting the same Mount Point type
+     *  wait for it, and the failure of it is remembered and thrown again for the later requests.
      *
      * @param mp A Mount Point interface class
+     * @return The metadata with resolved members
+     * @throws IllegalArgumentException Thrown if the provided class is not a valid Mount Point
+     * @throws NoSuchElementException Thrown if a member of the provided Mount Point cannot be resolved
+     * @throws ReflectOperationException Thrown if the origin class of the provided Mount Point cannot be found
      */
-    protected void verify(Class<?> mp) {
-        Class<?> underlyingClass = findOriginClass(mp);
-        for (Method m : mp.getDeclaredMethods()) {
-            if (isFieldAccessor(m)) {
-                checkIfIsFieldAccessor(m, this);
-            } else {
+    public MountPointMetadata getMetadata(Class<?> mp)
+            throws IllegalArgumentException, NoSuchElementException, ReflectOperationException {
+        checkIfIsMP(mp); // not cached, thrown every time
+        if (metrics != null) {
+            metrics.requested(MountMetrics.Cache.METHOD);
+        }
+        return metadataCache.get(mp).get(this);
+    }
+
+    @Override
+    public <T> T mount(Class<T> mpType, Object origin) throws IllegalArgumentException {
+        if (interning) {
+            return mountCached(mpType, origin);
+        }
+        checkMountable(mpType, origin);
+        return mpType.cast(newMountPoint(mpType, origin));
+    }
+
+    /**
+     * Mount the provided object, or return the Mount Point instance returned by this method before
+     *  if the same origin object was mounted as the same type and the instance is still reachable. <br>
+     * Used for interning, and mounting the values returned by the Mount Point methods.
+     *
+     * @param mpType The Mount Point type
+     * @param origin The origin object
+     * @return The Mount Point instance
+     * @param <T> The Mount Point type
+     * @throws IllegalArgumentException See {@link #mount(Class, Object)}
+     */
+    public <T> T mountCached(Class<T> mpType, Object origin) throws IllegalArgumentException {
+        if (metrics != null) {
+            metrics.requested(MountMetrics.Cache.RESULT);
+        }
+        final ConcurrentWeakIdentityMap<Object, Object> table = mountedCache.get(mpType);
+        final Object existing = table.get(origin);
+        if (existing != null) {
+            return mpType.cast(existing);
+        }
+        return mpType.cast(table.computeIfAbsent(origin, o -> {
+            checkMountable(mpType, o);
+            if (metrics != null) {
+                metrics.missed(MountMetrics.Cache.RESULT);
+            }
+            return newMountPoint(mpType, o);
+        }));
+    }
+
+    /**
+     * Mount the provided object without checking if it is compatible with the Mount Point type,
+     *  used when the caller knows that, such as the objects created by the constructor of the origin class. <br>
+     * The Mount Point instances are still interned if interning is enabled.
+     *
+     * @param mpType The Mount Point type
+     * @param origin The origin object, must be an instance of the origin class of the Mount Point type
+     * @return The Mount Point instance
+     * @param <T> The Mount Point type
+     */
+    public <T> T mountUnchecked(Class<T> mpType, Object origin) {
+        if (interning) {
+            if (metrics != null) {
+                metrics.requested(MountMetrics.Cache.RESULT);
+            }
+            return mpType.cast(mountedCache.get(mpType).computeIfAbsent(origin, o -> {
+                if (metrics != null) {
+                    metrics.missed(MountMetrics.Cache.RESULT);
+                }
+                return newMountPoint(mpType, o);
+            }));
+        }
+        return mpType.cast(newMountPoint(mpType, origin));
+    }
+
+    // use the class generated at compile time if there is one, otherwise let the implementation create it
+    private Object newMountPoint(Class<?> mpType, Object origin) {
+        if (metrics != null) {
+            metrics.mounted(mpType);
+        }
+        if (prepared) {
+            final MethodHandle factory = preparedFactory(mpType);
+            if (factory != NOT_PREPARED) {
                 try {
-                    convertMethod(m, this);
+                    return (Object) factory.invokeExact(origin);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw wrap(this, e);
+                }
+            }
+        }
+        return mount0(mpType, origin);
+    }
+
+    private MethodHandle preparedFactory(Class<?> mpType) {
+        final MethodHandle factory = preparedFactories.get(mpType);
+        if (factory != null) {
+            return factory;
+        }
+        return preparedFactories.computeIfAbsent(mpType, i -> {
+            final MethodHandle created = PreparedMountPoints.createFactory(this, i);
+            return created != null ? created : NOT_PREPARED;
+        });
+    }
+
+    /**
+     * Create a new Mount Point instance on the origin object,
+     *  the origin object has been checked by {@link #mount(Class, Object)}.
+     *
+     * @param mpType The Mount Point interface class object
+     * @param origin The origin object
+     * @return The new Mount Point instance
+     */
+    protected abstract Object mount0(Class<?> mpType, Object origin);
+
+    /**
+     * Prepare the things used by {@link #mount0(Class, Object)} for the provided Mount Point type,
+     *  such as generating its class. Called by {@link #preload(Executor, Collection)}, does nothing by default.
+     *
+     * @param mpType The Mount Point type, it has been verified
+     */
+    protected void prepare(Class<?> mpType) {
+    }
+
+    @Override
+    public CompletableFuture<PreloadReport> preload(Executor executor, Collection<Class<?>> mpTypes) {
+        final long start = System.nanoTime();
+        final Class<?>[] types = new LinkedHashSet<>(mpTypes).toArray(new Class<?>[0]);
+        final PreloadReport.Result[] results = new PreloadReport.Result[types.length];
+        final CompletableFuture<?>[] tasks = new CompletableFuture<?>[types.length];
+        for (int i = 0; i < types.length; i++) {
+            final int index = i;
+            tasks[i] = CompletableFuture.runAsync(() -> results[index] = preload(types[index]), executor);
+        }
+        return CompletableFuture.allOf(tasks).thenApply(ignored -> {
+            final Map<Class<?>, PreloadReport.Result> report = new LinkedHashMap<>(results.length * 2);
+            for (PreloadReport.Result result : results) {
+                report.put(result.getType(), result);
+            }
+            return new PreloadReport(report, System.nanoTime() - start);
+        });
+    }
+
+    @Override
+    public CompletableFuture<PreloadReport> preloadIndexed(Executor executor) {
+        final List<Class<?>> types = new ArrayList<>();
+        for (String name : PreparedMountPoints.getIndexedTypes(classLoader)) {
+            types.add(perform(this, () -> Class.forName(name, false, classLoader)));
+        }
+        return preload(executor, types);
+    }
+
+    private PreloadReport.Result preload(Class<?> mpType) {
+        final long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            final MountPointMetadata metadata = getMetadata(mpType);
+            for (Method method : mpType.getMethods()) { // including the inherited ones
+                if (Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                try {
+                    metadata.getMember(method, this);
                 } catch (NoSuchElementException e) {
-                    if (!m.isDefault()) {
-                        throw e; // rethrow
+                    if (!method.isDefault()) {
+                        throw e;
                     }
                 }
             }
+            final Class<?> originClass = metadata.getOriginClass();
+            MemberIndex.of(originClass);
+            if (!prepared || preparedFactory(mpType) == NOT_PREPARED) {
+                prepare(mpType);
+            }
+            if (originClass.isEnum()
+                    && Arrays.stream(mpType.getDeclaredFields()).anyMatch(i -> i.getType() == mpType)) {
+                fillEnum(mpType);
+            }
+        } catch (RuntimeException | LinkageError e) {
+            failure = e;
         }
+        return new PreloadReport.Result(mpType, System.nanoTime() - start, failure);
+    }
+
+    private void checkMountable(Class<?> mpType, Object origin) {
+        if (!findOriginClass(mpType).isAssignableFrom(origin.getClass())) {
+            throw new IllegalArgumentException("The target Mount Point type is not compatible with the provided object");
+        }
+    }
+
+    @Override
+    public Constructor<?> findConstructor(Class<?> originClazz, Class<?>... argTypes) throws NoSuchElementException {
+        return lookUpConstructor(originClazz, argTypes, this);
+    }
+
+    @Override
+    public <T> ConstructorMP<T> findConstructorAndWrapAsMP(Class<T> mp, Class<?>... argTypes) throws NoSuchElementException, IllegalArgumentException {
+        return new ConstructorMPImpl<>(this, mp, findConstructorAndWrap(findOriginClass(mp), argTypes));
+    }
+
+    /**
+     * Check if the class is a valid Mount Point and do nothing, otherwise this method fails.
+     *
+     * @param mp A Mount Point interface class
+     */
+    protected void verify(Class<?> mp) {
+        getMetadata(mp);
     }
 
     @Override
@@ -134,8 +476,11 @@ public abstract class AbstractMount implements Mount {
 
     @Override
     public <T> FieldAccessor<T> accessStaticField(Class<?> originClazz, String fieldName, Class<T> mountType) throws NoSuchElementException, IllegalArgumentException {
-        final Field underlyingField = lookUpField(originClazz, fieldName, this);
-        return new MethodHandleBasedFieldAccessor<>(this, null, mountType, underlyingField);
+        final FieldHandles handles = getAccessedField(originClazz, fieldName, mountType);
+        if (!Modifier.isStatic(handles.getField().getModifiers())) {
+            throw new NoSuchElementException("No static field named " + fieldName + " in " + originClazz);
+        }
+        return new MethodHandleBasedFieldAccessor<>(this, null, mountType, handles, false);
     }
 
     @Override
@@ -145,8 +490,40 @@ public abstract class AbstractMount implements Mount {
 
     @Override
     public <T> FieldAccessor<T> accessField(Object origin, String fieldName, Class<T> mountType) throws NoSuchElementException, IllegalArgumentException {
-        final Field underlyingField = lookUpField(origin.getClass(), fieldName, this);
-        return new MethodHandleBasedFieldAccessor<>(this, null, mountType, underlyingField);
+        final FieldHandles handles = getAccessedField(origin.getClass(), fieldName, mountType);
+        return new MethodHandleBasedFieldAccessor<>(this, origin, mountType, handles, false);
+    }
+
+    /**
+     * Get the handles of the requested field, the field will be looked up and the Mount Point type will be checked
+     *  if this is the first time to request it.
+     *
+     * @param originClazz The origin class
+     * @param fieldName The field name
+     * @param mountType The Mount Point type, can be null
+     * @return The handles of the field
+     * @throws NoSuchElementException Thrown if the requested field is not found
+     * @throws IllegalArgumentException Thrown if the Mount Point type is NOT compatible with the type of the field
+     */
+    protected FieldHandles getAccessedField(Class<?> originClazz, String fieldName, @Nullable Class<?> mountType)
+            throws NoSuchElementException, IllegalArgumentException {
+        if (metrics != null) {
+            metrics.requested(MountMetrics.Cache.FIELD);
+        }
+        final Map<FieldKey, FieldHandles> fields = accessedFieldCache.get(originClazz);
+        final FieldKey key = new FieldKey(fieldName, mountType);
+        final FieldHandles cached = fields.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return fields.computeIfAbsent(key, i -> {
+            if (metrics != null) {
+                metrics.missed(MountMetrics.Cache.FIELD);
+            }
+            final Field underlyingField = lookUpField(originClazz, fieldName, this);
+            checkMountType(underlyingField, mountType, this);
+            return FieldHandles.of(underlyingField);
+        });
     }
 
     @Override
@@ -155,4 +532,100 @@ public abstract class AbstractMount implements Mount {
         return new MethodHandleBasedWrappedConstructor(this, constructor);
     }
 
+    // the key of accessedFieldCache
+    protected static final class FieldKey {
+        private final String name;
+        private final @Nullable Class<?> mountType;
+
+        FieldKey(String name, @Nullable Class<?> mountType) {
+            this.name = name;
+            this.mountType = mountType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FieldKey)) {
+                return false;
+            }
+            final FieldKey that = (FieldKey) o;
+            return mountType == that.mountType && name.equals(that.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + System.identityHashCode(mountType);
+        }
+    }
+
+    // the value of metadataCache, it does not hold this mount, so it is safe to be stored in a ClassValue
+    protected static final class MetadataHolder {
+        private final Class<?> type;
+        // the resolved metadata, or the exception thrown while resolving it, null if it is not resolved yet
+        private volatile Object result;
+
+        MetadataHolder(Class<?> type) {
+            this.type = type;
+        }
+
+        MountPointMetadata get(AbstractMount mount) {
+            Object result = this.result;
+            if (result == null) {
+                synchronized (this) {
+                    result = this.result;
+                    if (result == null) {
+                        final long start = mount.metrics != null ? System.nanoTime() : 0;
+                        final Object event = MountEvents.begin(MountEventSink.Kind.VERIFICATION);
+                        Class<?> originClass = null;
+                        try {
+                            originClass = mount.findOriginClass(type);
+                            result = new MountPointMetadata(type, originClass).resolve(mount);
+                            this.result = result;
+                        } catch (RuntimeException e) {
+                            this.result = e;
+                            throw e; // the original one, for the thread which resolved it
+                        } finally {
+                            if (mount.metrics != null) {
+                                mount.metrics.missed(MountMetrics.Cache.METHOD);
+                                mount.metrics.resolved(System.nanoTime() - start);
+                            }
+                            if (event != null) {
+                                MountEvents.end(event, type, originClass, null);
+                            }
+                        }
+                    }
+                }
+            }
+            if (result instanceof RuntimeException) {
+                throw rethrow((RuntimeException) result);
+            }
+            return (MountPointMetadata) result;
+        }
+
+        // the first failure has the useful stack trace, so it is the cause of the later ones
+        private static RuntimeException rethrow(RuntimeException first) {
+            if (first instanceof ReflectOperationException) {
+                return new ReflectOperationException(first.getMessage(), first, false, false);
+            }
+            if (first instanceof IllegalArgumentException) {
+                return new IllegalArgumentException(first.getMessage(), first);
+            }
+            if (first instanceof NoSuchElementException) {
+                final NoSuchElementException e = new NoSuchElementException(first.getMessage());
+                e.initCause(first);
+                return e;
+            }
+            return first;
+        }
+    }
+
+    private static final class OriginClassNotFound {
+        final ReflectOperationException exception;
+
+        OriginClassNotFound(ReflectOperationException exception) {
+            this.exception = exception;
+        }
+    }
 }
@@ -16,14 +16,18 @@
 
 package snw.jmount.common;
 
+import org.jetbrains.annotations.Nullable;
 import snw.jmount.Mount;
 import snw.jmount.MountBuilder;
 import snw.jmount.NameTransformer;
 
+import java.nio.file.Path;
 import java.util.Objects;
 
 /**
- * A shared {@link snw.jmount.MountBuilder} implementation with partly completed feature.
+ * A shared {@link snw.jmount.MountBuilder} implementation with partly completed feature. <br>
+ * The name transformers of the built {@link Mount} objects are wrapped by
+ *  {@link snw.jmount.common.mapping.CachingNameTransformer}, so each name is transformed only once.
  *
  * @author SNWCreations
  * @since 0.1.0
@@ -31,6 +35,10 @@ import java.util.Objects;
 public abstract class AbstractMountBuilder implements MountBuilder {
     protected NameTransformer nameTransformer;
     protected ClassLoader classLoader;
+    protected boolean interning;
+    protected boolean prepared = true;
+    protected @Nullable Path resolutionCache;
+    protected boolean metrics;
 
     @Override
     public MountBuilder classLoader(ClassLoader classLoader) {
@@ -44,6 +52,30 @@ public abstract class AbstractMountBuilder implements MountBuilder {
         return this;
     }
 
+    @Override
+    public MountBuilder interning(boolean interning) {
+        this.interning = interning;
+        return this;
+    }
+
+    @Override
+    public MountBuilder prepared(boolean prepared) {
+        this.prepared = prepared;
+        return this;
+    }
+
+    @Override
+    public MountBuilder resolutionCache(@Nullable Path file) {
+        this.resolutionCache = file;
+        return this;
+    }
+
+    @Override
+    public MountBuilder metrics(boolean metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
     @Override
     public Mount build() {
         Objects.requireNonNull(this.nameTransformer, "Name transformer cannot be null");
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common;
+
+import snw.jmount.Mount;
+
+/**
+ * The interface implemented by all Mount Point instances created by the implementations in this library. <br>
+ * This is not a part of the API, do not implement it by yourself.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public interface MountedObject {
+
+    /**
+     * Get the origin object of this Mount Point instance.
+     *
+     * @return The origin object
+     */
+    Object jmount$origin();
+
+    /**
+     * Get the mount object which created this Mount Point instance.
+     *
+     * @return The mount object
+     */
+    Mount jmount$mount();
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.event;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The receiver of the diagnostic events, such as the one backed by JDK Flight Recorder in {@code jmount-jfr}. <br>
+ * The implementations are found by {@link java.util.ServiceLoader} once, see {@link MountEvents}.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public interface MountEventSink {
+
+    /**
+     * The kinds of the events.
+     */
+    enum Kind {
+        /**
+         * A Mount Point type is verified, and its members are resolved.
+         */
+        VERIFICATION,
+        /**
+         * A Mount Point method is resolved to the method(s) in the origin class.
+         */
+        METHOD_RESOLUTION,
+        /**
+         * A field is looked up in the origin class.
+         */
+        FIELD_LOOKUP,
+        /**
+         * A constructor is looked up in the origin class.
+         */
+        CONSTRUCTOR_LOOKUP,
+        /**
+         * The constants of an enum Mount Point are filled.
+         */
+        FILL_ENUM,
+        /**
+         * A Mount Point method is called, only reported if {@link #tracesInvocations()} returns true.
+         */
+        INVOCATION
+    }
+
+    /**
+     * Start an event of the provided kind.
+     *
+     * @param kind The kind of the event
+     * @return The started event which will be passed to {@link #end}, or null if the kind is not enabled
+     */
+    @Nullable Object begin(Kind kind);
+
+    /**
+     * End the event returned by {@link #begin(Kind)}, the failed operations are ended as well.
+     *
+     * @param event The event
+     * @param mountPointClass The Mount Point class, null if unknown
+     * @param originClass The origin class, null if unknown
+     * @param member The name of the member, null if the event is not about a member
+     */
+    void end(Object event, @Nullable Class<?> mountPointClass, @Nullable Class<?> originClass, @Nullable String member);
+
+    /**
+     * Return true if the calls of the Mount Point methods should be reported,
+     *  which is checked only once when the sink is loaded, since timing the calls is not free.
+     *
+     * @return True if the invocations are reported
+     */
+    default boolean tracesInvocations() {
+        return false;
+    }
+}
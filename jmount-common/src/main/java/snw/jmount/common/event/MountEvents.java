@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.event;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Reports the diagnostic events to the {@link MountEventSink} found on the class path. <br>
+ * The sink is loaded once, so if there is no sink, the checks are constant folded by the JIT compiler,
+ *  and the events cost nothing. The usage is: <br>
+ * <pre>{@code
+ * final Object event = MountEvents.begin(Kind.FIELD_LOOKUP);
+ * try {
+ *     // the operation
+ * } finally {
+ *     if (event != null) {
+ *         MountEvents.end(event, mpClass, originClass, member);
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public final class MountEvents {
+    private static final @Nullable MountEventSink SINK = load();
+    private static final boolean TRACES_INVOCATIONS = SINK != null && SINK.tracesInvocations();
+
+    private MountEvents() {
+    }
+
+    private static @Nullable MountEventSink load() {
+        try {
+            final Iterator<MountEventSink> iterator =
+                    ServiceLoader.load(MountEventSink.class, MountEvents.class.getClassLoader()).iterator();
+            return iterator.hasNext() ? iterator.next() : null;
+        } catch (LinkageError | ServiceConfigurationError e) {
+            return null; // such as the JFR API is not available in this JVM
+        }
+    }
+
+    /**
+     * Start an event, see {@link MountEventSink#begin}.
+     *
+     * @param kind The kind of the event
+     * @return The started event, or null if there is no sink or the kind is not enabled
+     */
+    public static @Nullable Object begin(MountEventSink.Kind kind) {
+        return SINK != null ? SINK.begin(kind) : null;
+    }
+
+    /**
+     * End an event returned by {@link #begin}, see {@link MountEventSink#end}.
+     *
+     * @param event The event
+     * @param mountPointClass The Mount Point class, null if unknown
+     * @param originClass The origin class, null if unknown
+     * @param member The name of the member, null if the event is not about a member
+     */
+    public static void end(Object event, @Nullable Class<?> mountPointClass, @Nullable Class<?> originClass,
+                           @Nullable String member) {
+        if (SINK != null) {
+            SINK.end(event, mountPointClass, originClass, member);
+        }
+    }
+
+    /**
+     * Return true if the calls of the Mount Point methods should be timed and reported.
+     *
+     * @return True if the invocations are reported
+     */
+    public static boolean tracesInvocations() {
+        return TRACES_INVOCATIONS;
+    }
+}
@@ -39,4 +39,9 @@ public class ReflectOperationException extends RuntimeException {
         super(cause);
     }
 
+    public ReflectOperationException(String message, Throwable cause,
+                                     boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+
 }
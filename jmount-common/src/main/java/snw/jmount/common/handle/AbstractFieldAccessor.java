@@ -18,11 +18,13 @@ package snw.jmount.common.handle;
 
 import org.jetbrains.annotations.Nullable;
 import snw.jmount.Mount;
+import snw.jmount.common.util.MountUtils;
 import snw.jmount.handle.FieldAccessor;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 
+import static snw.jmount.common.util.CommonUtils.primitiveToWrapper;
 import static snw.jmount.common.util.MountUtils.convertOrReturn;
 
 /**
@@ -44,10 +46,28 @@ public abstract class AbstractFieldAccessor<T> implements FieldAccessor<T> {
             @Nullable Class<T> mountType,
             Field field
     ) {
-        if (!field.getType().isAssignableFrom(convertOrReturn(mountType, mount))) {
-            throw new IllegalArgumentException(
-                    "The type of the field is not compatible with the provided Mount Point type"
-            );
+        this(mount, underlyingObject, mountType, field, true);
+    }
+
+    /**
+     * The constructor.
+     *
+     * @param mount The mount object
+     * @param underlyingObject The object which holds the field, null if the field is static
+     * @param mountType The Mount Point type of the field type
+     * @param field The field
+     * @param checkMountType False if the caller has already checked if the Mount Point type is
+     *                       compatible with the field type, such as the cached ones
+     */
+    protected AbstractFieldAccessor(
+            Mount mount,
+            @Nullable Object underlyingObject,
+            @Nullable Class<T> mountType,
+            Field field,
+            boolean checkMountType
+    ) {
+        if (checkMountType) {
+            MountUtils.checkMountType(field, mountType, mount);
         }
         this.mount = mount;
         this.underlyingObject = underlyingObject;
@@ -57,13 +77,8 @@ public abstract class AbstractFieldAccessor<T> implements FieldAccessor<T> {
 
     @Override
     public void set(Object newValue) throws IllegalArgumentException {
-        if (isFinal()) {
-            throw new IllegalStateException("The underlying field is final");
-        }
-        if (newValue != null && !field.getType().isAssignableFrom(convertOrReturn(newValue.getClass(), mount))) {
-            throw new IllegalArgumentException("The type of the new value is not compatible with the underlying field");
-        }
-        set0(newValue);
+        checkNotFinal();
+        set0(convertNewValue(newValue));
     }
 
     @Override
@@ -76,9 +91,55 @@ public abstract class AbstractFieldAccessor<T> implements FieldAccessor<T> {
 
     protected abstract T getMounted0();
 
-    // Convert the newValue into origin object if needed
+    // The newValue is already converted into the origin object if needed, and checked
     protected abstract void set0(Object newValue);
 
+    /**
+     * Do nothing if the underlying field is not final, otherwise this method fails.
+     *
+     * @throws IllegalStateException Thrown if the underlying field is final
+     */
+    protected void checkNotFinal() throws IllegalStateException {
+        if (isFinal()) {
+            throw new IllegalStateException("The underlying field is final");
+        }
+    }
+
+    /**
+     * Convert the provided value into the value which can be stored in the underlying field,
+     *  the Mount Point objects are converted into their origin objects.
+     *
+     * @param newValue The value
+     * @return The converted value
+     * @throws IllegalArgumentException Thrown if the type of the value does NOT match the type of the underlying field
+     */
+    protected @Nullable Object convertNewValue(@Nullable Object newValue) throws IllegalArgumentException {
+        final Class<?> fieldType = field.getType();
+        if (fieldType.isPrimitive()) {
+            if (newValue == null || primitiveToWrapper(fieldType) != newValue.getClass()) {
+                throw new IllegalArgumentException("The type of the new value is not compatible with the underlying field");
+            }
+            return newValue;
+        }
+        final Object actualNewValue = newValue != null ? convertOrReturn(newValue, mount) : null;
+        if (actualNewValue != null && !fieldType.isInstance(actualNewValue)) {
+            throw new IllegalArgumentException("The type of the new value is not compatible with the underlying field");
+        }
+        return actualNewValue;
+    }
+
+    /**
+     * Do nothing if the type of the underlying field is exactly the provided type, otherwise this method fails.
+     *
+     * @param type The expected type
+     * @throws IllegalStateException Thrown if the type of the underlying field is not the provided type
+     */
+    protected void checkType(Class<?> type) throws IllegalStateException {
+        if (field.getType() != type) {
+            throw new IllegalStateException("The type of the underlying field is not " + type.getName());
+        }
+    }
+
     @Override
     public boolean isFinal() {
         return Modifier.isFinal(field.getModifiers());
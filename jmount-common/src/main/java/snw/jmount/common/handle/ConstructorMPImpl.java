@@ -17,6 +17,7 @@
 package snw.jmount.common.handle;
 
 import snw.jmount.Mount;
+import snw.jmount.common.AbstractMount;
 import snw.jmount.handle.ConstructorMP;
 import snw.jmount.handle.WrappedConstructor;
 
@@ -36,11 +37,23 @@ public class ConstructorMPImpl<T> implements ConstructorMP<T> {
         this.mount = mount;
         this.mountType = mountType;
         this.underlying = underlying;
+        if (mount instanceof AbstractMount) {
+            // verify the Mount Point and check the constructor only once, then the new objects can be mounted directly
+            ((AbstractMount) mount).getMetadata(mountType);
+            final Class<?> originClass = mount.findOriginClass(mountType);
+            if (!originClass.isAssignableFrom(underlying.getUnderlyingConstructor().getDeclaringClass())) {
+                throw new IllegalArgumentException("The constructor does not create instances of " + originClass);
+            }
+        }
     }
 
     @Override
     public T newInstance(Object... initArgs) {
-        return mount.mount(mountType, getUnderlyingConstructor().newInstance(initArgs));
+        final Object origin = getUnderlyingConstructor().newInstance(initArgs);
+        if (mount instanceof AbstractMount) {
+            return ((AbstractMount) mount).mountUnchecked(mountType, origin);
+        }
+        return mount.mount(mountType, origin);
     }
 
     @Override
@@ -18,117 +18,69 @@ package snw.jmount.common.handle;
 
 import org.jetbrains.annotations.Nullable;
 import snw.jmount.Mount;
-import snw.jmount.common.util.UncheckedFunction;
-import snw.jmount.handle.FieldAccessor;
+import snw.jmount.common.AbstractMount;
+import snw.jmount.common.MountedObject;
+import snw.jmount.common.event.MountEventSink;
+import snw.jmount.common.event.MountEvents;
+import snw.jmount.common.meta.MountPointMetadata;
+import snw.jmount.common.metrics.MetricsRecorder;
 
-import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodHandles;
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
-import java.util.Map;
-import java.util.WeakHashMap;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
-
-import static snw.jmount.common.util.MountUtils.*;
-import static snw.jmount.common.util.ReflectUtils.lookUpField;
-import static snw.jmount.common.util.ReflectUtils.perform;
 
 /**
- * The invoker for invoking methods in the underlying classes.
+ * The invoker for invoking methods in the underlying classes. <br>
+ * The invoker only holds the origin object,
+ *  the members are looked up from the dispatch table shared by the same Mount Point type.
  *
  * @author SNWCreations
  * @since 0.1.0
  */
 public class Invoker {
     protected final Mount mount;
-    protected final AtomicReference<Object> underlyingRef;
-    protected final Map<Method, UncheckedFunction<Object[], Object>> invokerMap = new ConcurrentHashMap<>();
-    protected final WeakHashMap<Object, Object> resultCache = new WeakHashMap<>();
-    protected final Lock cacheLock = new ReentrantLock();
+    protected final MountPointMetadata metadata;
+    protected final Object origin;
+    protected final @Nullable MetricsRecorder metrics;
 
-    protected Invoker(Mount mount, AtomicReference<Object> underlyingRef) {
+    protected Invoker(Mount mount, MountPointMetadata metadata, Object origin) {
         this.mount = mount;
-        this.underlyingRef = underlyingRef;
+        this.metadata = metadata;
+        this.origin = origin;
+        this.metrics = mount instanceof AbstractMount ? ((AbstractMount) mount).metrics() : null;
     }
 
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        final UncheckedFunction<Object[], Object> invoker = invokerMap.computeIfAbsent(method, i -> generate(method));
-        return invoker.apply(args);
-    }
-
-    public Object getOrigin() {
-        return underlyingRef.get();
-    }
-
-    private UncheckedFunction<Object[], Object> generate(Method method) {
-        final Object origin = underlyingRef.get();
-        if (isFieldAccessor(method)) {
-            return generateFieldAccessor(method);
+        final Class<?> declaringClass = method.getDeclaringClass();
+        if (declaringClass == MountedObject.class) {
+            return method.getName().equals("jmount$origin") ? origin : mount;
         }
-        final Method underlyingMethod = convertMethod(method, mount);
-        underlyingMethod.setAccessible(true);
-        final Class<?>[] paramTypes = method.getParameterTypes();
-        final Class<?> returnType = method.getReturnType();
-        final MethodHandle handle = perform(() -> MethodHandles.lookup().unreflect(underlyingMethod)).bindTo(origin);
-        return args -> {
-            // args is null if the Mount Point instance is mounting an enum constant.
-            Object o = args == null ? invoke(handle, null) : invoke(handle, convert(mount, paramTypes, args));
-            if (isMP(returnType)) {
-                cacheLock.lock();
-                try {
-                    if (resultCache.containsKey(o)) {
-                        return resultCache.get(o);
-                    } else {
-                        Object mounted = mount.mount(returnType, o);
-                        resultCache.put(o, mounted);
-                        return mounted;
-                    }
-                } finally {
-                    cacheLock.unlock();
-                }
-            }
-            return o;
-        };
-    }
-
-
-    protected UncheckedFunction<Object[], Object> generateFieldAccessor(Method method) {
-        final Object origin = underlyingRef.get();
-        final Field field = lookUpField(
-                mount.findOriginClass(method.getDeclaringClass()),
-                getTargetFieldNameWithPattern(method),
-                mount
-        );
-        final Type genericType = method.getGenericReturnType();
-        if (genericType instanceof ParameterizedType) { // require FieldAccessor
-            if (((ParameterizedType) genericType).getRawType() == FieldAccessor.class) {
-                Class<?> type = ((Class<?>) ((ParameterizedType) genericType).getActualTypeArguments()[0]);
-                final MethodHandleBasedFieldAccessor<?> accessor = new MethodHandleBasedFieldAccessor<>(mount, origin, type, field);
-                return args -> accessor;
+        if (declaringClass == Object.class) {
+            // the Mount Point instances are compared by identity, like the generated ones
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default: // toString
+                    return proxy.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
             }
         }
-        if (method.getReturnType() == void.class) { // setter
-            final MethodHandleBasedFieldAccessor<?> accessor = new MethodHandleBasedFieldAccessor<>(mount, origin, null, field);
-            return args -> {
-                accessor.set(args[0]);
-                return null;
-            };
+        if (metrics != null) {
+            metrics.invocationCounter(method).increment();
         }
-
-        Class<?> type = method.getReturnType();
-        final MethodHandleBasedFieldAccessor<?> accessor = new MethodHandleBasedFieldAccessor<>(mount, origin, type, field);
-        if (isMP(method.getReturnType())) {
-            return args -> accessor.getMounted();
+        if (MountEvents.tracesInvocations()) {
+            final Object event = MountEvents.begin(MountEventSink.Kind.INVOCATION);
+            try {
+                return metadata.getMember(method, mount).invoke(mount, origin, args);
+            } finally {
+                if (event != null) {
+                    MountEvents.end(event, declaringClass, origin.getClass(), method.getName());
+                }
+            }
         }
-        return args -> accessor.get();
+        return metadata.getMember(method, mount).invoke(mount, origin, args);
     }
 
-    protected Object invoke(MethodHandle boundHandle, @Nullable Object[] convertedArgs) throws Throwable {
-        return convertedArgs == null ? boundHandle.invoke() : boundHandle.invoke(convertedArgs);
+    public Object getOrigin() {
+        return origin;
     }
 }
@@ -18,17 +18,25 @@ package snw.jmount.common.handle;
 
 import org.jetbrains.annotations.Nullable;
 import snw.jmount.Mount;
+import snw.jmount.common.meta.AtomicFieldHandles.AccessMode;
+import snw.jmount.common.meta.FieldHandles;
 
 import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 
-import static snw.jmount.common.util.MountUtils.convertOrReturn;
-import static snw.jmount.common.util.ReflectUtils.perform;
+import static snw.jmount.common.util.ReflectUtils.wrap;
 
+/**
+ * The {@link snw.jmount.handle.FieldAccessor} implementation based on the shared {@link FieldHandles}. <br>
+ * The primitive fields are accessed by the exactly typed handles, so the typed methods never box the values. <br>
+ * The atomic operations are based on the {@link snw.jmount.common.meta.AtomicFieldHandles} of the field.
+ *
+ * @param <T> The Mount Point type of the underlying type
+ * @author SNWCreations
+ * @since 0.1.0
+ */
 public class MethodHandleBasedFieldAccessor<T> extends AbstractFieldAccessor<T> {
-    protected final MethodHandle getter;
-    protected final MethodHandle setter;
+    protected final FieldHandles handles;
 
     public MethodHandleBasedFieldAccessor(
             Mount mount,
@@ -36,46 +44,362 @@ public class MethodHandleBasedFieldAccessor<T> extends AbstractFieldAccessor<T>
             @Nullable Class<T> mountType,
             Field field
     ) {
-        super(mount, underlyingObject, mountType, field);
-        field.setAccessible(true);
-        final MethodHandles.Lookup lookup = MethodHandles.lookup();
-        this.getter = bindIfNeeded(perform(() -> lookup.unreflectGetter(field)));
-        if (!isFinal()) {
-            this.setter = bindIfNeeded(perform(() -> lookup.unreflectSetter(field)));
-        } else {
-            this.setter = null;
-        }
+        this(mount, underlyingObject, mountType, FieldHandles.of(field));
     }
 
-    protected final MethodHandle bindIfNeeded(MethodHandle handle) {
-        if (underlyingObject != null) {
-            return handle.bindTo(underlyingObject);
-        }
-        return handle;
+    public MethodHandleBasedFieldAccessor(
+            Mount mount,
+            @Nullable Object underlyingObject,
+            @Nullable Class<T> mountType,
+            FieldHandles handles
+    ) {
+        this(mount, underlyingObject, mountType, handles, true);
+    }
+
+    public MethodHandleBasedFieldAccessor(
+            Mount mount,
+            @Nullable Object underlyingObject,
+            @Nullable Class<T> mountType,
+            FieldHandles handles,
+            boolean checkMountType
+    ) {
+        super(mount, underlyingObject, mountType, handles.getField(), checkMountType);
+        this.handles = handles;
     }
 
     @Override
     public Object get() {
-        return perform(getter::invoke);
+        try {
+            return (Object) handles.getGenericGetter().invokeExact(underlyingObject);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
     }
 
     @Override
     protected T getMounted0() {
+        final Object value = get();
         // mountType should be not null at this time!
         // noinspection DataFlowIssue, unchecked
-        return !mountType.isPrimitive() ? mount.mount(mountType, get()) : (T) get();
+        return value == null || mountType.isPrimitive() ? (T) value : mount.mount(mountType, value);
     }
 
     @Override
     protected void set0(Object newValue) {
-        perform(() -> {
-            final Object actualNewValue = convertOrReturn(newValue, mount);
-            if (underlyingObject == null) {
-                setter.invoke(null, actualNewValue);
-            } else {
-                setter.invoke(actualNewValue);
-            }
-            return null;
-        });
+        try {
+            handles.getGenericSetter().invokeExact(underlyingObject, newValue);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public boolean getBoolean() {
+        checkType(boolean.class);
+        try {
+            return (boolean) handles.getExactGetter().invokeExact(underlyingObject);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setBoolean(boolean newValue) {
+        checkType(boolean.class);
+        checkNotFinal();
+        try {
+            handles.getExactSetter().invokeExact(underlyingObject, newValue);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public byte getByte() {
+        checkType(byte.class);
+        try {
+            return (byte) handles.getExactGetter().invokeExact(underlyingObject);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setByte(byte newValue) {
+        checkType(byte.class);
+        checkNotFinal();
+        try {
+            handles.getExactSetter().invokeExact(underlyingObject, newValue);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public char getChar() {
+        checkType(char.class);
+        try {
+            return (char) handles.getExactGetter().invokeExact(underlyingObject);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setChar(char newValue) {
+        checkType(char.class);
+        checkNotFinal();
+        try {
+            handles.getExactSetter().invokeExact(underlyingObject, newValue);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public short getShort() {
+        checkType(short.class);
+        try {
+            return (short) handles.getExactGetter().invokeExact(underlyingObject);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setShort(short newValue) {
+        checkType(short.class);
+        checkNotFinal();
+        try {
+            handles.getExactSetter().invokeExact(underlyingObject, newValue);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public int getInt() {
+        checkType(int.class);
+        try {
+            return (int) handles.getExactGetter().invokeExact(underlyingObject);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setInt(int newValue) {
+        checkType(int.class);
+        checkNotFinal();
+        try {
+            handles.getExactSetter().invokeExact(underlyingObject, newValue);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public long getLong() {
+        checkType(long.class);
+        try {
+            return (long) handles.getExactGetter().invokeExact(underlyingObject);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setLong(long newValue) {
+        checkType(long.class);
+        checkNotFinal();
+        try {
+            handles.getExactSetter().invokeExact(underlyingObject, newValue);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public float getFloat() {
+        checkType(float.class);
+        try {
+            return (float) handles.getExactGetter().invokeExact(underlyingObject);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setFloat(float newValue) {
+        checkType(float.class);
+        checkNotFinal();
+        try {
+            handles.getExactSetter().invokeExact(underlyingObject, newValue);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public double getDouble() {
+        checkType(double.class);
+        try {
+            return (double) handles.getExactGetter().invokeExact(underlyingObject);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setDouble(double newValue) {
+        checkType(double.class);
+        checkNotFinal();
+        try {
+            handles.getExactSetter().invokeExact(underlyingObject, newValue);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public Object getVolatile() {
+        return atomicGet(AccessMode.GET_VOLATILE);
+    }
+
+    @Override
+    public void setVolatile(Object newValue) {
+        atomicSet(AccessMode.SET_VOLATILE, newValue);
+    }
+
+    @Override
+    public Object getOpaque() {
+        return atomicGet(AccessMode.GET_OPAQUE);
+    }
+
+    @Override
+    public void setOpaque(Object newValue) {
+        atomicSet(AccessMode.SET_OPAQUE, newValue);
+    }
+
+    @Override
+    public Object getAcquire() {
+        return atomicGet(AccessMode.GET_ACQUIRE);
+    }
+
+    @Override
+    public void setRelease(Object newValue) {
+        atomicSet(AccessMode.SET_RELEASE, newValue);
+    }
+
+    @Override
+    public boolean compareAndSet(Object expectedValue, Object newValue) {
+        checkNotFinal();
+        final MethodHandle handle = atomicHandle(AccessMode.COMPARE_AND_SET, false);
+        try {
+            return (boolean) handle.invokeExact(underlyingObject, convertNewValue(expectedValue), convertNewValue(newValue));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public Object getAndSet(Object newValue) {
+        checkNotFinal();
+        final MethodHandle handle = atomicHandle(AccessMode.GET_AND_SET, false);
+        try {
+            return (Object) handle.invokeExact(underlyingObject, convertNewValue(newValue));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public boolean compareAndSetInt(int expectedValue, int newValue) {
+        checkType(int.class);
+        checkNotFinal();
+        final MethodHandle handle = atomicHandle(AccessMode.COMPARE_AND_SET, true);
+        try {
+            return (boolean) handle.invokeExact(underlyingObject, expectedValue, newValue);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public int getAndAddInt(int delta) {
+        checkType(int.class);
+        checkNotFinal();
+        final MethodHandle handle = atomicHandle(AccessMode.GET_AND_ADD, true);
+        try {
+            return (int) handle.invokeExact(underlyingObject, delta);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public boolean compareAndSetLong(long expectedValue, long newValue) {
+        checkType(long.class);
+        checkNotFinal();
+        final MethodHandle handle = atomicHandle(AccessMode.COMPARE_AND_SET, true);
+        try {
+            return (boolean) handle.invokeExact(underlyingObject, expectedValue, newValue);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public long getAndAddLong(long delta) {
+        checkType(long.class);
+        checkNotFinal();
+        final MethodHandle handle = atomicHandle(AccessMode.GET_AND_ADD, true);
+        try {
+            return (long) handle.invokeExact(underlyingObject, delta);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    private Object atomicGet(AccessMode mode) {
+        final MethodHandle handle = atomicHandle(mode, false);
+        try {
+            return (Object) handle.invokeExact(underlyingObject);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    private void atomicSet(AccessMode mode, Object newValue) {
+        checkNotFinal();
+        final MethodHandle handle = atomicHandle(mode, false);
+        try {
+            handle.invokeExact(underlyingObject, convertNewValue(newValue));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    private MethodHandle atomicHandle(AccessMode mode, boolean exact) {
+        final MethodHandle handle = exact
+                ? handles.getAtomicHandles().getExactHandle(mode)
+                : handles.getAtomicHandles().getGenericHandle(mode);
+        if (handle == null) { // the callers check the final flag and the type before
+            throw new IllegalStateException(
+                    "Access mode " + mode + " is not supported for the field of type " + field.getType().getName()
+            );
+        }
+        return handle;
+    }
+
+    // Errors are thrown directly, the unchecked exceptions are returned as-is, others are wrapped
+    private RuntimeException rethrow(Throwable e) {
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        return wrap(mount, e);
     }
 }
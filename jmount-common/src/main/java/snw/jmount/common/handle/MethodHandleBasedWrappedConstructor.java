@@ -17,26 +17,54 @@
 package snw.jmount.common.handle;
 
 import snw.jmount.Mount;
+import snw.jmount.common.meta.ArgumentConverter;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 
-import static snw.jmount.common.util.MountUtils.convert;
 import static snw.jmount.common.util.ReflectUtils.perform;
+import static snw.jmount.common.util.ReflectUtils.wrap;
 
+/**
+ * The {@link snw.jmount.handle.WrappedConstructor} implementation based on a spreading handle. <br>
+ * The converters of the arguments are chosen once, the arguments are not converted again by the handle.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
 public class MethodHandleBasedWrappedConstructor extends AbstractWrappedConstructor {
     protected final Mount mount;
     protected final MethodHandle handle;
+    // (Object[] args)Object
+    protected final MethodHandle spreadHandle;
+    protected final ArgumentConverter[] converters;
 
     public MethodHandleBasedWrappedConstructor(Mount mount, Constructor<?> underlying) {
         super(underlying);
         this.mount = mount;
-        this.handle = perform(() -> MethodHandles.lookup().unreflectConstructor(underlying));
+        this.handle = perform(mount, () -> MethodHandles.lookup().unreflectConstructor(underlying));
+        final Class<?>[] paramTypes = underlying.getParameterTypes();
+        this.converters = ArgumentConverter.forOriginParameters(paramTypes);
+        this.spreadHandle = handle
+                .asType(MethodType.genericMethodType(paramTypes.length))
+                .asSpreader(Object[].class, paramTypes.length);
     }
 
     @Override
     public Object newInstance(Object... initArgs) {
-        return perform(() -> handle.invokeWithArguments(convert(mount, underlying.getParameterTypes(), initArgs)));
+        if (initArgs.length != converters.length) {
+            throw new IllegalArgumentException(
+                    "Wrong number of arguments, " + converters.length + " expected but " + initArgs.length + " provided"
+            );
+        }
+        // don't modify the array of the caller
+        final Object[] args = ArgumentConverter.convertAllCopied(converters, mount, initArgs);
+        try {
+            return (Object) spreadHandle.invokeExact(args);
+        } catch (Throwable e) {
+            throw wrap(mount, e);
+        }
     }
 }
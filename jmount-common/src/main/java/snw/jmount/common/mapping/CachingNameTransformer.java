@@ -0,0 +1,143 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.mapping;
+
+import org.jetbrains.annotations.Nullable;
+import snw.jmount.NameTransformer;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The name transformer caching the results of another one,
+ *  so each name is transformed only once, even if it is looked up again by other Mount Points. <br>
+ * The members of each origin class are transformed by {@link NameTransformer#transformMemberNames(String)}
+ *  at once if the wrapped name transformer supports it,
+ *  the members not in the returned map are transformed one by one as usual. <br>
+ * The wrapped name transformer must give the same results for the same arguments.
+ * The {@link snw.jmount.Mount} objects built by {@link snw.jmount.common.AbstractMountBuilder}
+ *  use this internally, their {@link snw.jmount.Mount#nameTransformer()} still returns the wrapped one.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public final class CachingNameTransformer implements NameTransformer {
+    private final NameTransformer delegate;
+    private final Map<String, String> classNames = new ConcurrentHashMap<>();
+    private final Map<String, MemberNames> memberNames = new ConcurrentHashMap<>();
+
+    private CachingNameTransformer(NameTransformer delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Wrap the provided name transformer, unless it is already cached.
+     *
+     * @param nameTransformer The name transformer
+     * @return The name transformer caching the results of the provided one
+     */
+    public static CachingNameTransformer of(NameTransformer nameTransformer) {
+        return nameTransformer instanceof CachingNameTransformer
+                ? (CachingNameTransformer) nameTransformer : new CachingNameTransformer(nameTransformer);
+    }
+
+    /**
+     * Get the name transformer whose results are cached by this one.
+     *
+     * @return The wrapped name transformer
+     */
+    public NameTransformer getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String transformClassName(String classNameWithPattern) {
+        return classNames.computeIfAbsent(classNameWithPattern, delegate::transformClassName);
+    }
+
+    @Override
+    public String transformFieldName(String originClassName, String fieldNameWithPattern) {
+        final MemberNames names = memberNames(originClassName);
+        if (names.batch != null) {
+            final String result = names.batch.get(fieldNameWithPattern);
+            if (result != null) {
+                return result;
+            }
+        }
+        return names.cache.computeIfAbsent(fieldNameWithPattern,
+                name -> delegate.transformFieldName(originClassName, name));
+    }
+
+    @Override
+    public String transformMethodName(String originClassName, String methodNameWithPattern, Class<?>[] convertedArgTypes) {
+        final StringBuilder builder = new StringBuilder(methodNameWithPattern).append('(');
+        for (Class<?> type : convertedArgTypes) {
+            appendDescriptor(builder, type);
+        }
+        final String key = builder.append(')').toString();
+        final MemberNames names = memberNames(originClassName);
+        if (names.batch != null) {
+            final String result = names.batch.get(key);
+            if (result != null) {
+                return result;
+            }
+        }
+        return names.cache.computeIfAbsent(key,
+                ignored -> delegate.transformMethodName(originClassName, methodNameWithPattern, convertedArgTypes));
+    }
+
+    @Override
+    public @Nullable Map<String, String> transformMemberNames(String originClassName) {
+        return memberNames(originClassName).batch;
+    }
+
+    @Override
+    public long fingerprint() {
+        return delegate.fingerprint();
+    }
+
+    private MemberNames memberNames(String originClassName) {
+        return memberNames.computeIfAbsent(originClassName,
+                name -> new MemberNames(delegate.transformMemberNames(name)));
+    }
+
+    private static void appendDescriptor(StringBuilder builder, Class<?> type) {
+        if (type.isArray()) {
+            builder.append(type.getName().replace('.', '/'));
+        } else if (!type.isPrimitive()) {
+            builder.append('L').append(type.getName().replace('.', '/')).append(';');
+        } else if (type == boolean.class) {
+            builder.append('Z');
+        } else if (type == long.class) {
+            builder.append('J');
+        } else {
+            builder.append(Character.toUpperCase(type.getName().charAt(0))); // int, byte, char, short, float, double
+        }
+    }
+
+    // the names of the members of an origin class, the field names and the method keys never conflict
+    private static final class MemberNames {
+        // the names transformed at once, or null if not supported
+        final @Nullable Map<String, String> batch;
+        final Map<String, String> cache = new ConcurrentHashMap<>();
+
+        MemberNames(@Nullable Map<String, String> batch) {
+            this.batch = batch != null ? Collections.unmodifiableMap(batch) : null;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.mapping;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable string to string table, the entries are encoded into one byte buffer and sorted by their keys,
+ *  so it takes far less memory than a {@link java.util.HashMap} of strings, and it can be memory-mapped. <br>
+ * Each entry is encoded as {@code key 0 value 0} in UTF-8, the names never contain the NUL character.
+ * The keys are compared by their UTF-8 bytes, which is the same as comparing their code points.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+final class CompactTable {
+    private static final Comparator<byte[]> KEY_ORDER = CompactTable::compareKeys;
+
+    private final ByteBuffer data;
+    private final IntBuffer offsets; // the start of each entry, sorted by key
+
+    CompactTable(ByteBuffer data, IntBuffer offsets) {
+        this.data = data;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Get the value of the provided key.
+     *
+     * @param key The key
+     * @return The value, or null if not found
+     */
+    @Nullable String get(String key) {
+        final byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = offsets.limit() - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int start = offsets.get(mid);
+            final int result = compare(start, bytes);
+            if (result < 0) {
+                low = mid + 1;
+            } else if (result > 0) {
+                high = mid - 1;
+            } else {
+                return decode(start + bytes.length + 1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Call the provided action with the entries whose keys start with the provided prefix, in the order of the keys.
+     *
+     * @param prefix The prefix of the keys
+     * @param action The action accepting the keys without the prefix, and the values
+     */
+    void forEach(String prefix, BiConsumer<String, String> action) {
+        final byte[] bytes = prefix.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = offsets.limit();
+        while (low < high) { // find the first key not less than the prefix
+            final int mid = (low + high) >>> 1;
+            if (compare(offsets.get(mid), bytes) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low; i < offsets.limit(); i++) {
+            final int start = offsets.get(i);
+            if (!startsWith(start, bytes)) {
+                break;
+            }
+            final String rest = decode(start + bytes.length);
+            action.accept(rest, decode(start + bytes.length + rest.getBytes(StandardCharsets.UTF_8).length + 1));
+        }
+    }
+
+    private boolean startsWith(int start, byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            if (data.get(start + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // compare the key of the entry at the provided position with the provided key
+    private int compare(int start, byte[] key) {
+        for (int i = 0; ; i++) {
+            final byte b = data.get(start + i);
+            if (b == 0) {
+                return i == key.length ? 0 : -1;
+            }
+            if (i == key.length) {
+                return 1;
+            }
+            final int result = (b & 0xFF) - (key[i] & 0xFF);
+            if (result != 0) {
+                return result;
+            }
+        }
+    }
+
+    private String decode(int start) {
+        int end = start;
+        while (data.get(end) != 0) {
+            end++;
+        }
+        final byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = data.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // the FNV-1a hash of the entries, they are sorted and unique, so the same names give the same hash
+    long hash() {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < data.limit(); i++) {
+            hash = (hash ^ (data.get(i) & 0xFF)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(offsets.limit());
+        out.writeInt(data.limit());
+        for (int i = 0; i < offsets.limit(); i++) {
+            out.writeInt(offsets.get(i));
+        }
+        for (int i = 0; i < data.limit(); i++) {
+            out.writeByte(data.get(i));
+        }
+    }
+
+    /**
+     * Read a table written by {@link #write(DataOutputStream)} from the provided buffer, without copying it.
+     * The position of the buffer is moved to the end of the table.
+     *
+     * @param buffer The buffer
+     * @return The table
+     */
+    static CompactTable read(ByteBuffer buffer) {
+        final int size = buffer.getInt();
+        final int length = buffer.getInt();
+        final ByteBuffer offsets = buffer.slice();
+        offsets.limit(size * 4);
+        buffer.position(buffer.position() + size * 4);
+        final ByteBuffer data = buffer.slice();
+        data.limit(length);
+        buffer.position(buffer.position() + length);
+        return new CompactTable(data, offsets.order(buffer.order()).asIntBuffer());
+    }
+
+    private static int compareKeys(byte[] a, byte[] b) {
+        for (int i = 0; ; i++) {
+            final int x = a[i] & 0xFF;
+            final int y = b[i] & 0xFF;
+            if (x != y || x == 0) {
+                return x - y; // NUL ends the key, and it is less than any other byte
+            }
+        }
+    }
+
+    /**
+     * Collects the entries of a table, the first entry of a key wins.
+     */
+    static final class Builder {
+        private final List<byte[]> entries = new ArrayList<>();
+        private int length;
+
+        void put(String key, String value) {
+            final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            final byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+            final byte[] entry = new byte[keyBytes.length + valueBytes.length + 2];
+            System.arraycopy(keyBytes, 0, entry, 0, keyBytes.length);
+            System.arraycopy(valueBytes, 0, entry, keyBytes.length + 1, valueBytes.length);
+            entries.add(entry);
+            length += entry.length;
+        }
+
+        CompactTable build() {
+            entries.sort(KEY_ORDER); // stable, so the first one of the same keys comes first
+            final ByteBuffer data = ByteBuffer.allocate(length);
+            final List<Integer> offsets = new ArrayList<>(entries.size());
+            byte[] previous = null;
+            for (byte[] entry : entries) {
+                if (previous != null && compareKeys(previous, entry) == 0) {
+                    continue;
+                }
+                offsets.add(data.position());
+                data.put(entry);
+                previous = entry;
+            }
+            entries.clear();
+            final IntBuffer offsetBuffer = IntBuffer.allocate(offsets.size());
+            for (int offset : offsets) {
+                offsetBuffer.put(offset);
+            }
+            offsetBuffer.flip();
+            data.flip();
+            return new CompactTable(data, offsetBuffer);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.mapping;
+
+import org.jetbrains.annotations.Nullable;
+import snw.jmount.NameTransformer;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The name transformer backed by a mapping file. <br>
+ * The Mount Points are written in the readable names (e.g. the original names in the ProGuard mapping),
+ *  and this transforms them into the names used at runtime (e.g. the obfuscated names).
+ * The names not in the mapping are returned as-is, so the classes not obfuscated can be mounted as usual. <br>
+ * The mapping file is read line by line, and the names are kept in sorted tables encoded into byte buffers,
+ *  which take far less memory than the maps of strings.
+ * The tables can be saved as an index file by {@link #saveIndex(Path)},
+ *  and then memory-mapped by {@link #loadIndex(Path)}, so the mapping file does not need to be parsed again. <br>
+ * The methods are matched by their names and their argument types, the return types are not considered.
+ * The members are looked up in the origin class only,
+ *  use {@link #withClassLoader(ClassLoader)} to look up the members inherited from the superclasses.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public final class MappingNameTransformer implements NameTransformer {
+    private static final int MAGIC = 0x4A4D4D49; // "JMMI"
+    private static final int VERSION = 1;
+
+    private final CompactTable classes;
+    private final CompactTable fields;
+    private final CompactTable methods;
+    private final @Nullable ClassLoader classLoader;
+    private volatile long fingerprint; // computed on the first request, 0 if not computed yet
+
+    MappingNameTransformer(CompactTable classes, CompactTable fields, CompactTable methods,
+                           @Nullable ClassLoader classLoader) {
+        this.classes = classes;
+        this.fields = fields;
+        this.methods = methods;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Read a ProGuard (or R8) mapping file. The Mount Points should use the original names.
+     *
+     * @param reader The reader of the mapping file, it is not closed by this method
+     * @return The name transformer
+     * @throws IOException If the mapping file cannot be read
+     * @throws IllegalArgumentException If the mapping file is malformed
+     */
+    public static MappingNameTransformer readProGuard(Reader reader) throws IOException {
+        return MappingReader.proGuard(reader);
+    }
+
+    /**
+     * Read a SRG mapping file. The Mount Points should use the names on the right side of each line.
+     *
+     * @param reader The reader of the mapping file, it is not closed by this method
+     * @return The name transformer
+     * @throws IOException If the mapping file cannot be read
+     * @throws IllegalArgumentException If the mapping file is malformed
+     */
+    public static MappingNameTransformer readSrg(Reader reader) throws IOException {
+        return MappingReader.srg(reader);
+    }
+
+    /**
+     * Read a Tiny mapping file, both version 1 and version 2 are supported.
+     *
+     * @param reader        The reader of the mapping file, it is not closed by this method
+     * @param fromNamespace The namespace used by the Mount Points (e.g. "named")
+     * @param toNamespace   The namespace used at runtime (e.g. "intermediary")
+     * @return The name transformer
+     * @throws IOException If the mapping file cannot be read
+     * @throws IllegalArgumentException If the mapping file is malformed, or the namespaces are not found
+     */
+    public static MappingNameTransformer readTiny(Reader reader, String fromNamespace, String toNamespace)
+            throws IOException {
+        return MappingReader.tiny(reader, fromNamespace, toNamespace);
+    }
+
+    /**
+     * Load the index file saved by {@link #saveIndex(Path)}.
+     * The file is memory-mapped, so it should not be modified while the returned name transformer is in use.
+     *
+     * @param file The index file
+     * @return The name transformer
+     * @throws IOException If the index file cannot be read
+     * @throws IllegalArgumentException If the file is not an index file of this version
+     */
+    public static MappingNameTransformer loadIndex(Path file) throws IOException {
+        final MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IllegalArgumentException("Not a mapping index file of version " + VERSION + ": " + file);
+        }
+        final CompactTable classes = CompactTable.read(buffer);
+        final CompactTable fields = CompactTable.read(buffer);
+        final CompactTable methods = CompactTable.read(buffer);
+        return new MappingNameTransformer(classes, fields, methods, null);
+    }
+
+    /**
+     * Save the names as an index file, which can be loaded by {@link #loadIndex(Path)}.
+     *
+     * @param file The index file
+     * @throws IOException If the index file cannot be written
+     */
+    public void saveIndex(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            classes.write(out);
+            fields.write(out);
+            methods.write(out);
+        }
+    }
+
+    /**
+     * Get a name transformer sharing the names with this one,
+     *  but also looks up the members in the superclasses of the origin classes,
+     *  which are loaded by the provided class loader.
+     *
+     * @param classLoader The class loader of the origin classes
+     * @return The name transformer
+     */
+    public MappingNameTransformer withClassLoader(ClassLoader classLoader) {
+        return new MappingNameTransformer(classes, fields, methods, classLoader);
+    }
+
+    @Override
+    public String transformClassName(String classNameWithPattern) {
+        final String result = classes.get(classNameWithPattern);
+        return result != null ? result : classNameWithPattern;
+    }
+
+    @Override
+    public String transformFieldName(String originClassName, String fieldNameWithPattern) {
+        for (String owner = originClassName; owner != null; owner = superclassName(owner)) {
+            final String result = fields.get(fieldKey(owner, fieldNameWithPattern));
+            if (result != null) {
+                return result;
+            }
+        }
+        return fieldNameWithPattern;
+    }
+
+    @Override
+    public String transformMethodName(String originClassName, String methodNameWithPattern, Class<?>[] convertedArgTypes) {
+        final StringBuilder descriptor = new StringBuilder("(");
+        for (Class<?> type : convertedArgTypes) {
+            appendDescriptor(descriptor, type);
+        }
+        final String parameters = descriptor.append(')').toString();
+        for (String owner = originClassName; owner != null; owner = superclassName(owner)) {
+            final String result = methods.get(methodKey(owner, methodNameWithPattern, parameters));
+            if (result != null) {
+                return result;
+            }
+        }
+        return methodNameWithPattern;
+    }
+
+    @Override
+    public Map<String, String> transformMemberNames(String originClassName) {
+        final List<String> owners = new ArrayList<>();
+        for (String owner = originClassName; owner != null; owner = superclassName(owner)) {
+            owners.add(owner);
+        }
+        final Map<String, String> result = new HashMap<>();
+        for (int i = owners.size() - 1; i >= 0; i--) { // the members in the subclasses come later, and override
+            final String prefix = fieldKey(owners.get(i), "");
+            fields.forEach(prefix, result::put);
+            // "name (parameters)" -> "name(parameters)"
+            methods.forEach(prefix, (key, value) -> result.put(key.replace(" ", ""), value));
+        }
+        return result;
+    }
+
+    @Override
+    public long fingerprint() {
+        long fingerprint = this.fingerprint;
+        if (fingerprint == 0) {
+            fingerprint = ((classes.hash() * 31 + fields.hash()) * 31 + methods.hash()) | 1;
+            this.fingerprint = fingerprint;
+        }
+        return fingerprint;
+    }
+
+    private @Nullable String superclassName(String className) {
+        if (classLoader == null) {
+            return null;
+        }
+        try {
+            final Class<?> superclass = Class.forName(className, false, classLoader).getSuperclass();
+            return superclass != null && superclass != Object.class ? superclass.getName() : null;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    static String fieldKey(String owner, String name) {
+        return owner + ' ' + name;
+    }
+
+    static String methodKey(String owner, String name, String parameters) {
+        return owner + ' ' + name + ' ' + parameters;
+    }
+
+    private static void appendDescriptor(StringBuilder descriptor, Class<?> type) {
+        if (type.isArray()) {
+            descriptor.append(type.getName().replace('.', '/'));
+        } else if (type.isPrimitive()) {
+            descriptor.append(primitiveDescriptor(type));
+        } else {
+            descriptor.append('L').append(type.getName().replace('.', '/')).append(';');
+        }
+    }
+
+    private static char primitiveDescriptor(Class<?> type) {
+        if (type == int.class) {
+            return 'I';
+        } else if (type == long.class) {
+            return 'J';
+        } else if (type == boolean.class) {
+            return 'Z';
+        } else if (type == byte.class) {
+            return 'B';
+        } else if (type == char.class) {
+            return 'C';
+        } else if (type == short.class) {
+            return 'S';
+        } else if (type == float.class) {
+            return 'F';
+        } else if (type == double.class) {
+            return 'D';
+        }
+        return 'V';
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.mapping;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the mapping files line by line, and collects the names into the compact tables. <br>
+ * The names used by the Mount Points are called the "from" names,
+ *  and the names used at runtime are called the "to" names.
+ * The owners and the descriptors of the members are in the namespace used by the mapping file,
+ *  they are remapped into the "to" names after all the classes are read.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+final class MappingReader {
+    private final CompactTable.Builder classes = new CompactTable.Builder();
+    // the internal class names in the namespace of the owners and the descriptors -> the "to" names
+    private final Map<String, String> remap = new HashMap<>();
+    private final List<String[]> members = new ArrayList<>(); // owner, name, descriptor (null if field), "to" name
+    private int lineNumber;
+
+    private MappingReader() {
+    }
+
+    /**
+     * Read a ProGuard mapping file. The original names are used by the Mount Points.
+     */
+    static MappingNameTransformer proGuard(Reader reader) throws IOException {
+        final MappingReader result = new MappingReader();
+        final BufferedReader in = buffered(reader);
+        String owner = null;
+        String line;
+        while ((line = result.readLine(in)) != null) {
+            if (line.isEmpty() || line.trim().startsWith("#")) {
+                continue;
+            }
+            final int arrow = line.indexOf(" -> ");
+            if (arrow < 0) {
+                throw result.malformed(line);
+            }
+            final String from = line.substring(0, arrow).trim();
+            String to = line.substring(arrow + 4).trim();
+            if (!Character.isWhitespace(line.charAt(0))) {
+                if (!to.endsWith(":")) {
+                    throw result.malformed(line);
+                }
+                to = to.substring(0, to.length() - 1);
+                owner = from.replace('.', '/');
+                result.putClass(owner, to.replace('.', '/'));
+                result.remap.put(owner, to.replace('.', '/')); // the descriptors are in the original names
+                continue;
+            }
+            if (owner == null) {
+                throw result.malformed(line);
+            }
+            final int space = from.indexOf(' ');
+            if (space < 0) {
+                throw result.malformed(line);
+            }
+            final int open = from.indexOf('(');
+            if (open < 0) { // field
+                result.members.add(new String[]{owner, from.substring(space + 1), null, to});
+                continue;
+            }
+            final String name = from.substring(space + 1, open);
+            if (name.indexOf('.') >= 0) { // the inlined method from another class
+                continue;
+            }
+            final int close = from.indexOf(')', open);
+            if (close < 0) {
+                throw result.malformed(line);
+            }
+            final StringBuilder descriptor = new StringBuilder("(");
+            final String args = from.substring(open + 1, close);
+            if (!args.isEmpty()) {
+                for (String arg : args.split(",")) {
+                    appendJavaType(descriptor, arg.trim());
+                }
+            }
+            result.members.add(new String[]{owner, name, descriptor.append(')').toString(), to});
+        }
+        return result.build();
+    }
+
+    /**
+     * Read a SRG mapping file. The names on the right side are used by the Mount Points.
+     */
+    static MappingNameTransformer srg(Reader reader) throws IOException {
+        final MappingReader result = new MappingReader();
+        final BufferedReader in = buffered(reader);
+        String line;
+        while ((line = result.readLine(in)) != null) {
+            final String[] parts = line.trim().split("\\s+");
+            switch (parts[0]) {
+                case "CL:":
+                    result.expect(line, parts, 3);
+                    result.putClass(parts[2], parts[1]);
+                    break;
+                case "FD:":
+                    result.expect(line, parts, 3);
+                    result.putMember(line, parts[1], parts[2], null);
+                    break;
+                case "MD:":
+                    result.expect(line, parts, 5);
+                    result.putMember(line, parts[1], parts[3], parts[2]);
+                    break;
+                case "":
+                case "PK:":
+                    break;
+                default:
+                    throw result.malformed(line);
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * Read a Tiny mapping file, both version 1 and version 2 are supported.
+     */
+    static MappingNameTransformer tiny(Reader reader, String fromNamespace, String toNamespace) throws IOException {
+        final MappingReader result = new MappingReader();
+        final BufferedReader in = buffered(reader);
+        final String header = result.readLine(in);
+        if (header == null) {
+            throw new IllegalArgumentException("Empty Tiny mapping file");
+        }
+        final String[] columns = header.split("\t", -1);
+        final int offset;
+        if (columns[0].equals("v1")) {
+            offset = 1;
+        } else if (columns[0].equals("tiny") && columns.length > 2 && columns[1].equals("2")) {
+            offset = 3;
+        } else {
+            throw result.malformed(header);
+        }
+        final int from = result.namespace(columns, offset, fromNamespace);
+        final int to = result.namespace(columns, offset, toNamespace);
+        if (offset == 1) {
+            String line;
+            while ((line = result.readLine(in)) != null) {
+                final String[] parts = line.split("\t", -1);
+                switch (parts[0]) {
+                    case "CLASS":
+                        result.putTinyClass(line, parts, 1, from, to);
+                        break;
+                    case "FIELD":
+                    case "METHOD":
+                        final boolean field = parts[0].equals("FIELD");
+                        result.putTinyMember(line, parts, parts[1], 3, field ? null : parts[2], from, to);
+                        break;
+                    default: // comments or other extensions
+                        break;
+                }
+            }
+        } else {
+            String owner = null;
+            String line;
+            while ((line = result.readLine(in)) != null) {
+                final String[] parts = line.split("\t", -1);
+                if (!parts[0].isEmpty()) {
+                    owner = parts[0].equals("c") ? result.putTinyClass(line, parts, 1, from, to) : null;
+                } else if (owner != null && parts.length > 1 && (parts[1].equals("f") || parts[1].equals("m"))) {
+                    final boolean field = parts[1].equals("f");
+                    result.putTinyMember(line, parts, owner, 3, field ? null : parts[2], from, to);
+                } // the properties, parameters, local variables and comments are ignored
+            }
+        }
+        return result.build();
+    }
+
+    private int namespace(String[] columns, int offset, String namespace) {
+        for (int i = offset; i < columns.length; i++) {
+            if (columns[i].equals(namespace)) {
+                return i - offset;
+            }
+        }
+        throw new IllegalArgumentException("Namespace " + namespace + " not found in the Tiny mapping file");
+    }
+
+    // returns the owner name for the members
+    private String putTinyClass(String line, String[] parts, int start, int from, int to) {
+        expect(line, parts, start + Math.max(from, to) + 1);
+        final String original = parts[start];
+        putClass(tinyName(parts, start, from), tinyName(parts, start, to));
+        remap.put(original, tinyName(parts, start, to));
+        return original;
+    }
+
+    private void putTinyMember(String line, String[] parts, String owner, int start, String descriptor,
+                               int from, int to) {
+        expect(line, parts, start + Math.max(from, to) + 1);
+        members.add(new String[]{owner, tinyName(parts, start, from), descriptor, tinyName(parts, start, to)});
+    }
+
+    // the missing names are the same as the ones in the first namespace
+    private static String tinyName(String[] parts, int start, int namespace) {
+        final String name = parts[start + namespace];
+        return name.isEmpty() ? parts[start] : name;
+    }
+
+    private void putClass(String from, String to) {
+        if (!from.equals(to)) {
+            classes.put(from.replace('/', '.'), to.replace('/', '.'));
+        }
+    }
+
+    // the SRG members are written in "owner/name" form
+    private void putMember(String line, String to, String from, String descriptor) {
+        final int toSlash = to.lastIndexOf('/');
+        final int fromSlash = from.lastIndexOf('/');
+        if (toSlash < 0 || fromSlash < 0) {
+            throw malformed(line);
+        }
+        // the owners and the descriptors are already the runtime names
+        members.add(new String[]{to.substring(0, toSlash), from.substring(fromSlash + 1), descriptor,
+                to.substring(toSlash + 1)});
+    }
+
+    private MappingNameTransformer build() {
+        final CompactTable.Builder fields = new CompactTable.Builder();
+        final CompactTable.Builder methods = new CompactTable.Builder();
+        for (String[] member : members) {
+            if (member[1].equals(member[3])) {
+                continue;
+            }
+            final String owner = remap.getOrDefault(member[0], member[0]).replace('/', '.');
+            if (member[2] == null) {
+                fields.put(MappingNameTransformer.fieldKey(owner, member[1]), member[3]);
+            } else {
+                methods.put(MappingNameTransformer.methodKey(owner, member[1], remapParameters(member[2])), member[3]);
+            }
+        }
+        members.clear();
+        remap.clear();
+        return new MappingNameTransformer(classes.build(), fields.build(), methods.build(), null);
+    }
+
+    // the parameter part of the descriptor, in the "to" names
+    private String remapParameters(String descriptor) {
+        final StringBuilder builder = new StringBuilder(descriptor.length());
+        int i = 0;
+        for (; i < descriptor.length(); i++) {
+            final char c = descriptor.charAt(i);
+            builder.append(c);
+            if (c == ')') {
+                break;
+            }
+            if (c == 'L') {
+                final int end = descriptor.indexOf(';', i);
+                final String name = descriptor.substring(i + 1, end);
+                builder.append(remap.getOrDefault(name, name)).append(';');
+                i = end;
+            }
+        }
+        return builder.toString();
+    }
+
+    private static void appendJavaType(StringBuilder descriptor, String type) {
+        String component = type;
+        while (component.endsWith("[]")) {
+            descriptor.append('[');
+            component = component.substring(0, component.length() - 2);
+        }
+        switch (component) {
+            case "boolean": descriptor.append('Z'); break;
+            case "byte": descriptor.append('B'); break;
+            case "char": descriptor.append('C'); break;
+            case "short": descriptor.append('S'); break;
+            case "int": descriptor.append('I'); break;
+            case "long": descriptor.append('J'); break;
+            case "float": descriptor.append('F'); break;
+            case "double": descriptor.append('D'); break;
+            case "void": descriptor.append('V'); break;
+            default: descriptor.append('L').append(component.replace('.', '/')).append(';');
+        }
+    }
+
+    private void expect(String line, String[] parts, int count) {
+        if (parts.length < count) {
+            throw malformed(line);
+        }
+    }
+
+    private IllegalArgumentException malformed(String line) {
+        return new IllegalArgumentException("Malformed mapping at line " + lineNumber + ": " + line);
+    }
+
+    private String readLine(BufferedReader reader) throws IOException {
+        final String line = reader.readLine();
+        if (line != null) {
+            lineNumber++;
+        }
+        return line;
+    }
+
+    private static BufferedReader buffered(Reader reader) {
+        return reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.meta;
+
+import org.jetbrains.annotations.Nullable;
+import snw.jmount.Mount;
+import snw.jmount.common.MountedObject;
+
+import static snw.jmount.common.util.CommonUtils.primitiveToWrapper;
+import static snw.jmount.common.util.MountUtils.isMP;
+
+/**
+ * Converts an argument passed to a Mount Point method (or a wrapped constructor)
+ *  into the value accepted by the underlying member. <br>
+ * The converters are chosen once for each parameter when resolving the method,
+ *  so the calls don't need to inspect the parameter types again.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public abstract class ArgumentConverter {
+    /**
+     * The converter which returns the argument itself.
+     */
+    public static final ArgumentConverter IDENTITY = new ArgumentConverter() {
+        @Override
+        public Object convert(Mount mount, @Nullable Object arg) {
+            return arg;
+        }
+    };
+
+    /**
+     * The converter which unmounts the Mount Point instances.
+     */
+    public static final ArgumentConverter UNMOUNT = new ArgumentConverter() {
+        @Override
+        public Object convert(Mount mount, @Nullable Object arg) {
+            if (arg == null) {
+                return null;
+            }
+            if (!mount.isMount(arg)) {
+                throw new IllegalArgumentException(
+                        "Provided object is not a Mount Point instance created by the provided mount object"
+                );
+            }
+            return mount.unmount(arg);
+        }
+    };
+
+    /**
+     * The converter which unmounts the Mount Point instances and returns the other arguments as is,
+     *  used for the parameters whose types are not Mount Point types but can still accept Mount Point instances.
+     */
+    public static final ArgumentConverter UNMOUNT_IF_MOUNTED = new ArgumentConverter() {
+        @Override
+        public Object convert(Mount mount, @Nullable Object arg) {
+            return arg instanceof MountedObject ? ((MountedObject) arg).jmount$origin() : arg;
+        }
+    };
+
+    /**
+     * Convert the argument.
+     *
+     * @param mount The mount object which mounted the origin object
+     * @param arg The argument
+     * @return The converted argument
+     * @throws IllegalArgumentException Thrown if the argument is not compatible with the parameter
+     */
+    public abstract Object convert(Mount mount, @Nullable Object arg) throws IllegalArgumentException;
+
+    /**
+     * Get the converter for the provided parameter type of a Mount Point method. <br>
+     * The Mount Point instances passed to the parameters of {@link Object} or interface types are unmounted too,
+     *  the arguments of the other reference types are returned as is.
+     *
+     * @param parameterType The parameter type
+     * @return The converter
+     */
+    public static ArgumentConverter forParameter(Class<?> parameterType) {
+        if (parameterType.isPrimitive()) {
+            return new Primitive(primitiveToWrapper(parameterType));
+        }
+        if (isMP(parameterType)) {
+            return UNMOUNT;
+        }
+        if (acceptsMountPoints(parameterType)) {
+            return UNMOUNT_IF_MOUNTED;
+        }
+        return IDENTITY;
+    }
+
+    // the Mount Point instances are proxies or generated classes extending Object, so they only match these types
+    static boolean acceptsMountPoints(Class<?> parameterType) {
+        return parameterType == Object.class || parameterType.isInterface();
+    }
+
+    /**
+     * Get the converter for the provided parameter type of an underlying member,
+     *  the Mount Point instances are unmounted, and the other arguments are checked.
+     *
+     * @param parameterType The parameter type
+     * @return The converter
+     */
+    public static ArgumentConverter forOriginParameter(Class<?> parameterType) {
+        if (parameterType.isPrimitive()) {
+            return new Primitive(primitiveToWrapper(parameterType));
+        }
+        return new Origin(parameterType);
+    }
+
+    /**
+     * Get the converters for the provided parameter types of an underlying member,
+     *  see {@link #forOriginParameter(Class)}.
+     *
+     * @param parameterTypes The parameter types
+     * @return The converters
+     */
+    public static ArgumentConverter[] forOriginParameters(Class<?>[] parameterTypes) {
+        final ArgumentConverter[] result = new ArgumentConverter[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            result[i] = forOriginParameter(parameterTypes[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Get the converters for the provided parameter types of a Mount Point method.
+     *
+     * @param parameterTypes The parameter types
+     * @return The converters, or null if none of the arguments need to be converted
+     */
+    public static @Nullable ArgumentConverter[] forParameters(Class<?>[] parameterTypes) {
+        final ArgumentConverter[] result = new ArgumentConverter[parameterTypes.length];
+        boolean required = false;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            result[i] = forParameter(parameterTypes[i]);
+            required |= result[i] != IDENTITY;
+        }
+        return required ? result : null;
+    }
+
+    /**
+     * Convert the provided arguments in place.
+     *
+     * @param converters The converters returned by {@link #forParameters(Class[])}
+     * @param mount The mount object which mounted the origin object
+     * @param args The arguments, which will be replaced by the converted values
+     */
+    public static void convertAll(@Nullable ArgumentConverter[] converters, Mount mount, Object[] args) {
+        if (converters == null) {
+            return;
+        }
+        for (int i = 0; i < converters.length; i++) {
+            args[i] = converters[i].convert(mount, args[i]);
+        }
+    }
+
+    /**
+     * Convert the provided arguments, the provided array is not modified, it is copied if any argument is converted.
+     *
+     * @param converters The converters
+     * @param mount The mount object which mounted the origin object
+     * @param args The arguments
+     * @return The provided array, or the copied array with the converted values
+     */
+    public static Object[] convertAllCopied(@Nullable ArgumentConverter[] converters, Mount mount, Object[] args) {
+        if (converters == null) {
+            return args;
+        }
+        Object[] result = args;
+        for (int i = 0; i < converters.length; i++) {
+            final Object converted = converters[i].convert(mount, args[i]);
+            if (converted != args[i]) {
+                if (result == args) {
+                    result = args.clone();
+                }
+                result[i] = converted;
+            }
+        }
+        return result;
+    }
+
+    // Primitives are boxed by the caller, so only check if the wrapper type matches exactly
+    private static final class Primitive extends ArgumentConverter {
+        private final Class<?> wrapperType;
+
+        private Primitive(Class<?> wrapperType) {
+            this.wrapperType = wrapperType;
+        }
+
+        @Override
+        public Object convert(Mount mount, @Nullable Object arg) {
+            if (arg == null || arg.getClass() != wrapperType) {
+                throw new IllegalArgumentException(
+                        "Provided object is not compatible with the provided argument types"
+                );
+            }
+            return arg;
+        }
+    }
+
+    // The arguments may be Mount Point instances or origin objects
+    private static final class Origin extends ArgumentConverter {
+        private final Class<?> type;
+
+        private Origin(Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        public Object convert(Mount mount, @Nullable Object arg) {
+            if (arg == null) {
+                return null;
+            }
+            final Object origin = mount.isMount(arg) ? mount.unmount(arg) : arg;
+            if (!type.isInstance(origin)) {
+                throw new IllegalArgumentException(
+                        "Provided object is not compatible with the provided argument types"
+                );
+            }
+            return origin;
+        }
+    }
+}
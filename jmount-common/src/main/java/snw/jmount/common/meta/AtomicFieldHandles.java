@@ -0,0 +1,143 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.meta;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * The handles for accessing a field atomically or with a specific memory ordering,
+ *  created once for each field, see {@link FieldHandles#getAtomicHandles()}. <br>
+ * They are backed by {@code VarHandle} on Java 9 and later, or by {@code sun.misc.Unsafe} on Java 8,
+ *  which does not support some of the access modes for some field types. <br>
+ * Like {@link FieldHandles}, the first argument of them is always the object which holds the field.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public final class AtomicFieldHandles {
+    private final Field field;
+    // indexed by the ordinal of the access modes, the unsupported ones are null
+    private final @Nullable MethodHandle[] exactHandles;
+    private final @Nullable MethodHandle[] genericHandles;
+
+    AtomicFieldHandles(Field field) {
+        this.field = field;
+        final AccessMode[] modes = AccessMode.values();
+        this.exactHandles = new MethodHandle[modes.length];
+        this.genericHandles = new MethodHandle[modes.length];
+        final boolean isStatic = Modifier.isStatic(field.getModifiers());
+        final AtomicHandleFactory factory = AtomicHandleFactory.of(field);
+        for (AccessMode mode : modes) {
+            MethodHandle handle = factory.create(mode);
+            if (handle == null) {
+                continue;
+            }
+            if (isStatic) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            exactHandles[mode.ordinal()] = handle.asType(mode.type(field.getType()));
+            genericHandles[mode.ordinal()] = handle.asType(mode.type(Object.class));
+        }
+    }
+
+    /**
+     * Get the field.
+     *
+     * @return The field
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Get the handle of the provided access mode whose type is {@link AccessMode#type(Class)}
+     *  with the field type.
+     *
+     * @param mode The access mode
+     * @return The handle, or null if the access mode is not supported by the field
+     */
+    public @Nullable MethodHandle getExactHandle(AccessMode mode) {
+        return exactHandles[mode.ordinal()];
+    }
+
+    /**
+     * Get the handle of the provided access mode whose type is {@link AccessMode#type(Class)}
+     *  with {@link Object}, the primitive values are boxed and unboxed.
+     *
+     * @param mode The access mode
+     * @return The handle, or null if the access mode is not supported by the field
+     */
+    public @Nullable MethodHandle getGenericHandle(AccessMode mode) {
+        return genericHandles[mode.ordinal()];
+    }
+
+    /**
+     * The supported access modes, named after the ones of {@code VarHandle}.
+     *
+     * @author SNWCreations
+     * @since 0.1.0
+     */
+    public enum AccessMode {
+        GET_VOLATILE,
+        SET_VOLATILE,
+        GET_OPAQUE,
+        SET_OPAQUE,
+        GET_ACQUIRE,
+        SET_RELEASE,
+        COMPARE_AND_SET,
+        GET_AND_SET,
+        GET_AND_ADD;
+
+        /**
+         * Return true if this access mode writes the field.
+         *
+         * @return True if this access mode writes the field
+         */
+        public boolean isWrite() {
+            return this != GET_VOLATILE && this != GET_OPAQUE && this != GET_ACQUIRE;
+        }
+
+        /**
+         * Get the type of the handles of this access mode.
+         *
+         * @param valueType The type of the values
+         * @return The type, the first parameter of it is the object which holds the field
+         */
+        public MethodType type(Class<?> valueType) {
+            switch (this) {
+                case GET_VOLATILE:
+                case GET_OPAQUE:
+                case GET_ACQUIRE:
+                    return MethodType.methodType(valueType, Object.class);
+                case SET_VOLATILE:
+                case SET_OPAQUE:
+                case SET_RELEASE:
+                    return MethodType.methodType(void.class, Object.class, valueType);
+                case COMPARE_AND_SET:
+                    return MethodType.methodType(boolean.class, Object.class, valueType, valueType);
+                default: // GET_AND_SET, GET_AND_ADD
+                    return MethodType.methodType(valueType, Object.class, valueType);
+            }
+        }
+    }
+}
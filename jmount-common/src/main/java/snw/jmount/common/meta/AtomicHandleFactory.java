@@ -0,0 +1,54 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.meta;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+
+/**
+ * Creates the handles for {@link AtomicFieldHandles}. <br>
+ * The implementation is chosen when running, not when compiling:
+ *  {@link VarHandleFactory} is used if {@code java.lang.invoke.VarHandle} is available (Java 9+),
+ *  otherwise {@link UnsafeHandleFactory} is used.
+ *  Neither of them refers to the APIs they use at compile time, so the same class files work on all versions.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+abstract class AtomicHandleFactory {
+
+    /**
+     * Create the factory of the provided field.
+     *
+     * @param field The field
+     * @return The factory
+     */
+    static AtomicHandleFactory of(Field field) {
+        return VarHandleFactory.isAvailable() ? new VarHandleFactory(field) : new UnsafeHandleFactory(field);
+    }
+
+    /**
+     * Create the handle of the provided access mode, the type of it is {@link AtomicFieldHandles.AccessMode#type}
+     *  with the field type, without the first parameter if the field is static.
+     *
+     * @param mode The access mode
+     * @return The handle, or null if the access mode is not supported by the field
+     */
+    abstract @Nullable MethodHandle create(AtomicFieldHandles.AccessMode mode);
+}
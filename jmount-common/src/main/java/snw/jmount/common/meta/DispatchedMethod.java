@@ -0,0 +1,451 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.meta;
+
+import org.jetbrains.annotations.Nullable;
+import snw.jmount.Mount;
+import snw.jmount.annotation.RuntimeType;
+import snw.jmount.common.MountedObject;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+
+import static java.lang.invoke.MethodType.methodType;
+import static snw.jmount.common.util.CommonUtils.primitiveToWrapper;
+import static snw.jmount.common.util.MountUtils.isMP;
+
+/**
+ * A Mount Point method with {@link RuntimeType} parameters which matches more than one overload
+ *  in the underlying class, the overload is selected by the classes of the arguments on each call. <br>
+ * Only the {@link RuntimeType} parameters whose types are neither primitive types nor Mount Point types are
+ *  dispatched on. The most specific overload accepting the classes of the arguments is selected,
+ *  the first one wins if there is more than one, and an {@link IllegalArgumentException} is thrown
+ *  if none of them accepts them.
+ *  The Mount Point instances passed to these parameters are classified by the classes of their origin objects,
+ *  and the origin objects are passed to the selected overload. <br>
+ * The selections are cached by the classes of the arguments. Each call site checks up to
+ *  {@link #POLYMORPHIC_LIMIT} combinations of classes inline, the later ones are looked up in a shared table,
+ *  which has a fixed amount of slots, and references the classes weakly, so it never keeps their class loaders alive.
+ *  A combination of classes replaces the one in the same slot, and the calls with a cached combination
+ *  allocate nothing.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public final class DispatchedMethod extends ResolvedMember {
+    /**
+     * The maximum amount of the combinations of argument classes checked inline by each call site.
+     */
+    public static final int POLYMORPHIC_LIMIT = 4;
+    // the amount of the slots in the shared table, a power of two
+    private static final int MEGAMORPHIC_SLOTS = 256;
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    // (Class, Object)boolean
+    private static final MethodHandle IS_CLASS;
+    // (Site, Object[])Object
+    private static final MethodHandle RELINK;
+    // (Site, Object[])MethodHandle
+    private static final MethodHandle SELECT;
+    // (Site, Object)MethodHandle
+    private static final MethodHandle SELECT_ONE;
+
+    static {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            IS_CLASS = lookup.findStatic(DispatchedMethod.class, "isClass",
+                    methodType(boolean.class, Class.class, Object.class));
+            RELINK = lookup.findVirtual(Site.class, "relink", methodType(Object.class, Object[].class));
+            SELECT = lookup.findVirtual(Site.class, "select", methodType(MethodHandle.class, Object[].class));
+            SELECT_ONE = lookup.findVirtual(Site.class, "selectOne", methodType(MethodHandle.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final ResolvedMethod[] candidates;
+    private final int[] positions; // the indexes of the parameters dispatched on
+    private final Class<?>[][] candidateTypes; // the parameter types of each candidate at the positions
+    // the polymorphic cache of the reflective calls, the newest entry comes last
+    private volatile Entry[] entries = NO_ENTRIES;
+    // the shared table of the combinations beyond the polymorphic caches, created when it is needed
+    private volatile @Nullable WeakEntry[] megamorphic;
+
+    public DispatchedMethod(Method mountPointMethod, Method[] underlyingMethods) {
+        super(mountPointMethod);
+        this.positions = getDispatchedPositions(mountPointMethod);
+        this.candidates = new ResolvedMethod[underlyingMethods.length];
+        this.candidateTypes = new Class<?>[underlyingMethods.length][];
+        for (int i = 0; i < underlyingMethods.length; i++) {
+            candidates[i] = new ResolvedMethod(mountPointMethod, underlyingMethods[i]);
+            final Class<?>[] parameterTypes = underlyingMethods[i].getParameterTypes();
+            final Class<?>[] types = new Class<?>[positions.length];
+            for (int j = 0; j < positions.length; j++) {
+                types[j] = parameterTypes[positions[j]];
+            }
+            candidateTypes[i] = types;
+        }
+    }
+
+    /**
+     * Return true if the overload of the provided Mount Point method should be selected at runtime,
+     *  which means it has at least one {@link RuntimeType} parameter which is dispatched on.
+     *
+     * @param mountPointMethod The Mount Point method
+     * @return True if the overload should be selected at runtime
+     */
+    public static boolean isDispatched(Method mountPointMethod) {
+        return getDispatchedPositions(mountPointMethod).length > 0;
+    }
+
+    private static int[] getDispatchedPositions(Method mountPointMethod) {
+        final Parameter[] parameters = mountPointMethod.getParameters();
+        int[] result = new int[parameters.length];
+        int count = 0;
+        for (int i = 0; i < parameters.length; i++) {
+            final Class<?> type = parameters[i].getType();
+            if (parameters[i].isAnnotationPresent(RuntimeType.class) && !type.isPrimitive() && !isMP(type)) {
+                result[count++] = i;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    @Override
+    public Object invoke(Mount mount, Object origin, @Nullable Object[] args) throws Throwable {
+        // args is never null here, the method has at least one parameter
+        final Entry[] cached = entries;
+        for (int i = cached.length - 1; i >= 0; i--) {
+            if (matches(cached[i].classes, args, 0)) {
+                return candidates[cached[i].index].invoke(mount, origin, args);
+            }
+        }
+        final int index;
+        if (cached.length < POLYMORPHIC_LIMIT) {
+            final Class<?>[] classes = classesOf(args, 0);
+            index = choose(classes);
+            synchronized (this) {
+                final Entry[] current = entries;
+                if (current.length < POLYMORPHIC_LIMIT) {
+                    final Entry[] updated = Arrays.copyOf(current, current.length + 1);
+                    updated[current.length] = new Entry(classes, index);
+                    entries = updated;
+                }
+            }
+        } else {
+            index = lookUp(args, 0);
+        }
+        return candidates[index].invoke(mount, origin, args);
+    }
+
+    /**
+     * Create the handle which selects the overload on each call, see {@link MemberLinker#link}. <br>
+     * The handle is backed by its own call site, which checks the classes of the arguments seen before inline,
+     *  so the JIT compiler can inline the selected overloads.
+     *
+     * @param mount The mount object which resolved the method
+     * @param type The type of the handle, the origin object is its first parameter
+     * @return The handle
+     */
+    public MethodHandle link(Mount mount, MethodType type) {
+        return new Site(mount, type).callSite.dynamicInvoker();
+    }
+
+    /**
+     * Get the overloads which can be selected.
+     *
+     * @return The overloads
+     */
+    public ResolvedMethod[] getCandidates() {
+        return candidates.clone();
+    }
+
+    // the classes of the arguments at the dispatched positions, the offset is the index of the first argument
+    private Class<?>[] classesOf(Object[] args, int offset) {
+        final Class<?>[] result = new Class<?>[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            result[i] = classOf(args[positions[i] + offset]);
+        }
+        return result;
+    }
+
+    // compare the classes of the arguments with the provided ones without allocating anything
+    private boolean matches(Class<?>[] classes, Object[] args, int offset) {
+        for (int i = 0; i < positions.length; i++) {
+            if (classOf(args[positions[i] + offset]) != classes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // select the overload in the shared table, the offset is the index of the first argument
+    private int lookUp(Object[] args, int offset) {
+        final WeakEntry[] table = megamorphicTable();
+        int hash = 0;
+        for (int position : positions) {
+            final Class<?> type = classOf(args[position + offset]);
+            hash = hash * 31 + (type != null ? type.hashCode() : 0);
+        }
+        final int slot = slot(hash);
+        final WeakEntry cached = table[slot]; // the entries are immutable, so the race is benign
+        if (cached != null && cached.matches(args, offset)) {
+            return cached.index;
+        }
+        return cache(table, slot, classesOf(args, offset));
+    }
+
+    // the same as above, for the methods dispatched on only one parameter
+    private int lookUp(@Nullable Object arg) {
+        final WeakEntry[] table = megamorphicTable();
+        final Class<?> type = classOf(arg);
+        final int slot = slot(type != null ? type.hashCode() : 0);
+        final WeakEntry cached = table[slot];
+        if (cached != null && cached.matches(type)) {
+            return cached.index;
+        }
+        return cache(table, slot, new Class<?>[]{type});
+    }
+
+    private WeakEntry[] megamorphicTable() {
+        WeakEntry[] table = megamorphic;
+        if (table == null) {
+            synchronized (this) {
+                table = megamorphic;
+                if (table == null) {
+                    table = new WeakEntry[MEGAMORPHIC_SLOTS];
+                    megamorphic = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    private static int slot(int hash) {
+        return (hash ^ (hash >>> 16)) & (MEGAMORPHIC_SLOTS - 1);
+    }
+
+    private int cache(WeakEntry[] table, int slot, Class<?>[] classes) {
+        final int index = choose(classes);
+        table[slot] = new WeakEntry(classes, index); // replace the combination in the slot
+        return index;
+    }
+
+    // select the most specific overload accepting the provided classes, null means the argument is null
+    private int choose(Class<?>[] classes) throws IllegalArgumentException {
+        int result = -1;
+        for (int i = 0; i < candidates.length; i++) {
+            if (accepts(candidateTypes[i], classes) && (result < 0 || isMoreSpecific(candidateTypes[i], candidateTypes[result]))) {
+                result = i;
+            }
+        }
+        if (result < 0) {
+            final Method[] underlyingMethods = new Method[candidates.length];
+            for (int i = 0; i < candidates.length; i++) {
+                underlyingMethods[i] = candidates[i].getUnderlyingMethod();
+            }
+            throw new IllegalArgumentException(
+                    "None of the overloads of " + mountPointMethod + " accepts the argument classes "
+                            + Arrays.toString(classes) + ", the candidates are " + Arrays.toString(underlyingMethods)
+            );
+        }
+        return result;
+    }
+
+    private static boolean accepts(Class<?>[] types, Class<?>[] classes) {
+        for (int i = 0; i < types.length; i++) {
+            final Class<?> type = types[i];
+            if (classes[i] == null ? type.isPrimitive() : !wrap(type).isAssignableFrom(classes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isMoreSpecific(Class<?>[] types, Class<?>[] than) {
+        boolean narrower = false;
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == than[i]) {
+                continue;
+            }
+            if (!wrap(than[i]).isAssignableFrom(wrap(types[i]))) {
+                return false;
+            }
+            narrower = true;
+        }
+        return narrower;
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? primitiveToWrapper(type) : type;
+    }
+
+    private static boolean isClass(@Nullable Class<?> expected, @Nullable Object arg) {
+        return classOf(arg) == expected;
+    }
+
+    // the Mount Point instances are classified by their origin objects, which are passed to the overloads
+    private static @Nullable Class<?> classOf(@Nullable Object arg) {
+        if (arg == null) {
+            return null;
+        }
+        return arg instanceof MountedObject ? ((MountedObject) arg).jmount$origin().getClass() : arg.getClass();
+    }
+
+    private static final class Entry {
+        final Class<?>[] classes;
+        final int index;
+
+        Entry(Class<?>[] classes, int index) {
+            this.classes = classes;
+            this.index = index;
+        }
+    }
+
+    // an entry of the shared table, the classes are referenced weakly, and null means the argument is null
+    private final class WeakEntry {
+        final @Nullable WeakReference<?>[] classes;
+        final int index;
+
+        WeakEntry(Class<?>[] classes, int index) {
+            this.classes = new WeakReference<?>[classes.length];
+            for (int i = 0; i < classes.length; i++) {
+                this.classes[i] = classes[i] != null ? new WeakReference<>(classes[i]) : null;
+            }
+            this.index = index;
+        }
+
+        // never matches after any of the classes is unloaded, so the slot is replaced
+        boolean matches(Object[] args, int offset) {
+            for (int i = 0; i < positions.length; i++) {
+                if (!matches(i, classOf(args[positions[i] + offset]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean matches(@Nullable Class<?> type) {
+            return matches(0, type);
+        }
+
+        private boolean matches(int i, @Nullable Class<?> type) {
+            final WeakReference<?> expected = classes[i];
+            return type != null ? expected != null && expected.get() == type : expected == null;
+        }
+    }
+
+    // the inline cache of a linked handle, it grows a chain of guards until it becomes megamorphic
+    private final class Site {
+        final Mount mount;
+        final MethodType type;
+        final MutableCallSite callSite;
+        final MethodHandle[] targets; // the linked candidates, created on demand
+        int size; // the amount of the guards in the chain
+
+        Site(Mount mount, MethodType type) {
+            this.mount = mount;
+            this.type = type;
+            this.targets = new MethodHandle[candidates.length];
+            this.callSite = new MutableCallSite(type);
+            callSite.setTarget(collect(RELINK.bindTo(this), type));
+        }
+
+        Object relink(Object[] args) throws Throwable {
+            final Class<?>[] classes = classesOf(args, 1); // the origin object comes first
+            final MethodHandle target;
+            synchronized (this) {
+                if (size < POLYMORPHIC_LIMIT) {
+                    target = target(choose(classes));
+                    callSite.setTarget(guard(classes, target, callSite.getTarget()));
+                    size++;
+                } else {
+                    target = target(lookUp(args, 1));
+                    if (size == POLYMORPHIC_LIMIT) { // megamorphic, stop growing the chain
+                        callSite.setTarget(MethodHandles.foldArguments(MethodHandles.exactInvoker(type), selector()));
+                        size++;
+                    }
+                }
+            }
+            return target.invokeWithArguments(args);
+        }
+
+        MethodHandle select(Object[] args) {
+            return linked(lookUp(args, 1));
+        }
+
+        MethodHandle selectOne(@Nullable Object arg) {
+            return linked(lookUp(arg));
+        }
+
+        // the handle selecting the target of each call, it only takes the dispatched argument if there is one,
+        // so it does not collect the arguments into an array
+        private MethodHandle selector() {
+            final MethodType selectorType = type.changeReturnType(MethodHandle.class);
+            if (positions.length != 1) {
+                return collect(SELECT.bindTo(this), selectorType);
+            }
+            final int position = positions[0] + 1; // the origin object comes first
+            final MethodHandle selectOne = SELECT_ONE.bindTo(this)
+                    .asType(methodType(MethodHandle.class, type.parameterType(position)));
+            return MethodHandles.dropArguments(
+                    MethodHandles.dropArguments(selectOne, 0, type.parameterList().subList(0, position)),
+                    position + 1, type.parameterList().subList(position + 1, type.parameterCount()));
+        }
+
+        private MethodHandle linked(int index) {
+            final MethodHandle target = targets[index]; // the handles are immutable, so the race is benign
+            if (target != null) {
+                return target;
+            }
+            synchronized (this) {
+                return target(index);
+            }
+        }
+
+        private MethodHandle target(int index) {
+            MethodHandle result = targets[index];
+            if (result == null) {
+                result = MemberLinker.linkMember(mount, mountPointMethod, candidates[index], type);
+                targets[index] = result;
+            }
+            return result;
+        }
+
+        private MethodHandle guard(Class<?>[] classes, MethodHandle target, MethodHandle fallback) {
+            MethodHandle result = target;
+            for (int i = positions.length - 1; i >= 0; i--) {
+                final int position = positions[i] + 1;
+                MethodHandle test = IS_CLASS.bindTo(classes[i])
+                        .asType(methodType(boolean.class, type.parameterType(position)));
+                test = MethodHandles.dropArguments(test, 0, type.parameterList().subList(0, position));
+                result = MethodHandles.guardWithTest(test, result, fallback);
+            }
+            return result;
+        }
+
+        private MethodHandle collect(MethodHandle handle, MethodType type) {
+            return handle.asCollector(Object[].class, type.parameterCount()).asType(type);
+        }
+    }
+}
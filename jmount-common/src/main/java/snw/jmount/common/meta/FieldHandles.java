@@ -0,0 +1,167 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.meta;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static snw.jmount.common.util.ReflectUtils.unreflectGetter;
+import static snw.jmount.common.util.ReflectUtils.unreflectSetter;
+
+/**
+ * The handles for accessing a field, created once for each field and shared by all accessors. <br>
+ * None of the handles is bound, the first argument of them is always the object which holds the field,
+ *  it is ignored if the field is static, so the callers don't need to distinguish static fields.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public final class FieldHandles {
+    private static final ClassValue<Map<String, FieldHandles>> CACHE = new ClassValue<Map<String, FieldHandles>>() {
+        @Override
+        protected Map<String, FieldHandles> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final Field field;
+    private final MethodHandle getter;
+    private final @Nullable MethodHandle setter;
+    // (Object)T where T is the field type
+    private final MethodHandle exactGetter;
+    // (Object, T)void where T is the field type
+    private final @Nullable MethodHandle exactSetter;
+    // (Object)Object
+    private final MethodHandle genericGetter;
+    // (Object, Object)void
+    private final @Nullable MethodHandle genericSetter;
+    // created on first use, most fields are never accessed atomically
+    private volatile @Nullable AtomicFieldHandles atomicHandles;
+
+    private FieldHandles(Field field) {
+        this.field = field;
+        this.getter = unreflectGetter(field);
+        this.setter = unreflectSetter(field);
+        final boolean isStatic = Modifier.isStatic(field.getModifiers());
+        // adapt the direct handles only once, an adapter of another adapter is slower to invoke
+        final MethodHandle receiverGetter = isStatic ? MethodHandles.dropArguments(getter, 0, Object.class) : getter;
+        this.exactGetter = receiverGetter.asType(MethodType.methodType(field.getType(), Object.class));
+        this.genericGetter = receiverGetter.asType(MethodType.methodType(Object.class, Object.class));
+        if (setter != null) {
+            final MethodHandle receiverSetter = isStatic ? MethodHandles.dropArguments(setter, 0, Object.class) : setter;
+            this.exactSetter = receiverSetter.asType(MethodType.methodType(void.class, Object.class, field.getType()));
+            this.genericSetter = receiverSetter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } else {
+            this.exactSetter = null;
+            this.genericSetter = null;
+        }
+    }
+
+    /**
+     * Get the handles of the provided field.
+     *
+     * @param field The field
+     * @return The handles
+     */
+    public static FieldHandles of(Field field) {
+        return CACHE.get(field.getDeclaringClass()).computeIfAbsent(field.getName(), i -> new FieldHandles(field));
+    }
+
+    /**
+     * Get the field.
+     *
+     * @return The field
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Get the getter handle created from the field directly, the object is not taken if the field is static.
+     *
+     * @return The getter handle
+     */
+    public MethodHandle getGetter() {
+        return getter;
+    }
+
+    /**
+     * Get the setter handle created from the field directly, the object is not taken if the field is static.
+     *
+     * @return The setter handle, or null if the field is final
+     */
+    public @Nullable MethodHandle getSetter() {
+        return setter;
+    }
+
+    /**
+     * Get the getter handle whose type is {@code (Object)T}, where {@code T} is the field type.
+     *
+     * @return The getter handle
+     */
+    public MethodHandle getExactGetter() {
+        return exactGetter;
+    }
+
+    /**
+     * Get the setter handle whose type is {@code (Object, T)void}, where {@code T} is the field type.
+     *
+     * @return The setter handle, or null if the field is final
+     */
+    public @Nullable MethodHandle getExactSetter() {
+        return exactSetter;
+    }
+
+    /**
+     * Get the getter handle whose type is {@code (Object)Object}, the primitive values are boxed.
+     *
+     * @return The getter handle
+     */
+    public MethodHandle getGenericGetter() {
+        return genericGetter;
+    }
+
+    /**
+     * Get the setter handle whose type is {@code (Object, Object)void}, the primitive values are unboxed.
+     *
+     * @return The setter handle, or null if the field is final
+     */
+    public @Nullable MethodHandle getGenericSetter() {
+        return genericSetter;
+    }
+
+    /**
+     * Get the handles for accessing the field atomically, they are created if this is the first time to request them.
+     *
+     * @return The atomic handles
+     */
+    public AtomicFieldHandles getAtomicHandles() {
+        AtomicFieldHandles result = atomicHandles;
+        if (result == null) {
+            // creating them twice on race is harmless
+            atomicHandles = result = new AtomicFieldHandles(field);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.meta;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * The index of the members of an origin class, built once for each class when it is requested the first time. <br>
+ * The methods are grouped by their name and parameter count, and the fields are indexed by their name.
+ * Both of them include the members inherited from the superclasses,
+ *  the members declared by a subclass come first (or hide the fields with the same name).
+ *
+ * <p>The index only depends on the class itself, so it is shared by all {@link snw.jmount.Mount} objects.</p>
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public final class MemberIndex {
+    private static final Method[] NO_METHODS = new Method[0];
+    private static final Constructor<?>[] NO_CONSTRUCTORS = new Constructor<?>[0];
+    private static final ClassValue<MemberIndex> INDEXES = new ClassValue<MemberIndex>() {
+        @Override
+        protected MemberIndex computeValue(Class<?> type) {
+            return new MemberIndex(type);
+        }
+    };
+
+    private final Map<MethodKey, Method[]> methods;
+    private final Map<String, Field> fields;
+    private final Constructor<?>[][] constructors; // indexed by parameter count
+
+    private MemberIndex(Class<?> clazz) {
+        final Map<MethodKey, List<Method>> methods = new HashMap<>();
+        final Map<String, Field> fields = new HashMap<>();
+        for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+            for (Method m : c.getDeclaredMethods()) {
+                methods.computeIfAbsent(new MethodKey(m.getName(), m.getParameterCount()), k -> new ArrayList<>(1))
+                        .add(m);
+            }
+            for (Field f : c.getDeclaredFields()) {
+                fields.putIfAbsent(f.getName(), f);
+            }
+        }
+        this.methods = new HashMap<>(methods.size() * 4 / 3 + 1);
+        for (Map.Entry<MethodKey, List<Method>> entry : methods.entrySet()) {
+            this.methods.put(entry.getKey(), entry.getValue().toArray(NO_METHODS));
+        }
+        this.fields = fields;
+
+        final Constructor<?>[] declaredConstructors = clazz.getDeclaredConstructors();
+        int maxParameterCount = -1;
+        for (Constructor<?> constructor : declaredConstructors) {
+            maxParameterCount = Math.max(maxParameterCount, constructor.getParameterCount());
+        }
+        this.constructors = new Constructor<?>[maxParameterCount + 1][];
+        for (int i = 0; i < constructors.length; i++) {
+            final int parameterCount = i;
+            constructors[i] = Arrays.stream(declaredConstructors)
+                    .filter(c -> c.getParameterCount() == parameterCount)
+                    .toArray(Constructor<?>[]::new);
+        }
+    }
+
+    /**
+     * Get the index of the provided class.
+     *
+     * @param clazz The class
+     * @return The index
+     */
+    public static MemberIndex of(Class<?> clazz) {
+        return INDEXES.get(clazz);
+    }
+
+    /**
+     * Get the methods with the provided name and parameter count, including the inherited ones.
+     *
+     * @param name The method name
+     * @param parameterCount The parameter count
+     * @return The methods, the ones declared by the subclasses come first. Do not modify it
+     */
+    public Method[] getMethods(String name, int parameterCount) {
+        final Method[] result = methods.get(new MethodKey(name, parameterCount));
+        return result != null ? result : NO_METHODS;
+    }
+
+    /**
+     * Get the field with the provided name, including the inherited ones.
+     *
+     * @param name The field name
+     * @return The field, or null if not found
+     */
+    public @Nullable Field getField(String name) {
+        return fields.get(name);
+    }
+
+    /**
+     * Get the constructors declared by the class with the provided parameter count.
+     *
+     * @param parameterCount The parameter count
+     * @return The constructors. Do not modify it
+     */
+    public Constructor<?>[] getConstructors(int parameterCount) {
+        return parameterCount < constructors.length ? constructors[parameterCount] : NO_CONSTRUCTORS;
+    }
+
+    private static final class MethodKey {
+        private final String name;
+        private final int parameterCount;
+
+        MethodKey(String name, int parameterCount) {
+            this.name = name;
+            this.parameterCount = parameterCount;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MethodKey)) {
+                return false;
+            }
+            final MethodKey that = (MethodKey) o;
+            return parameterCount == that.parameterCount && name.equals(that.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + parameterCount;
+        }
+    }
+}
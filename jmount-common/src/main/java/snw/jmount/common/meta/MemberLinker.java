@@ -0,0 +1,230 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.meta;
+
+import org.jetbrains.annotations.Nullable;
+import snw.jmount.Mount;
+import snw.jmount.common.AbstractMount;
+import snw.jmount.common.event.MountEventSink;
+import snw.jmount.common.event.MountEvents;
+import snw.jmount.common.metrics.MetricsRecorder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.invoke.MethodType.methodType;
+import static snw.jmount.common.meta.ArgumentConverter.acceptsMountPoints;
+import static snw.jmount.common.util.MountUtils.isMP;
+
+/**
+ * Links the Mount Point methods to their resolved members as method handles,
+ *  used by the Mount Point classes which are generated at runtime or at compile time. <br>
+ * The handles call the underlying members directly if the declared types can be converted statically,
+ *  so the JIT compiler can inline them, otherwise they fall back to {@link ResolvedMember#invoke}.
+ * The methods whose overloads are selected at runtime are linked by {@link DispatchedMethod#link}.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public final class MemberLinker {
+    // (Mount, Object)Object
+    private static final MethodHandle UNMOUNT;
+    // (Mount, Object)Object
+    private static final MethodHandle UNMOUNT_IF_MOUNTED;
+    // (Mount, Class, Object)Object
+    private static final MethodHandle MOUNT_VALUE;
+    // (ResolvedMethod, Mount, Object)Object
+    private static final MethodHandle MOUNT_RESULT;
+    // (ResolvedMember, Mount, Object, Object[])Object
+    private static final MethodHandle INVOKE;
+    // (LongAdder)void
+    private static final MethodHandle INCREMENT;
+    // (MethodHandle, Method, Object[])Object
+    private static final MethodHandle TRACE;
+
+    static {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            UNMOUNT = lookup.findVirtual(ArgumentConverter.class, "convert",
+                    methodType(Object.class, Mount.class, Object.class)).bindTo(ArgumentConverter.UNMOUNT);
+            UNMOUNT_IF_MOUNTED = lookup.findVirtual(ArgumentConverter.class, "convert",
+                    methodType(Object.class, Mount.class, Object.class)).bindTo(ArgumentConverter.UNMOUNT_IF_MOUNTED);
+            MOUNT_VALUE = lookup.findStatic(MemberLinker.class, "mountValue",
+                    methodType(Object.class, Mount.class, Class.class, Object.class));
+            MOUNT_RESULT = lookup.findVirtual(ResolvedMethod.class, "mountResult",
+                    methodType(Object.class, Mount.class, Object.class));
+            INVOKE = lookup.findVirtual(ResolvedMember.class, "invoke",
+                    methodType(Object.class, Mount.class, Object.class, Object[].class));
+            INCREMENT = lookup.findVirtual(LongAdder.class, "increment", methodType(void.class));
+            TRACE = lookup.findStatic(MemberLinker.class, "trace",
+                    methodType(Object.class, MethodHandle.class, Method.class, Object[].class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private MemberLinker() {
+    }
+
+    /**
+     * Create the handle which calls the provided member on behalf of the provided Mount Point method.
+     *
+     * @param mount The mount object which resolved the member
+     * @param mountPointMethod The Mount Point method
+     * @param member The resolved member, or the exception thrown while resolving it
+     * @param type The type of the handle, the origin object is its first parameter
+     * @return The handle, which throws the provided exception if the member is an exception
+     */
+    public static MethodHandle link(Mount mount, Method mountPointMethod, Object member, MethodType type) {
+        MethodHandle handle = linkMember(mount, mountPointMethod, member, type);
+        if (MountEvents.tracesInvocations()) {
+            handle = MethodHandles.insertArguments(TRACE, 0, handle, mountPointMethod)
+                    .asCollector(Object[].class, type.parameterCount())
+                    .asType(type);
+        }
+        final MetricsRecorder metrics = mount instanceof AbstractMount ? ((AbstractMount) mount).metrics() : null;
+        if (metrics == null) {
+            return handle;
+        }
+        // count the calls before calling the member, the handle is not wrapped if the metrics are disabled
+        return MethodHandles.foldArguments(handle, INCREMENT.bindTo(metrics.invocationCounter(mountPointMethod)));
+    }
+
+    // link without counting the calls, used by the dispatched methods to link their overloads
+    static MethodHandle linkMember(Mount mount, Method mountPointMethod, Object member, MethodType type) {
+        if (member instanceof Throwable) { // fail on the call, just like the reflective implementation
+            final Throwable failure = (Throwable) member;
+            final MethodHandle thrower = MethodHandles.throwException(type.returnType(), failure.getClass())
+                    .bindTo(failure);
+            return MethodHandles.dropArguments(thrower, 0, type.parameterList());
+        }
+        if (member instanceof DispatchedMethod) {
+            return ((DispatchedMethod) member).link(mount, type);
+        }
+        MethodHandle target = null;
+        try {
+            if (member instanceof ResolvedMethod) {
+                target = direct(mount, (ResolvedMethod) member);
+            } else if (member instanceof ResolvedField) {
+                target = field(mount, (ResolvedField) member);
+            }
+            if (target != null) {
+                return target.asType(type);
+            }
+        } catch (WrongMethodTypeException ignored) {
+            // the declared types cannot be converted statically, use the generic one and check them on the call
+        }
+        return generic(mount, (ResolvedMember) member, mountPointMethod.getParameterCount()).asType(type);
+    }
+
+    private static MethodHandle direct(Mount mount, ResolvedMethod resolved) {
+        MethodHandle handle = resolved.getHandle();
+        if (Modifier.isStatic(resolved.getUnderlyingMethod().getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        final Method mpMethod = resolved.getMountPointMethod();
+        final Class<?>[] mpParamTypes = mpMethod.getParameterTypes();
+        final Class<?>[] paramTypes = new Class<?>[mpParamTypes.length + 1];
+        paramTypes[0] = Object.class;
+        for (int i = 0; i < mpParamTypes.length; i++) {
+            final Class<?> paramType = mpParamTypes[i];
+            paramTypes[i + 1] = isMP(paramType) || acceptsMountPoints(paramType) ? Object.class : paramType;
+        }
+        final Class<?> returnType = resolved.returnsMountPoint() ? Object.class : mpMethod.getReturnType();
+        handle = handle.asType(methodType(returnType, paramTypes));
+        for (int i = 0; i < mpParamTypes.length; i++) {
+            if (isMP(mpParamTypes[i])) {
+                handle = MethodHandles.filterArguments(handle, i + 1, unmount(mount));
+            } else if (acceptsMountPoints(mpParamTypes[i])) {
+                handle = MethodHandles.filterArguments(handle, i + 1, unmountIfMounted(mount));
+            }
+        }
+        if (resolved.returnsMountPoint()) {
+            handle = MethodHandles.filterReturnValue(handle,
+                    MethodHandles.insertArguments(MOUNT_RESULT, 0, resolved, mount));
+        }
+        return handle;
+    }
+
+    private static @Nullable MethodHandle field(Mount mount, ResolvedField resolved) {
+        final Method mpMethod = resolved.getMountPointMethod();
+        switch (resolved.getKind()) {
+            case GETTER: {
+                MethodHandle handle = resolved.getHandles().getExactGetter();
+                final Class<?> mountType = resolved.getMountType();
+                handle = handle.asType(methodType(mountType != null ? Object.class : mpMethod.getReturnType(), Object.class));
+                if (mountType != null) {
+                    handle = MethodHandles.filterReturnValue(handle,
+                            MethodHandles.insertArguments(MOUNT_VALUE, 0, mount, mountType));
+                }
+                return handle;
+            }
+            case SETTER: {
+                MethodHandle handle = resolved.getHandles().getExactSetter();
+                if (handle == null) {
+                    return null; // final field, let the generic one throw
+                }
+                final Class<?> valueType = mpMethod.getParameterTypes()[0];
+                final boolean mayBeMounted = acceptsMountPoints(valueType);
+                handle = handle.asType(methodType(void.class, Object.class,
+                        isMP(valueType) || mayBeMounted ? Object.class : valueType));
+                if (isMP(valueType)) {
+                    handle = MethodHandles.filterArguments(handle, 1, unmount(mount));
+                } else if (mayBeMounted) {
+                    handle = MethodHandles.filterArguments(handle, 1, unmountIfMounted(mount));
+                }
+                return handle;
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static MethodHandle generic(Mount mount, ResolvedMember member, int paramCount) {
+        return MethodHandles.insertArguments(INVOKE, 0, member, mount)
+                .asCollector(Object[].class, paramCount);
+    }
+
+    // the calls are traced only if it is enabled explicitly, so the cost of the generic call is acceptable
+    private static Object trace(MethodHandle target, Method mountPointMethod, Object[] args) throws Throwable {
+        final Object event = MountEvents.begin(MountEventSink.Kind.INVOCATION);
+        try {
+            return target.invokeWithArguments(args);
+        } finally {
+            if (event != null) {
+                MountEvents.end(event, mountPointMethod.getDeclaringClass(), args[0].getClass(), mountPointMethod.getName());
+            }
+        }
+    }
+
+    private static MethodHandle unmount(Mount mount) {
+        return MethodHandles.insertArguments(UNMOUNT, 0, mount);
+    }
+
+    private static MethodHandle unmountIfMounted(Mount mount) {
+        return MethodHandles.insertArguments(UNMOUNT_IF_MOUNTED, 0, mount);
+    }
+
+    private static Object mountValue(Mount mount, Class<?> mountType, @Nullable Object value) {
+        return value != null ? mount.mount(mountType, value) : null;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.meta;
+
+import org.jetbrains.annotations.Nullable;
+import snw.jmount.Mount;
+import snw.jmount.common.AbstractMount;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static snw.jmount.common.util.MountUtils.*;
+
+/**
+ * The compiled metadata of a Mount Point type, including its origin class and the resolved members. <br>
+ * The members are resolved only once by {@link #resolve(Mount)}, then they can be reused by every mounted object.
+ *
+ * <p>This object never holds the {@link Mount} used for resolving,
+ *  so it is safe to be stored in a {@link ClassValue} owned by that {@link Mount}.</p>
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public final class MountPointMetadata {
+    private final Class<?> mountPointClass;
+    private final Class<?> originClass;
+    private volatile Map<Method, ResolvedMember> members; // null if not resolved yet
+    // the methods which are not declared by the Mount Point itself, e.g. inherited from the super interfaces
+    private final Map<Method, ResolvedMember> extraMembers = new ConcurrentHashMap<>();
+
+    public MountPointMetadata(Class<?> mountPointClass, Class<?> originClass) {
+        this.mountPointClass = mountPointClass;
+        this.originClass = originClass;
+    }
+
+    /**
+     * Get the Mount Point interface class.
+     *
+     * @return The Mount Point class
+     */
+    public Class<?> getMountPointClass() {
+        return mountPointClass;
+    }
+
+    /**
+     * Get the origin class of the Mount Point.
+     *
+     * @return The origin class
+     */
+    public Class<?> getOriginClass() {
+        return originClass;
+    }
+
+    /**
+     * Return true if the members of the Mount Point have been resolved.
+     *
+     * @return The resolution status
+     */
+    public boolean isResolved() {
+        return members != null;
+    }
+
+    /**
+     * Verify the Mount Point and resolve all its members if they are not resolved yet.
+     *
+     * @param mount The mount object used for looking up the underlying things
+     * @return This object
+     * @throws IllegalArgumentException Thrown if a field accessor is invalid
+     * @throws NoSuchElementException Thrown if a non-default method cannot be resolved
+     */
+    public MountPointMetadata resolve(Mount mount) throws IllegalArgumentException, NoSuchElementException {
+        if (members == null) {
+            final Method[] methods = mountPointClass.getDeclaredMethods();
+            final Map<Method, ResolvedMember> result = new HashMap<>(methods.length * 2);
+            for (Method m : methods) {
+                try {
+                    result.put(m, resolveMember(m, originClass, mount));
+                } catch (NoSuchElementException e) {
+                    if (!m.isDefault()) {
+                        throw e; // rethrow
+                    }
+                }
+            }
+            members = Collections.unmodifiableMap(result);
+            final ResolutionCache cache = resolutionCache(mount);
+            if (cache != null) {
+                cache.flush();
+            }
+        }
+        return this;
+    }
+
+    private static @Nullable ResolutionCache resolutionCache(Mount mount) {
+        return mount instanceof AbstractMount ? ((AbstractMount) mount).getResolutionCache() : null;
+    }
+
+    private static ResolvedMember resolveMember(Method m, Class<?> originClass, Mount mount) {
+        final ResolutionCache cache = resolutionCache(mount);
+        if (isFieldAccessor(m)) {
+            Field field = cache != null ? cache.getField(m, originClass) : null;
+            if (field == null) {
+                field = checkIfIsFieldAccessor(m, originClass, mount);
+                if (cache != null) {
+                    cache.putField(m, originClass, field);
+                }
+            }
+            return new ResolvedField(m, field);
+        }
+        if (DispatchedMethod.isDispatched(m)) {
+            final Method[] methods = convertMethods(m, originClass, mount);
+            // not cached, the cache only keeps one method for each Mount Point method
+            return methods.length > 1 ? new DispatchedMethod(m, methods) : new ResolvedMethod(m, methods[0]);
+        }
+        Method method = cache != null ? cache.getMethod(m, originClass) : null;
+        if (method == null) {
+            method = convertMethod(m, originClass, mount);
+            if (cache != null) {
+                cache.putMethod(m, originClass, method);
+            }
+        }
+        return new ResolvedMethod(m, method);
+    }
+
+    /**
+     * Get the resolved member of the provided Mount Point method.
+     *
+     * @param mountPointMethod The method declared in the Mount Point interface
+     * @return The resolved member, or null if the method is not declared in this Mount Point,
+     *          or it is a default method which cannot be resolved
+     * @throws IllegalStateException Thrown if the members are not resolved yet
+     */
+    public @Nullable ResolvedMember getMember(Method mountPointMethod) throws IllegalStateException {
+        return getMembers0().get(mountPointMethod);
+    }
+
+    /**
+     * Get the resolved member of the provided Mount Point method,
+     *  resolve it if the method is not declared by this Mount Point (e.g. inherited from another Mount Point).
+     *
+     * @param mountPointMethod The method called on the Mount Point instance
+     * @param mount The mount object used for looking up the underlying things
+     * @return The resolved member
+     * @throws IllegalArgumentException Thrown if the method is not declared by a valid Mount Point
+     * @throws NoSuchElementException Thrown if the method cannot be resolved
+     * @throws IllegalStateException Thrown if the members are not resolved yet
+     */
+    public ResolvedMember getMember(Method mountPointMethod, Mount mount)
+            throws IllegalArgumentException, NoSuchElementException, IllegalStateException {
+        final ResolvedMember member = getMember(mountPointMethod);
+        if (member != null) {
+            return member;
+        }
+        ResolvedMember resolved = extraMembers.get(mountPointMethod);
+        if (resolved == null) {
+            resolved = extraMembers.computeIfAbsent(mountPointMethod, m ->
+                    resolveMember(m, mount.findOriginClass(m.getDeclaringClass()), mount));
+            final ResolutionCache cache = resolutionCache(mount);
+            if (cache != null) {
+                cache.flush();
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Get all resolved members of the Mount Point.
+     *
+     * @return The resolved members
+     * @throws IllegalStateException Thrown if the members are not resolved yet
+     */
+    public Collection<ResolvedMember> getMembers() throws IllegalStateException {
+        return getMembers0().values();
+    }
+
+    private Map<Method, ResolvedMember> getMembers0() {
+        final Map<Method, ResolvedMember> members = this.members;
+        if (members == null) {
+            throw new IllegalStateException("The members of " + mountPointClass + " are not resolved yet");
+        }
+        return members;
+    }
+}
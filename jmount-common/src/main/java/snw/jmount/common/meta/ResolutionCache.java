@@ -0,0 +1,385 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.meta;
+
+import org.jetbrains.annotations.Nullable;
+import snw.jmount.NameTransformer;
+import snw.jmount.annotation.Redirect;
+import snw.jmount.common.mapping.CachingNameTransformer;
+
+import java.io.*;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+
+import static snw.jmount.common.util.MountUtils.getTargetFieldNameWithPattern;
+import static snw.jmount.common.util.MountUtils.isFieldAccessor;
+
+/**
+ * The persistent cache of the members resolved for the Mount Point methods, so the next run of the application
+ *  does not need to transform the names and scan the overloads again. <br>
+ * The entries are keyed by the Mount Point methods (including the targets in their annotations),
+ *  and they are validated against the fingerprints of the Mount Point class, the origin class and its superclasses,
+ *  which are computed from their class files (the CRC in the JAR, or the size and modification time).
+ * The stale entries are ignored, and replaced when the members are resolved again. <br>
+ * The whole cache is discarded if it is created by another type of name transformer,
+ *  or the {@link NameTransformer#fingerprint() fingerprint} of the name transformer is changed
+ *  (e.g. another mapping file is used). <br>
+ * The file is a binary log, the entries resolved for each Mount Point are appended by {@link #flush()},
+ *  which opens the file and closes it again, and the file is compacted when it is loaded.
+ * Writing is best-effort, the errors are ignored.
+ * The file should not be used by two processes at the same time.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public final class ResolutionCache {
+    private static final int MAGIC = 0x4A4D5243; // "JMRC"
+    private static final int VERSION = 2;
+    private static final byte METHOD = 0;
+    private static final byte FIELD = 1;
+    // the fingerprint of the classes whose class files cannot be found, they are never cached
+    private static final long UNKNOWN = 0;
+
+    // the fingerprint of each class, including its superclasses
+    private static final ClassValue<Long> FINGERPRINTS = new ClassValue<Long>() {
+        @Override
+        protected Long computeValue(Class<?> type) {
+            final long own = classFileFingerprint(type);
+            if (own == UNKNOWN) {
+                return UNKNOWN;
+            }
+            final Class<?> superclass = type.getSuperclass();
+            if (superclass == null) {
+                return own;
+            }
+            final long parent = FINGERPRINTS.get(superclass);
+            return parent == UNKNOWN ? UNKNOWN : mix(own, parent);
+        }
+    };
+
+    private final Path file;
+    private final String transformer;
+    private final long transformerFingerprint;
+    private final Map<String, Entry> entries;
+    // the records not written to the file yet
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(); // guarded by this
+    private boolean broken; // guarded by this
+
+    private ResolutionCache(Path file, String transformer, long transformerFingerprint, Map<String, Entry> entries) {
+        this.file = file;
+        this.transformer = transformer;
+        this.transformerFingerprint = transformerFingerprint;
+        this.entries = entries;
+    }
+
+    /**
+     * Load the cache from the provided file, or create an empty one if the file does not exist,
+     *  or it is unreadable.
+     *
+     * @param file The cache file
+     * @param nameTransformer The name transformer of the mount object which uses the cache
+     * @return The cache
+     */
+    public static ResolutionCache load(Path file, NameTransformer nameTransformer) {
+        final String transformer = (nameTransformer instanceof CachingNameTransformer
+                ? ((CachingNameTransformer) nameTransformer).getDelegate() : nameTransformer).getClass().getName();
+        final long transformerFingerprint = nameTransformer.fingerprint();
+        final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        boolean compact = true;
+        try {
+            final ByteArrayInputStream bytes = new ByteArrayInputStream(Files.readAllBytes(file));
+            final DataInputStream in = new DataInputStream(bytes);
+            if (in.readInt() == MAGIC && in.readInt() == VERSION
+                    && in.readUTF().equals(transformer) && in.readLong() == transformerFingerprint) {
+                int records = 0;
+                try {
+                    while (bytes.available() > 0) {
+                        entries.put(in.readUTF(), Entry.read(in));
+                        records++;
+                    }
+                    compact = records > entries.size() * 2;
+                } catch (IOException e) {
+                    // incomplete record written by a crashed process, keep the previous ones
+                }
+            }
+        } catch (NoSuchFileException e) {
+            compact = false; // created on the first write
+        } catch (IOException e) {
+            // unreadable, start again
+        }
+        final ResolutionCache cache = new ResolutionCache(file, transformer, transformerFingerprint, entries);
+        if (compact) {
+            cache.rewrite();
+        }
+        return cache;
+    }
+
+    /**
+     * Get the cached method resolved for the provided Mount Point method.
+     *
+     * @param mountPointMethod The Mount Point method
+     * @param originClass The origin class of the Mount Point which declares the method
+     * @return The cached method, or null if it is not cached or the entry is stale
+     */
+    public @Nullable Method getMethod(Method mountPointMethod, Class<?> originClass) {
+        final Member member = get(mountPointMethod, originClass, METHOD);
+        return member instanceof Method ? (Method) member : null;
+    }
+
+    /**
+     * Get the cached field resolved for the provided Mount Point method.
+     *
+     * @param mountPointMethod The field accessor method of the Mount Point
+     * @param originClass The origin class of the Mount Point which declares the method
+     * @return The cached field, or null if it is not cached or the entry is stale
+     */
+    public @Nullable Field getField(Method mountPointMethod, Class<?> originClass) {
+        final Member member = get(mountPointMethod, originClass, FIELD);
+        return member instanceof Field ? (Field) member : null;
+    }
+
+    /**
+     * Remember the method resolved for the provided Mount Point method.
+     *
+     * @param mountPointMethod The Mount Point method
+     * @param originClass The origin class of the Mount Point which declares the method
+     * @param resolved The resolved method, declared by the origin class or one of its superclasses
+     */
+    public void putMethod(Method mountPointMethod, Class<?> originClass, Method resolved) {
+        put(mountPointMethod, originClass, METHOD, resolved,
+                MethodType.methodType(resolved.getReturnType(), resolved.getParameterTypes()).toMethodDescriptorString());
+    }
+
+    /**
+     * Remember the field resolved for the provided Mount Point method.
+     *
+     * @param mountPointMethod The field accessor method of the Mount Point
+     * @param originClass The origin class of the Mount Point which declares the method
+     * @param resolved The resolved field, declared by the origin class or one of its superclasses
+     */
+    public void putField(Method mountPointMethod, Class<?> originClass, Field resolved) {
+        put(mountPointMethod, originClass, FIELD, resolved, resolved.getType().getName());
+    }
+
+    private @Nullable Member get(Method mountPointMethod, Class<?> originClass, byte kind) {
+        final Entry entry = entries.get(key(mountPointMethod));
+        if (entry == null || entry.kind != kind || !entry.originClass.equals(originClass.getName())) {
+            return null;
+        }
+        final long mountPointFingerprint = FINGERPRINTS.get(mountPointMethod.getDeclaringClass());
+        if (mountPointFingerprint == UNKNOWN || mountPointFingerprint != entry.mountPointFingerprint) {
+            return null;
+        }
+        final long fingerprint = FINGERPRINTS.get(originClass);
+        if (fingerprint == UNKNOWN || fingerprint != entry.fingerprint) {
+            return null;
+        }
+        Class<?> declaringClass = originClass;
+        while (declaringClass != null && !declaringClass.getName().equals(entry.declaringClass)) {
+            declaringClass = declaringClass.getSuperclass();
+        }
+        if (declaringClass == null) {
+            return null;
+        }
+        try {
+            if (kind == METHOD) {
+                final MethodType type = MethodType.fromMethodDescriptorString(
+                        entry.descriptor, declaringClass.getClassLoader());
+                final Method method = declaringClass.getDeclaredMethod(entry.name, type.parameterArray());
+                return method.getReturnType() == type.returnType() ? method : null;
+            }
+            final Field field = declaringClass.getDeclaredField(entry.name);
+            return field.getType().getName().equals(entry.descriptor) ? field : null;
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            return null; // the members have been changed, resolve again
+        }
+    }
+
+    private void put(Method mountPointMethod, Class<?> originClass, byte kind, Member resolved, String descriptor) {
+        final long mountPointFingerprint = FINGERPRINTS.get(mountPointMethod.getDeclaringClass());
+        final long fingerprint = FINGERPRINTS.get(originClass);
+        if (mountPointFingerprint == UNKNOWN || fingerprint == UNKNOWN) {
+            return;
+        }
+        final String key = key(mountPointMethod);
+        final Entry entry = new Entry(mountPointFingerprint, originClass.getName(), fingerprint, kind,
+                resolved.getDeclaringClass().getName(), resolved.getName(), descriptor);
+        entries.put(key, entry);
+        append(key, entry);
+    }
+
+    private synchronized void append(String key, Entry entry) {
+        if (broken) {
+            return;
+        }
+        try {
+            final DataOutputStream data = new DataOutputStream(pending);
+            data.writeUTF(key);
+            entry.write(data);
+        } catch (IOException e) {
+            broken = true; // never thrown by ByteArrayOutputStream
+        }
+    }
+
+    /**
+     * Append the entries remembered since the last call to the file.
+     * The file is opened and closed by each call, nothing is kept open between the calls.
+     */
+    public synchronized void flush() {
+        if (broken || pending.size() == 0) {
+            return;
+        }
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream(pending.size() + 64);
+            if (!Files.exists(file) || Files.size(file) == 0) {
+                writeHeader(new DataOutputStream(bytes));
+            }
+            pending.writeTo(bytes);
+            try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                out.write(bytes.toByteArray()); // a single write, so the records are either complete or at the end
+            }
+        } catch (IOException e) {
+            broken = true;
+        } finally {
+            pending.reset();
+        }
+    }
+
+    private synchronized void rewrite() {
+        final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream data = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                writeHeader(data);
+                for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                    data.writeUTF(entry.getKey());
+                    entry.getValue().write(data);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            broken = true;
+        }
+    }
+
+    private void writeHeader(DataOutputStream data) throws IOException {
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeUTF(transformer);
+        data.writeLong(transformerFingerprint);
+    }
+
+    // the signature of the method and the targets in its annotations, the changes to them invalidate the entry
+    private static String key(Method mountPointMethod) {
+        final StringBuilder builder = new StringBuilder(64)
+                .append(mountPointMethod.getDeclaringClass().getName()).append('.')
+                .append(mountPointMethod.getName())
+                .append(MethodType.methodType(mountPointMethod.getReturnType(), mountPointMethod.getParameterTypes())
+                        .toMethodDescriptorString());
+        if (isFieldAccessor(mountPointMethod)) {
+            builder.append(" field ").append(getTargetFieldNameWithPattern(mountPointMethod))
+                    .append(' ').append(mountPointMethod.getGenericReturnType().getTypeName());
+        } else {
+            final Redirect redirect = mountPointMethod.getAnnotation(Redirect.class);
+            if (redirect != null) {
+                builder.append(" redirect ").append(redirect.value());
+            }
+        }
+        return builder.toString();
+    }
+
+    private static long classFileFingerprint(Class<?> type) {
+        final ClassLoader loader = type.getClassLoader();
+        if (loader == null) {
+            return mix(type.getName().hashCode(), System.getProperty("java.version").hashCode());
+        }
+        final URL url = loader.getResource(type.getName().replace('.', '/') + ".class");
+        if (url == null) {
+            return UNKNOWN;
+        }
+        try {
+            switch (url.getProtocol()) {
+                case "jar": {
+                    final JarEntry entry = ((JarURLConnection) url.openConnection()).getJarEntry();
+                    return entry != null ? mix(entry.getCrc(), entry.getSize()) : UNKNOWN;
+                }
+                case "file": {
+                    final Path path = Paths.get(url.toURI());
+                    return mix(Files.getLastModifiedTime(path).toMillis(), Files.size(path));
+                }
+                default:
+                    return UNKNOWN;
+            }
+        } catch (Exception e) {
+            return UNKNOWN;
+        }
+    }
+
+    private static long mix(long a, long b) {
+        final long result = (a * 0x9E3779B97F4A7C15L) ^ b;
+        return result != UNKNOWN ? result : 1;
+    }
+
+    private static final class Entry {
+        final long mountPointFingerprint;
+        final String originClass;
+        final long fingerprint;
+        final byte kind;
+        final String declaringClass;
+        final String name;
+        // the method descriptor, or the type name of the field
+        final String descriptor;
+
+        Entry(long mountPointFingerprint, String originClass, long fingerprint, byte kind,
+              String declaringClass, String name, String descriptor) {
+            this.mountPointFingerprint = mountPointFingerprint;
+            this.originClass = originClass;
+            this.fingerprint = fingerprint;
+            this.kind = kind;
+            this.declaringClass = declaringClass;
+            this.name = name;
+            this.descriptor = descriptor;
+        }
+
+        static Entry read(DataInputStream in) throws IOException {
+            return new Entry(in.readLong(), in.readUTF(), in.readLong(), in.readByte(),
+                    in.readUTF(), in.readUTF(), in.readUTF());
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeLong(mountPointFingerprint);
+            out.writeUTF(originClass);
+            out.writeLong(fingerprint);
+            out.writeByte(kind);
+            out.writeUTF(declaringClass);
+            out.writeUTF(name);
+            out.writeUTF(descriptor);
+        }
+    }
+}
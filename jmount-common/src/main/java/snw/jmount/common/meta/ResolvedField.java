@@ -0,0 +1,157 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.meta;
+
+import org.jetbrains.annotations.Nullable;
+import snw.jmount.Mount;
+import snw.jmount.common.handle.MethodHandleBasedFieldAccessor;
+import snw.jmount.handle.FieldAccessor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+import static snw.jmount.common.util.MountUtils.convertOrReturn;
+import static snw.jmount.common.util.MountUtils.isMP;
+
+/**
+ * A Mount Point field accessor method which is resolved to a field in the underlying class.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public class ResolvedField extends ResolvedMember {
+    protected final Field underlyingField;
+    protected final FieldHandles handles;
+    protected final Kind kind;
+    // the Mount Point type of the result, or the type argument of the FieldAccessor
+    protected final @Nullable Class<?> mountType;
+
+    public ResolvedField(Method mountPointMethod, Field underlyingField) {
+        super(mountPointMethod);
+        this.underlyingField = underlyingField;
+        this.handles = FieldHandles.of(underlyingField);
+
+        final Type genericReturnType = mountPointMethod.getGenericReturnType();
+        if (genericReturnType instanceof ParameterizedType
+                && ((ParameterizedType) genericReturnType).getRawType() == FieldAccessor.class) {
+            final Type typeArgument = ((ParameterizedType) genericReturnType).getActualTypeArguments()[0];
+            this.kind = Kind.ACCESSOR;
+            this.mountType = typeArgument instanceof Class ? (Class<?>) typeArgument : null;
+        } else if (mountPointMethod.getReturnType() == void.class) {
+            this.kind = Kind.SETTER;
+            this.mountType = null;
+        } else {
+            this.kind = Kind.GETTER;
+            this.mountType = isMP(mountPointMethod.getReturnType()) ? mountPointMethod.getReturnType() : null;
+        }
+    }
+
+    @Override
+    public Object invoke(Mount mount, Object origin, @Nullable Object[] args) throws Throwable {
+        switch (kind) {
+            case ACCESSOR:
+                return new MethodHandleBasedFieldAccessor<>(mount, origin, mountType, handles);
+            case SETTER:
+                final MethodHandle genericSetter = handles.getGenericSetter();
+                if (genericSetter == null) {
+                    throw new IllegalStateException("The underlying field is final");
+                }
+                // noinspection DataFlowIssue - a setter always has one argument
+                genericSetter.invokeExact(origin, convertOrReturn(args[0], mount));
+                return null;
+            default:
+                final Object value = (Object) handles.getGenericGetter().invokeExact(origin);
+                return mountType != null && value != null ? mount.mount(mountType, value) : value;
+        }
+    }
+
+    /**
+     * Get the underlying field.
+     *
+     * @return The underlying field
+     */
+    public Field getUnderlyingField() {
+        return underlyingField;
+    }
+
+    /**
+     * Get the getter handle of the underlying field. The handle is not bound.
+     *
+     * @return The getter handle
+     */
+    public MethodHandle getGetter() {
+        return handles.getGetter();
+    }
+
+    /**
+     * Get the setter handle of the underlying field. The handle is not bound.
+     *
+     * @return The setter handle, or null if the underlying field is final
+     */
+    public @Nullable MethodHandle getSetter() {
+        return handles.getSetter();
+    }
+
+    /**
+     * Get the shared handles of the underlying field.
+     *
+     * @return The handles
+     */
+    public FieldHandles getHandles() {
+        return handles;
+    }
+
+    /**
+     * Get the Mount Point type of the field value.
+     *
+     * @return The Mount Point type returned by a getter, the type argument of the returned {@link FieldAccessor},
+     *          or null if the value will not be mounted
+     */
+    public @Nullable Class<?> getMountType() {
+        return mountType;
+    }
+
+    /**
+     * Get the kind of the field accessor method.
+     *
+     * @return The kind
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * The kinds of field accessor methods.
+     */
+    public enum Kind {
+        /**
+         * The method returns a {@link FieldAccessor}.
+         */
+        ACCESSOR,
+        /**
+         * The method returns the value of the field.
+         */
+        GETTER,
+        /**
+         * The method sets the value of the field.
+         */
+        SETTER
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.meta;
+
+import org.jetbrains.annotations.Nullable;
+import snw.jmount.Mount;
+
+import java.lang.reflect.Method;
+
+/**
+ * A Mount Point method which is already resolved to its underlying member. <br>
+ * The resolved members are shared by all objects mounted as the same Mount Point type,
+ *  so they only take the origin object as an argument instead of binding it.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public abstract class ResolvedMember {
+    protected final Method mountPointMethod;
+
+    protected ResolvedMember(Method mountPointMethod) {
+        this.mountPointMethod = mountPointMethod;
+    }
+
+    /**
+     * Get the method declared in the Mount Point interface.
+     *
+     * @return The Mount Point method
+     */
+    public Method getMountPointMethod() {
+        return mountPointMethod;
+    }
+
+    /**
+     * Perform the Mount Point method on the provided origin object.
+     *
+     * @param mount The mount object which mounted the origin object
+     * @param origin The origin object
+     * @param args The arguments passed to the Mount Point method, or null if there is no argument.
+     *             The array is owned by the caller of this method, it may be overwritten with the converted arguments
+     * @return The result, already mounted if the Mount Point method returns a Mount Point type
+     * @throws Throwable Thrown if the underlying member throws anything
+     */
+    public abstract Object invoke(Mount mount, Object origin, @Nullable Object[] args) throws Throwable;
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.meta;
+
+import org.jetbrains.annotations.Nullable;
+import snw.jmount.Mount;
+import snw.jmount.common.AbstractMount;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import static snw.jmount.common.util.MountUtils.isMP;
+import static snw.jmount.common.util.ReflectUtils.perform;
+
+/**
+ * A Mount Point method which is resolved to a method in the underlying class.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public class ResolvedMethod extends ResolvedMember {
+    private static final Object[] NO_ARGS = new Object[0];
+
+    protected final Method underlyingMethod;
+    protected final MethodHandle handle;
+    // (Object origin, Object[] args)Object, the origin is dropped if the underlying method is static
+    protected final MethodHandle spreadHandle;
+    protected final Class<?>[] paramTypes;
+    // null if no argument needs to be converted
+    protected final ArgumentConverter[] converters;
+    protected final Class<?> returnType;
+    protected final boolean returnsMountPoint;
+
+    public ResolvedMethod(Method mountPointMethod, Method underlyingMethod) {
+        super(mountPointMethod);
+        this.underlyingMethod = underlyingMethod;
+        underlyingMethod.setAccessible(true);
+        this.handle = perform(() -> MethodHandles.lookup().unreflect(underlyingMethod));
+        this.paramTypes = mountPointMethod.getParameterTypes();
+        this.converters = ArgumentConverter.forParameters(paramTypes);
+        this.returnType = mountPointMethod.getReturnType();
+        this.returnsMountPoint = isMP(returnType);
+        MethodHandle receiverFirst = handle;
+        if (Modifier.isStatic(underlyingMethod.getModifiers())) {
+            receiverFirst = MethodHandles.dropArguments(receiverFirst, 0, Object.class);
+        }
+        this.spreadHandle = receiverFirst
+                .asType(MethodType.genericMethodType(paramTypes.length + 1))
+                .asSpreader(Object[].class, paramTypes.length);
+    }
+
+    @Override
+    public Object invoke(Mount mount, Object origin, @Nullable Object[] args) throws Throwable {
+        // args is null if the Mount Point method does not have any parameter
+        if (args == null) {
+            args = NO_ARGS;
+        } else {
+            ArgumentConverter.convertAll(converters, mount, args);
+        }
+        final Object result = (Object) spreadHandle.invokeExact(origin, args);
+        return returnsMountPoint ? mountResult(mount, result) : result;
+    }
+
+    /**
+     * Mount the result returned by the underlying method. <br>
+     * The mounted objects are cached by the mount object if it is an {@link AbstractMount}, see {@link AbstractMount#mountCached}.
+     *
+     * @param mount The mount object used for mounting
+     * @param result The result returned by the underlying method
+     * @return The Mount Point instance, or null if the result is null
+     * @throws IllegalStateException Thrown if the Mount Point method does not return a Mount Point type
+     */
+    public @Nullable Object mountResult(Mount mount, @Nullable Object result) throws IllegalStateException {
+        if (!returnsMountPoint) {
+            throw new IllegalStateException(mountPointMethod + " does not return a Mount Point type");
+        }
+        if (result == null) {
+            return null;
+        }
+        if (mount instanceof AbstractMount) {
+            return ((AbstractMount) mount).mountCached(returnType, result);
+        }
+        return mount.mount(returnType, result);
+    }
+
+    /**
+     * Return true if the Mount Point method returns a Mount Point type.
+     *
+     * @return True if the result will be mounted
+     */
+    public boolean returnsMountPoint() {
+        return returnsMountPoint;
+    }
+
+    /**
+     * Get the underlying method.
+     *
+     * @return The underlying method
+     */
+    public Method getUnderlyingMethod() {
+        return underlyingMethod;
+    }
+
+    /**
+     * Get the handle of the underlying method. <br>
+     * The handle is not bound, so the origin object is its first argument unless the method is static.
+     *
+     * @return The handle
+     */
+    public MethodHandle getHandle() {
+        return handle;
+    }
+}
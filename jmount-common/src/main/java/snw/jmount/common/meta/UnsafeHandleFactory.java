@@ -0,0 +1,263 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.meta;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+import static java.lang.invoke.MethodType.methodType;
+import static snw.jmount.common.util.ReflectUtils.perform;
+
+/**
+ * The {@link AtomicHandleFactory} for Java 8, based on {@code sun.misc.Unsafe}. <br>
+ * {@code Unsafe} is only accessed reflectively in this class, so nothing refers to the internal API
+ *  at compile time. It has no opaque or acquire modes, so the volatile ones are used instead. <br>
+ * It only updates {@code int}, {@code long} and reference fields atomically, so the other types are updated by
+ *  compare-and-set loops, like {@code VarHandle} does: {@code float} and {@code double} over their raw bits,
+ *  and the narrower types over the aligned {@code int} word which contains the field.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+final class UnsafeHandleFactory extends AtomicHandleFactory {
+    private static final Class<?> UNSAFE_CLASS = perform(() -> Class.forName("sun.misc.Unsafe"));
+    private static final Object UNSAFE = perform(() -> {
+        final Field theUnsafe = UNSAFE_CLASS.getDeclaredField("theUnsafe");
+        theUnsafe.setAccessible(true);
+        return theUnsafe.get(null);
+    });
+    // (Object, long)int
+    private static final MethodHandle GET_INT_VOLATILE = unsafe("getIntVolatile", methodType(int.class, Object.class, long.class));
+    // (Object, long, int, int)boolean
+    private static final MethodHandle CAS_INT = unsafe("compareAndSwapInt",
+            methodType(boolean.class, Object.class, long.class, int.class, int.class));
+    // (Object, long)long
+    private static final MethodHandle GET_LONG_VOLATILE = unsafe("getLongVolatile",
+            methodType(long.class, Object.class, long.class));
+    // (Object, long, long, long)boolean
+    private static final MethodHandle CAS_LONG = unsafe("compareAndSwapLong",
+            methodType(boolean.class, Object.class, long.class, long.class, long.class));
+    private static final boolean BIG_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
+    private static final MethodHandle REQUIRE_NON_NULL = perform(() -> MethodHandles.lookup().findStatic(
+            Objects.class, "requireNonNull", methodType(Object.class, Object.class)
+    ));
+
+    private final Field field;
+    private final boolean isStatic;
+    // the object and the offset which Unsafe takes
+    private final @Nullable Object base;
+    private final long offset;
+    // the name suffix of the Unsafe methods, and the type of the values they take
+    private final String suffix;
+    private final Class<?> unsafeType;
+
+    UnsafeHandleFactory(Field field) {
+        this.field = field;
+        this.isStatic = Modifier.isStatic(field.getModifiers());
+        if (isStatic) {
+            perform(() -> unsafe("ensureClassInitialized", methodType(void.class, Class.class))
+                    .invoke(field.getDeclaringClass()));
+            this.base = perform(() -> unsafe("staticFieldBase", methodType(Object.class, Field.class)).invoke(field));
+            this.offset = perform(() -> (long) unsafe("staticFieldOffset", methodType(long.class, Field.class))
+                    .invoke(field));
+        } else {
+            this.base = null;
+            this.offset = perform(() -> (long) unsafe("objectFieldOffset", methodType(long.class, Field.class))
+                    .invoke(field));
+        }
+        final Class<?> type = field.getType();
+        if (type.isPrimitive()) {
+            this.suffix = Character.toUpperCase(type.getName().charAt(0)) + type.getName().substring(1);
+            this.unsafeType = type;
+        } else {
+            this.suffix = "Object";
+            this.unsafeType = Object.class;
+        }
+    }
+
+    @Override
+    @Nullable MethodHandle create(AtomicFieldHandles.AccessMode mode) {
+        if (mode.isWrite() && Modifier.isFinal(field.getModifiers())) {
+            return null;
+        }
+        final boolean updatable = unsafeType == int.class || unsafeType == long.class || unsafeType == Object.class;
+        final String name;
+        switch (mode) {
+            case GET_VOLATILE:
+            case GET_OPAQUE:
+            case GET_ACQUIRE:
+                name = "get" + suffix + "Volatile";
+                break;
+            case SET_VOLATILE:
+            case SET_OPAQUE:
+                name = "put" + suffix + "Volatile";
+                break;
+            case SET_RELEASE:
+                name = updatable ? "putOrdered" + suffix : "put" + suffix + "Volatile";
+                break;
+            case COMPARE_AND_SET:
+                name = updatable ? "compareAndSwap" + suffix : null;
+                break;
+            case GET_AND_SET:
+                name = updatable ? "getAndSet" + suffix : null;
+                break;
+            default: // GET_AND_ADD
+                name = unsafeType == int.class || unsafeType == long.class ? "getAndAdd" + suffix : null;
+                break;
+        }
+        if (name == null) {
+            final MethodHandle handle = update(mode);
+            return handle != null ? adapt(handle, mode) : null;
+        }
+        // (Object, long, values...)
+        final MethodHandle handle = unsafe(name, mode.type(unsafeType).insertParameterTypes(1, long.class));
+        return adapt(MethodHandles.insertArguments(handle, 1, offset), mode);
+    }
+
+    // the atomic updates of the types not supported by Unsafe, (Object, values...), null if not supported
+    private @Nullable MethodHandle update(AtomicFieldHandles.AccessMode mode) {
+        final Class<?> type = field.getType();
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        if (type == float.class || type == double.class) {
+            final boolean isFloat = type == float.class;
+            final Class<?> bits = isFloat ? int.class : long.class;
+            final MethodHandle toBits = perform(() -> isFloat
+                    ? lookup.findStatic(Float.class, "floatToRawIntBits", methodType(int.class, float.class))
+                    : lookup.findStatic(Double.class, "doubleToRawLongBits", methodType(long.class, double.class)));
+            final MethodHandle fromBits = perform(() -> isFloat
+                    ? lookup.findStatic(Float.class, "intBitsToFloat", methodType(float.class, int.class))
+                    : lookup.findStatic(Double.class, "longBitsToDouble", methodType(double.class, long.class)));
+            switch (mode) {
+                case COMPARE_AND_SET: // compares the raw bits, like VarHandle
+                    return MethodHandles.filterArguments(
+                            MethodHandles.insertArguments(isFloat ? CAS_INT : CAS_LONG, 1, offset), 1, toBits, toBits
+                    );
+                case GET_AND_SET:
+                    return MethodHandles.filterReturnValue(MethodHandles.filterArguments(MethodHandles.insertArguments(
+                            unsafe("getAndSet" + (isFloat ? "Int" : "Long"), mode.type(bits).insertParameterTypes(1, long.class)),
+                            1, offset
+                    ), 1, toBits), fromBits);
+                default: // GET_AND_ADD
+                    return MethodHandles.insertArguments(perform(() -> lookup.findStatic(
+                            UnsafeHandleFactory.class, isFloat ? "getAndAddFloat" : "getAndAddDouble",
+                            mode.type(type).insertParameterTypes(1, long.class)
+                    )), 1, offset);
+            }
+        }
+        // boolean, byte, short and char
+        if (mode == AtomicFieldHandles.AccessMode.GET_AND_ADD && type == boolean.class) {
+            return null; // not a number, VarHandle does not support it either
+        }
+        final int size = type == boolean.class || type == byte.class ? 1 : 2;
+        final long wordOffset = offset & ~3L;
+        final int index = (int) (offset & 3L);
+        final int shift = (BIG_ENDIAN ? 4 - index - size : index) * 8;
+        final int mask = (1 << (size * 8)) - 1;
+        final String name = mode == AtomicFieldHandles.AccessMode.COMPARE_AND_SET ? "compareAndSetNarrow"
+                : mode == AtomicFieldHandles.AccessMode.GET_AND_SET ? "getAndSetNarrow" : "getAndAddNarrow";
+        final MethodHandle handle = perform(() -> lookup.findStatic(UnsafeHandleFactory.class, name,
+                mode.type(int.class).insertParameterTypes(1, long.class, int.class, int.class)));
+        // the values are converted to their bits and back, the boolean values are 1 and 0
+        return MethodHandles.explicitCastArguments(
+                MethodHandles.insertArguments(handle, 1, wordOffset, shift, mask), mode.type(type)
+        );
+    }
+
+    private static boolean compareAndSetNarrow(Object o, long offset, int shift, int mask,
+                                               int expectedValue, int newValue) throws Throwable {
+        while (true) {
+            final int word = (int) GET_INT_VOLATILE.invokeExact(o, offset);
+            if ((word >>> shift & mask) != (expectedValue & mask)) {
+                return false;
+            }
+            final int newWord = word & ~(mask << shift) | (newValue & mask) << shift;
+            if ((boolean) CAS_INT.invokeExact(o, offset, word, newWord)) {
+                return true;
+            }
+        }
+    }
+
+    private static int getAndSetNarrow(Object o, long offset, int shift, int mask, int newValue) throws Throwable {
+        while (true) {
+            final int word = (int) GET_INT_VOLATILE.invokeExact(o, offset);
+            final int newWord = word & ~(mask << shift) | (newValue & mask) << shift;
+            if ((boolean) CAS_INT.invokeExact(o, offset, word, newWord)) {
+                return word >>> shift & mask;
+            }
+        }
+    }
+
+    // the bits of the sum are the same as the ones of the sum of the narrow types
+    private static int getAndAddNarrow(Object o, long offset, int shift, int mask, int delta) throws Throwable {
+        while (true) {
+            final int word = (int) GET_INT_VOLATILE.invokeExact(o, offset);
+            final int newWord = word & ~(mask << shift) | ((word >>> shift) + delta & mask) << shift;
+            if ((boolean) CAS_INT.invokeExact(o, offset, word, newWord)) {
+                return word >>> shift & mask;
+            }
+        }
+    }
+
+    private static float getAndAddFloat(Object o, long offset, float delta) throws Throwable {
+        while (true) {
+            final int bits = (int) GET_INT_VOLATILE.invokeExact(o, offset);
+            final float value = Float.intBitsToFloat(bits);
+            if ((boolean) CAS_INT.invokeExact(o, offset, bits, Float.floatToRawIntBits(value + delta))) {
+                return value;
+            }
+        }
+    }
+
+    private static double getAndAddDouble(Object o, long offset, double delta) throws Throwable {
+        while (true) {
+            final long bits = (long) GET_LONG_VOLATILE.invokeExact(o, offset);
+            final double value = Double.longBitsToDouble(bits);
+            if ((boolean) CAS_LONG.invokeExact(o, offset, bits, Double.doubleToRawLongBits(value + delta))) {
+                return value;
+            }
+        }
+    }
+
+    // (Object, values...) to the exact type of the access mode
+    private MethodHandle adapt(MethodHandle handle, AtomicFieldHandles.AccessMode mode) {
+        if (isStatic) {
+            handle = MethodHandles.insertArguments(handle, 0, base);
+        } else {
+            // Unsafe does not check the object, a wrong one can corrupt the memory
+            final Class<?> owner = field.getDeclaringClass();
+            handle = MethodHandles.filterArguments(
+                    handle.asType(handle.type().changeParameterType(0, owner)),
+                    0, REQUIRE_NON_NULL.asType(methodType(owner, Object.class))
+            );
+        }
+        // the reference values must be casted to the field type for the same reason
+        final MethodType exactType = mode.type(field.getType());
+        return handle.asType(isStatic ? exactType.dropParameterTypes(0, 1) : exactType);
+    }
+
+    // the method of Unsafe bound to the instance
+    private static MethodHandle unsafe(String name, MethodType type) {
+        return perform(() -> MethodHandles.lookup().findVirtual(UNSAFE_CLASS, name, type)).bindTo(UNSAFE);
+    }
+}
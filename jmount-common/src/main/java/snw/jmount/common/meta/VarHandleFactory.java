@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.meta;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import static java.lang.invoke.MethodType.methodType;
+import static snw.jmount.common.util.ReflectUtils.perform;
+
+/**
+ * The {@link AtomicHandleFactory} based on {@code VarHandle}, which supports all the access modes
+ *  that the field type supports. <br>
+ * The {@code VarHandle} API is looked up reflectively, so this class can be compiled for Java 8.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+final class VarHandleFactory extends AtomicHandleFactory {
+    private static final @Nullable Api API = Api.load();
+
+    private final Field field;
+    private final Object varHandle;
+
+    VarHandleFactory(Field field) {
+        final Api api = API;
+        if (api == null) {
+            throw new IllegalStateException("VarHandle is not available");
+        }
+        this.field = field;
+        // unreflectVarHandle ignores the accessible flag, so a lookup with the private access is required
+        this.varHandle = perform(() -> {
+            final MethodHandles.Lookup lookup = (MethodHandles.Lookup) api.privateLookupIn
+                    .invokeExact(field.getDeclaringClass(), MethodHandles.lookup());
+            return (Object) api.unreflectVarHandle.invokeExact(lookup, field);
+        });
+    }
+
+    static boolean isAvailable() {
+        return API != null;
+    }
+
+    @Override
+    @Nullable MethodHandle create(AtomicFieldHandles.AccessMode mode) {
+        final Api api = API;
+        assert api != null;
+        final Object accessMode = api.accessMode(mode);
+        // the write modes of final fields are not supported, too
+        if (!perform(() -> (boolean) api.isAccessModeSupported.invokeExact(varHandle, accessMode))) {
+            return null;
+        }
+        final MethodHandle handle = perform(() -> (MethodHandle) api.toMethodHandle.invokeExact(varHandle, accessMode));
+        return Modifier.isStatic(field.getModifiers())
+                ? handle
+                : handle.asType(handle.type().changeParameterType(0, Object.class));
+    }
+
+    // The handles of the VarHandle API, typed with Object instead of the classes which don't exist on Java 8
+    private static final class Api {
+        private final Object[] accessModes;
+        // (Class, Lookup)Lookup
+        final MethodHandle privateLookupIn;
+        // (Lookup, Field)Object
+        final MethodHandle unreflectVarHandle;
+        // (Object, Object)boolean
+        final MethodHandle isAccessModeSupported;
+        // (Object, Object)MethodHandle
+        final MethodHandle toMethodHandle;
+
+        private Api(Class<?> varHandleClass, Class<?> accessModeClass) throws ReflectiveOperationException {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            final AtomicFieldHandles.AccessMode[] modes = AtomicFieldHandles.AccessMode.values();
+            this.accessModes = new Object[modes.length];
+            for (AtomicFieldHandles.AccessMode mode : modes) {
+                // the access modes are named after the ones of VarHandle
+                accessModes[mode.ordinal()] = accessModeClass.getField(mode.name()).get(null);
+            }
+            this.privateLookupIn = lookup.findStatic(MethodHandles.class, "privateLookupIn",
+                    methodType(MethodHandles.Lookup.class, Class.class, MethodHandles.Lookup.class));
+            this.unreflectVarHandle = lookup.findVirtual(MethodHandles.Lookup.class, "unreflectVarHandle",
+                            methodType(varHandleClass, Field.class))
+                    .asType(methodType(Object.class, MethodHandles.Lookup.class, Field.class));
+            this.isAccessModeSupported = lookup.findVirtual(varHandleClass, "isAccessModeSupported",
+                            methodType(boolean.class, accessModeClass))
+                    .asType(methodType(boolean.class, Object.class, Object.class));
+            this.toMethodHandle = lookup.findVirtual(varHandleClass, "toMethodHandle",
+                            methodType(MethodHandle.class, accessModeClass))
+                    .asType(methodType(MethodHandle.class, Object.class, Object.class));
+        }
+
+        static @Nullable Api load() {
+            try {
+                return new Api(
+                        Class.forName("java.lang.invoke.VarHandle"),
+                        Class.forName("java.lang.invoke.VarHandle$AccessMode")
+                );
+            } catch (ReflectiveOperationException e) {
+                return null; // Java 8
+            }
+        }
+
+        Object accessMode(AtomicFieldHandles.AccessMode mode) {
+            return accessModes[mode.ordinal()];
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.metrics;
+
+import snw.jmount.MountMetrics;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@link MountMetrics} implementation based on {@link LongAdder}s,
+ *  so the threads updating the same counter don't contend with each other. <br>
+ * The {@link snw.jmount.common.AbstractMount} objects have no recorder if the metrics are disabled,
+ *  so the callers check it against null before recording anything.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public final class MetricsRecorder implements MountMetrics {
+    private static final Cache[] CACHES = Cache.values();
+
+    private final Map<Class<?>, LongAdder> mounts = new ConcurrentHashMap<>();
+    private final LongAdder resolutions = new LongAdder();
+    private final LongAdder resolutionNanos = new LongAdder();
+    // the requests and the misses of each cache, the hits are the differences
+    private final LongAdder[] requests = newAdders();
+    private final LongAdder[] misses = newAdders();
+    private final Map<Method, LongAdder> invocations = new ConcurrentHashMap<>();
+    private final LongAdder wrappedExceptions = new LongAdder();
+
+    private static LongAdder[] newAdders() {
+        final LongAdder[] result = new LongAdder[CACHES.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = new LongAdder();
+        }
+        return result;
+    }
+
+    /**
+     * Record a Mount Point instance created for the provided type.
+     *
+     * @param mpType The Mount Point type
+     */
+    public void mounted(Class<?> mpType) {
+        LongAdder adder = mounts.get(mpType);
+        if (adder == null) {
+            adder = mounts.computeIfAbsent(mpType, i -> new LongAdder());
+        }
+        adder.increment();
+    }
+
+    /**
+     * Record a Mount Point type which is verified and resolved, no matter whether it succeeded.
+     *
+     * @param nanos The time spent on it
+     */
+    public void resolved(long nanos) {
+        resolutions.increment();
+        resolutionNanos.add(nanos);
+    }
+
+    /**
+     * Record a request of the provided cache.
+     *
+     * @param cache The cache
+     */
+    public void requested(Cache cache) {
+        requests[cache.ordinal()].increment();
+    }
+
+    /**
+     * Record a request which is not answered by the provided cache,
+     *  {@link #requested(Cache)} should be called for the same request as well.
+     *
+     * @param cache The cache
+     */
+    public void missed(Cache cache) {
+        misses[cache.ordinal()].increment();
+    }
+
+    /**
+     * Get the counter of the calls of the provided Mount Point method,
+     *  the callers can keep it and increment it directly.
+     *
+     * @param mountPointMethod The Mount Point method
+     * @return The counter
+     */
+    public LongAdder invocationCounter(Method mountPointMethod) {
+        final LongAdder adder = invocations.get(mountPointMethod);
+        return adder != null ? adder : invocations.computeIfAbsent(mountPointMethod, i -> new LongAdder());
+    }
+
+    /**
+     * Record an exception wrapped into {@link snw.jmount.common.exceptions.ReflectOperationException}
+     *  while performing a reflective operation on behalf of the mount object.
+     */
+    public void wrapped() {
+        wrappedExceptions.increment();
+    }
+
+    @Override
+    public Map<Class<?>, Long> getMounts() {
+        return snapshot(mounts);
+    }
+
+    @Override
+    public long getResolutions() {
+        return resolutions.sum();
+    }
+
+    @Override
+    public long getResolutionNanos() {
+        return resolutionNanos.sum();
+    }
+
+    @Override
+    public long getHits(Cache cache) {
+        // read the misses first, so the result is never negative
+        final long missed = misses[cache.ordinal()].sum();
+        return Math.max(requests[cache.ordinal()].sum() - missed, 0);
+    }
+
+    @Override
+    public long getMisses(Cache cache) {
+        return misses[cache.ordinal()].sum();
+    }
+
+    @Override
+    public Map<Method, Long> getInvocations() {
+        return snapshot(invocations);
+    }
+
+    @Override
+    public long getWrappedExceptions() {
+        return wrappedExceptions.sum();
+    }
+
+    private static <K> Map<K, Long> snapshot(Map<K, LongAdder> adders) {
+        final Map<K, Long> result = new HashMap<>(adders.size() * 2);
+        adders.forEach((key, adder) -> result.put(key, adder.sum()));
+        return Collections.unmodifiableMap(result);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.prepared;
+
+import org.jetbrains.annotations.Nullable;
+import snw.jmount.Mount;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * The handles bound to a Mount Point class generated at compile time, created once for each mount object. <br>
+ * The handles are linked to the members resolved at runtime, the generated class only fixes the order of them.
+ * This is not a part of the API, it is only used by the generated code.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public final class PreparedBinding {
+    private final Mount mount;
+    private final @Nullable MethodHandle[] handles;
+
+    PreparedBinding(Mount mount, @Nullable MethodHandle[] handles) {
+        this.mount = mount;
+        this.handles = handles;
+    }
+
+    /**
+     * Get the mount object which owns this binding.
+     *
+     * @return The mount object
+     */
+    public Mount mount() {
+        return mount;
+    }
+
+    /**
+     * Get the handle of the Mount Point method with the provided index in the generated class. <br>
+     * The type of the handle is exactly the type of the method, with the origin object as the first parameter.
+     *
+     * @param index The index of the method
+     * @return The handle, or null if it is a default method which cannot be resolved
+     */
+    public @Nullable MethodHandle handle(int index) {
+        return handles[index];
+    }
+
+    /**
+     * Throw the provided exception, the checked exceptions thrown by the underlying members are not wrapped,
+     *  just like the Mount Point classes generated at runtime.
+     *
+     * @param e The exception
+     * @param <E> The type used for suppressing the checked exception
+     * @return Never returns, the return type makes the callers able to use {@code throw}
+     * @throws E Always
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Throwable> RuntimeException rethrow(Throwable e) throws E {
+        throw (E) e;
+    }
+}
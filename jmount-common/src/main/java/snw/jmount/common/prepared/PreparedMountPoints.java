@@ -0,0 +1,192 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.prepared;
+
+import org.jetbrains.annotations.Nullable;
+import snw.jmount.common.AbstractMount;
+import snw.jmount.common.MountedObject;
+import snw.jmount.common.meta.MemberLinker;
+import snw.jmount.common.meta.MountPointMetadata;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static java.lang.invoke.MethodType.methodType;
+import static snw.jmount.common.util.ReflectUtils.perform;
+
+/**
+ * Finds the Mount Point classes generated by the {@code jmount-processor} at compile time. <br>
+ * The processor writes an index file ({@value #INDEX}) which lists the generated classes,
+ *  and the Mount Point methods implemented by each of them in order. <br>
+ * The format of the index file is line-based, a line which is not indented starts a Mount Point:
+ * <pre>
+ * &lt;Mount Point binary name&gt; &lt;generated class binary name&gt;
+ * </pre>
+ * And the indented lines following it are the methods of that Mount Point:
+ * <pre>
+ *     &lt;name&gt; &lt;erased descriptor&gt; &lt;descriptor in the generated class&gt;
+ * </pre>
+ * The descriptors are different if the method is inherited from a parameterized super interface.
+ * Empty lines and the lines starting with {@code #} are ignored. <br>
+ * The index saves generating the classes only, it contains no resolved origin member.
+ * The members are resolved by the mount object when the factory is created, the same as without the index.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public final class PreparedMountPoints {
+    /**
+     * The location of the index file in the class path.
+     */
+    public static final String INDEX = "META-INF/jmount/mount-points.idx";
+
+    // the parsed index files visible to each class loader, the values don't reference the class loaders
+    private static final Map<ClassLoader, Map<String, Entry>> INDEXES = new WeakHashMap<>();
+    private static final ClassValue<Optional<Entry>> ENTRIES = new ClassValue<Optional<Entry>>() {
+        @Override
+        protected Optional<Entry> computeValue(Class<?> type) {
+            final ClassLoader loader = type.getClassLoader();
+            if (loader == null) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(index(loader).get(type.getName()));
+        }
+    };
+
+    private PreparedMountPoints() {
+    }
+
+    /**
+     * Create the factory of the generated class of the provided Mount Point type. <br>
+     * The members of the Mount Point are resolved by the provided mount object,
+     *  and bound to the generated class, so the factory is only valid for that mount object.
+     *
+     * @param mount The mount object
+     * @param mpType The Mount Point type
+     * @return The factory of the generated class, the type is {@code (Object origin)Object},
+     *  or null if there is no generated class for the provided Mount Point type
+     * @throws IllegalArgumentException Thrown if the provided class is not a valid Mount Point
+     * @throws snw.jmount.common.exceptions.ReflectOperationException Thrown if the generated class
+     *  does not match the Mount Point type
+     */
+    public static @Nullable MethodHandle createFactory(AbstractMount mount, Class<?> mpType)
+            throws IllegalArgumentException {
+        final Entry entry = ENTRIES.get(mpType).orElse(null);
+        if (entry == null) {
+            return null;
+        }
+        final MountPointMetadata metadata = mount.getMetadata(mpType);
+        final ClassLoader loader = mpType.getClassLoader();
+        final Class<?> generated = perform(() -> Class.forName(entry.className, false, loader));
+        if (!mpType.isAssignableFrom(generated) || !MountedObject.class.isAssignableFrom(generated)) {
+            throw new IllegalArgumentException(generated + " is not the generated class of " + mpType);
+        }
+
+        final MethodHandle[] handles = new MethodHandle[entry.methods.size()];
+        for (int i = 0; i < handles.length; i++) {
+            final String[] method = entry.methods.get(i);
+            final MethodType erased = MethodType.fromMethodDescriptorString(method[1], loader);
+            final MethodType type = MethodType.fromMethodDescriptorString(method[2], loader)
+                    .insertParameterTypes(0, Object.class);
+            final Method mpMethod = perform(() -> mpType.getMethod(method[0], erased.parameterArray()));
+            Object member;
+            try {
+                member = metadata.getMember(mpMethod, mount);
+            } catch (RuntimeException e) {
+                if (mpMethod.isDefault()) {
+                    continue; // keep the default implementation
+                }
+                member = e;
+            }
+            handles[i] = MemberLinker.link(mount, mpMethod, member, type);
+        }
+
+        final MethodHandle constructor = perform(() -> MethodHandles.publicLookup()
+                .findConstructor(generated, methodType(void.class, PreparedBinding.class, Object.class)));
+        return MethodHandles.insertArguments(constructor, 0, new PreparedBinding(mount, handles))
+                .asType(methodType(Object.class, Object.class));
+    }
+
+    /**
+     * Get the Mount Point types listed in the index files visible to the provided class loader.
+     *
+     * @param loader The class loader
+     * @return The binary names of the Mount Point types
+     */
+    public static Set<String> getIndexedTypes(ClassLoader loader) {
+        return Collections.unmodifiableSet(index(loader).keySet());
+    }
+
+    private static Map<String, Entry> index(ClassLoader loader) {
+        synchronized (INDEXES) {
+            Map<String, Entry> index = INDEXES.get(loader);
+            if (index == null) {
+                index = new HashMap<>();
+                try {
+                    final Enumeration<URL> resources = loader.getResources(INDEX);
+                    while (resources.hasMoreElements()) {
+                        read(resources.nextElement(), index);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot read " + INDEX, e);
+                }
+                INDEXES.put(loader, index);
+            }
+            return index;
+        }
+    }
+
+    private static void read(URL url, Map<String, Entry> index) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            Entry current = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                final boolean method = Character.isWhitespace(line.charAt(0));
+                final String[] parts = line.trim().split("\\s+");
+                if (method && current != null && parts.length == 3) {
+                    current.methods.add(parts);
+                } else if (!method && parts.length == 2) {
+                    current = new Entry(parts[1]);
+                    index.putIfAbsent(parts[0], current); // the first one wins, just like the classes
+                } else {
+                    throw new IOException("Malformed line in " + url + ": " + line);
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        final String className;
+        final List<String[]> methods = new ArrayList<>();
+
+        Entry(String className) {
+            this.className = className;
+        }
+    }
+}
@@ -48,6 +48,8 @@ public final class CommonUtils {
             return int.class;
         } else if (wrapper == Long.class) {
             return long.class;
+        } else if (wrapper == Float.class) {
+            return float.class;
         } else if (wrapper == Double.class) {
             return double.class;
         } else if (wrapper == Void.class) {
@@ -55,4 +57,33 @@ public final class CommonUtils {
         }
         return null; // Unrecognized
     }
+
+    /**
+     * Convert the provided primitive type to its wrapper type.
+     *
+     * @param primitive The primitive type
+     * @return The wrapper type, or null if not a primitive type
+     */
+    public static @Nullable Class<?> primitiveToWrapper(Class<?> primitive) {
+        if (primitive == boolean.class) {
+            return Boolean.class;
+        } else if (primitive == char.class) {
+            return Character.class;
+        } else if (primitive == byte.class) {
+            return Byte.class;
+        } else if (primitive == short.class) {
+            return Short.class;
+        } else if (primitive == int.class) {
+            return Integer.class;
+        } else if (primitive == long.class) {
+            return Long.class;
+        } else if (primitive == float.class) {
+            return Float.class;
+        } else if (primitive == double.class) {
+            return Double.class;
+        } else if (primitive == void.class) {
+            return Void.class;
+        }
+        return null; // Unrecognized
+    }
 }
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.common.util;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A concurrent map which compares the keys by identity and references both the keys and the values weakly. <br>
+ * The map is split into segments, the reads never lock and never allocate,
+ *  the writes lock only the segment of the key.
+ * The entries whose key or value was collected are treated as absent, and removed when writing.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public final class ConcurrentWeakIdentityMap<K, V> {
+    private static final int SEGMENT_SHIFT = 4;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+    private final Segment[] segments = new Segment[SEGMENT_MASK + 1];
+    // both the keys and the values are registered, so the entries are removed if either of them is collected
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+    public ConcurrentWeakIdentityMap() {
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(queue);
+        }
+    }
+
+    /**
+     * Get the value associated with the provided key.
+     *
+     * @param key The key
+     * @return The value, or null if absent or already collected
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(K key) {
+        final int hash = hash(key);
+        return (V) segmentFor(hash).get(key, hash);
+    }
+
+    /**
+     * Get the value associated with the provided key, or compute and associate a new one if absent. <br>
+     * The function is called at most once for a key at the same time, while the segment of the key is locked,
+     *  so it must not modify this map.
+     *
+     * @param key The key
+     * @param function The function to compute the value, must not return null
+     * @return The value associated with the provided key
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+        final int hash = hash(key);
+        final Segment segment = segmentFor(hash);
+        final Object existing = segment.get(key, hash);
+        if (existing != null) {
+            return (V) existing;
+        }
+        expungeStaleEntries();
+        return (V) segment.computeIfAbsent(key, hash, (Function<Object, ?>) function);
+    }
+
+    /**
+     * Remove the value associated with the provided key.
+     *
+     * @param key The key
+     * @return The removed value, or null if absent or already collected
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V remove(K key) {
+        expungeStaleEntries();
+        final int hash = hash(key);
+        return (V) segmentFor(hash).remove(key, hash);
+    }
+
+    /**
+     * Get the count of the entries, including the ones whose key or value was collected but not removed yet.
+     *
+     * @return The count of the entries
+     */
+    public int size() {
+        expungeStaleEntries();
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+        expungeStaleEntries();
+    }
+
+    private void expungeStaleEntries() {
+        Reference<?> ref;
+        while ((ref = queue.poll()) != null) {
+            final int hash = ((Stale) ref).hash();
+            segmentFor(hash).expunge(hash);
+        }
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[hash & SEGMENT_MASK];
+    }
+
+    private static int hash(Object key) {
+        final int h = System.identityHashCode(key);
+        return h ^ (h >>> 16);
+    }
+
+    // Implemented by the references registered to the queue, so the segment to clean up can be found
+    private interface Stale {
+        int hash();
+    }
+
+    // The chains are never modified, the removal copies the entries before the removed one,
+    // so the reads can walk them without locking
+    private static final class Entry extends WeakReference<Object> implements Stale {
+        final int hash;
+        final ValueRef value;
+        final @Nullable Entry next;
+
+        Entry(Object key, int hash, ValueRef value, @Nullable Entry next, ReferenceQueue<Object> queue) {
+            super(key, queue);
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+
+        @Override
+        public int hash() {
+            return hash;
+        }
+
+        boolean isStale() {
+            return get() == null || value.get() == null;
+        }
+    }
+
+    private static final class ValueRef extends WeakReference<Object> implements Stale {
+        // the hash of the key
+        private final int hash;
+
+        ValueRef(Object value, int hash, ReferenceQueue<Object> queue) {
+            super(value, queue);
+            this.hash = hash;
+        }
+
+        @Override
+        public int hash() {
+            return hash;
+        }
+    }
+
+    private static final class Segment {
+        private static final int INITIAL_CAPACITY = 4;
+
+        private final ReferenceQueue<Object> queue;
+        // written after every modification, so the reads see the complete chains
+        private volatile Entry[] table = new Entry[INITIAL_CAPACITY];
+        private int count;
+
+        Segment(ReferenceQueue<Object> queue) {
+            this.queue = queue;
+        }
+
+        @Nullable Object get(Object key, int hash) {
+            final Entry[] tab = table;
+            for (Entry e = tab[index(hash, tab)]; e != null; e = e.next) {
+                if (e.hash == hash && e.get() == key) {
+                    return e.value.get();
+                }
+            }
+            return null;
+        }
+
+        synchronized Object computeIfAbsent(Object key, int hash, Function<Object, ?> function) {
+            final Object existing = get(key, hash);
+            if (existing != null) {
+                return existing;
+            }
+            final Object value = Objects.requireNonNull(function.apply(key), "value");
+            Entry[] tab = table;
+            if (count >= tab.length - (tab.length >>> 2)) {
+                tab = resize(tab);
+            }
+            final int index = index(hash, tab);
+            // also drop the entry of this key whose value was collected
+            final Entry head = without(tab[index], key);
+            tab[index] = new Entry(key, hash, new ValueRef(value, hash, queue), head, queue);
+            count++;
+            table = tab;
+            return value;
+        }
+
+        synchronized @Nullable Object remove(Object key, int hash) {
+            final Entry[] tab = table;
+            final int index = index(hash, tab);
+            Object removed = null;
+            for (Entry e = tab[index]; e != null; e = e.next) {
+                if (e.hash == hash && e.get() == key) {
+                    removed = e.value.get();
+                    break;
+                }
+            }
+            tab[index] = without(tab[index], key);
+            table = tab;
+            return removed;
+        }
+
+        synchronized void expunge(int hash) {
+            final Entry[] tab = table;
+            final int index = index(hash, tab);
+            tab[index] = without(tab[index], null);
+            table = tab;
+        }
+
+        synchronized int size() {
+            return count;
+        }
+
+        synchronized void clear() {
+            table = new Entry[INITIAL_CAPACITY];
+            count = 0;
+        }
+
+        // return the chain without the stale entries and the entry of the provided key, updates the count
+        private @Nullable Entry without(@Nullable Entry head, @Nullable Object key) {
+            Entry last = null; // the last entry to remove, the entries after it are kept as is
+            for (Entry e = head; e != null; e = e.next) {
+                if (e.isStale() || (key != null && e.get() == key)) {
+                    last = e;
+                }
+            }
+            if (last == null) {
+                return head;
+            }
+            Entry result = last.next;
+            for (Entry e = head; e != last.next; e = e.next) {
+                final Object k = e.get();
+                if (k == null || k == key || e.value.get() == null) {
+                    count--;
+                    continue;
+                }
+                // the copy is registered again, the copied entry is unreachable after this
+                result = new Entry(k, e.hash, e.value, result, queue);
+            }
+            return result;
+        }
+
+        private Entry[] resize(Entry[] tab) {
+            final Entry[] newTab = new Entry[tab.length << 1];
+            int newCount = 0;
+            for (Entry head : tab) {
+                for (Entry e = head; e != null; e = e.next) {
+                    final Object k = e.get();
+                    if (k == null || e.value.get() == null) {
+                        continue;
+                    }
+                    final int index = index(e.hash, newTab);
+                    newTab[index] = new Entry(k, e.hash, e.value, newTab[index], queue);
+                    newCount++;
+                }
+            }
+            count = newCount;
+            return newTab;
+        }
+
+        private static int index(int hash, Entry[] tab) {
+            return (hash >>> SEGMENT_SHIFT) & (tab.length - 1);
+        }
+    }
+}
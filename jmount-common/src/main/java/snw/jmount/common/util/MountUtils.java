@@ -16,10 +16,15 @@
 
 package snw.jmount.common.util;
 
+import org.jetbrains.annotations.Nullable;
 import snw.jmount.Mount;
+import snw.jmount.NameTransformer;
 import snw.jmount.annotation.AccessField;
 import snw.jmount.annotation.MountPoint;
 import snw.jmount.annotation.Redirect;
+import snw.jmount.common.AbstractMount;
+import snw.jmount.common.event.MountEventSink;
+import snw.jmount.common.event.MountEvents;
 import snw.jmount.handle.FieldAccessor;
 
 import java.lang.reflect.*;
@@ -95,10 +100,22 @@ public final class MountUtils {
      * @param mount The mount object used for looking up the underlying class
      */
     public static void checkIfIsFieldAccessor(Method m, Mount mount) {
+        checkIfIsFieldAccessor(m, mount.findOriginClass(m.getDeclaringClass()), mount);
+    }
+
+    /**
+     * Check the provided method if it is a valid field accessor and return the underlying field,
+     *  otherwise this method fails.
+     *
+     * @param m The method to be checked
+     * @param underlyingClass The underlying class of the Mount Point which declares the provided method
+     * @param mount The mount object used for looking up the underlying class
+     * @return The underlying field
+     */
+    public static Field checkIfIsFieldAccessor(Method m, Class<?> underlyingClass, Mount mount) {
         if (!isFieldAccessor(m)) {
             throw new IllegalArgumentException(m + " is not a field accessor");
         }
-        final Class<?> underlyingClass = mount.findOriginClass(m.getDeclaringClass());
 
         final String fieldNameWithPattern = getTargetFieldNameWithPattern(m);
 
@@ -127,7 +144,7 @@ public final class MountUtils {
                         invalidFieldAccessor(m, "field accessors only accepts Mount Point types, primitive types or ? as its type variable");
                     }
                 }
-                return; // valid FieldAccessor, prevent return type check
+                return underlyingField; // valid FieldAccessor, prevent return type check
             }
         } else if (returnType == void.class) {
             if (m.getParameterCount() == 0) {
@@ -137,7 +154,7 @@ public final class MountUtils {
             } else if (!underlyingField.getType().isAssignableFrom(convertOrReturn(m.getParameterTypes()[0], mount))) {
                 invalidFieldAccessor(m, "not a valid setter, the provided type is not compatible with underlying type");
             }
-            return;
+            return underlyingField;
         }
 
         final Class<?> ourReturnType = convertOrReturn(m.getReturnType(), mount);
@@ -149,6 +166,7 @@ public final class MountUtils {
                             + ") of the accessor"
             );
         }
+        return underlyingField;
     }
 
     /*
@@ -171,7 +189,25 @@ public final class MountUtils {
         if (!isMP(maybeMP)) {
             return maybeMP;
         }
-        return convertToUnderlyingClass(maybeMP, mount);
+        return mount.findOriginClass(maybeMP);
+    }
+
+    /**
+     * Check if the provided Mount Point type is compatible with the type of the provided field and do nothing,
+     *  otherwise this method fails.
+     *
+     * @param field The field
+     * @param mountType The Mount Point type, nothing will be checked if it is null
+     * @param mount The mount object used for looking up the underlying class
+     * @throws IllegalArgumentException Thrown if the Mount Point type is not compatible with the type of the field
+     */
+    public static void checkMountType(Field field, @Nullable Class<?> mountType, Mount mount)
+            throws IllegalArgumentException {
+        if (mountType != null && !field.getType().isAssignableFrom(convertOrReturn(mountType, mount))) {
+            throw new IllegalArgumentException(
+                    "The type of the field is not compatible with the provided Mount Point type"
+            );
+        }
     }
 
     /**
@@ -188,6 +224,18 @@ public final class MountUtils {
         return mount.unmount(maybeMP);
     }
 
+    /**
+     * Get the name transformer used for looking up the underlying things of the provided mount object,
+     *  which caches the results of {@link Mount#nameTransformer()} if the mount object is an {@link AbstractMount}.
+     *
+     * @param mount The mount object
+     * @return The name transformer
+     */
+    public static NameTransformer transformerOf(Mount mount) {
+        return mount instanceof AbstractMount
+                ? ((AbstractMount) mount).getCachingNameTransformer() : mount.nameTransformer();
+    }
+
     /**
      * Convert the provided class into the underlying type, or fail if not a Mount Point.
      *
@@ -199,8 +247,8 @@ public final class MountUtils {
         checkIfIsMP(mp);
         final MountPoint annotation = mp.getAnnotation(MountPoint.class);
         final String pattern = annotation.value();
-        final String transformedName = mount.nameTransformer().transformClassName(pattern);
-        return perform(() -> Class.forName(transformedName, false, mount.classLoader()));
+        final String transformedName = transformerOf(mount).transformClassName(pattern);
+        return perform(mount, () -> Class.forName(transformedName, false, mount.classLoader()));
     }
 
     /**
@@ -275,21 +323,68 @@ public final class MountUtils {
      * @throws NoSuchElementException See {@link ReflectUtils#matchMethod}
      */
     public static Method convertMethod(Method method, Mount mount) throws NoSuchElementException {
-        Class<?> underlyingClazz = mount.findOriginClass(method.getDeclaringClass());
+        return convertMethod(method, mount.findOriginClass(method.getDeclaringClass()), mount);
+    }
+
+    /**
+     * Look up a method matches the provided underlying class.
+     *
+     * @param method The method from Mount Point
+     * @param underlyingClazz The underlying class of the Mount Point which declares the provided method
+     * @param mount The mount object used for looking up the underlying class
+     * @return The method matches the requirement of the provided method
+     * @throws NoSuchElementException See {@link ReflectUtils#matchMethod}
+     */
+    public static Method convertMethod(Method method, Class<?> underlyingClazz, Mount mount)
+            throws NoSuchElementException {
+        final Object event = MountEvents.begin(MountEventSink.Kind.METHOD_RESOLUTION);
+        try {
+            return matchMethod(
+                    underlyingClazz, underlyingMethodName(method, underlyingClazz, mount),
+                    method.getParameters(), method.getReturnType(), mount
+            );
+        } finally {
+            if (event != null) {
+                MountEvents.end(event, method.getDeclaringClass(), underlyingClazz, method.getName());
+            }
+        }
+    }
+
+    /**
+     * Look up all the methods matching the provided underlying class, used for the Mount Point methods
+     *  whose overloads are selected by the classes of the {@link snw.jmount.annotation.RuntimeType} arguments.
+     *
+     * @param method The method from Mount Point
+     * @param underlyingClazz The underlying class of the Mount Point which declares the provided method
+     * @param mount The mount object used for looking up the underlying class
+     * @return The methods matching the requirement of the provided method, see {@link ReflectUtils#matchMethods}
+     * @throws NoSuchElementException See {@link ReflectUtils#matchMethods}
+     */
+    public static Method[] convertMethods(Method method, Class<?> underlyingClazz, Mount mount)
+            throws NoSuchElementException {
+        final Object event = MountEvents.begin(MountEventSink.Kind.METHOD_RESOLUTION);
+        try {
+            return matchMethods(
+                    underlyingClazz, underlyingMethodName(method, underlyingClazz, mount),
+                    method.getParameters(), method.getReturnType(), mount
+            );
+        } finally {
+            if (event != null) {
+                MountEvents.end(event, method.getDeclaringClass(), underlyingClazz, method.getName());
+            }
+        }
+    }
+
+    private static String underlyingMethodName(Method method, Class<?> underlyingClazz, Mount mount) {
         String methodName;
         if (method.isAnnotationPresent(Redirect.class)) {
             methodName = method.getAnnotation(Redirect.class).value();
         } else {
             methodName = method.getName();
         }
-        methodName = mount.nameTransformer().transformMethodName(
+        return transformerOf(mount).transformMethodName(
                 underlyingClazz.getName(), methodName,
                 convert(mount, method.getParameterTypes())
         );
-        Parameter[] parameterTypes = method.getParameters();
-        Class<?> returnType = method.getReturnType();
-        return matchMethod(
-                underlyingClazz, methodName, parameterTypes, returnType, mount
-        );
     }
 }
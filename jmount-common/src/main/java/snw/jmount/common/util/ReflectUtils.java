@@ -18,20 +18,28 @@ package snw.jmount.common.util;
 
 import org.jetbrains.annotations.Nullable;
 import snw.jmount.Mount;
+import snw.jmount.MountMetrics;
 import snw.jmount.annotation.RuntimeType;
+import snw.jmount.common.event.MountEventSink;
+import snw.jmount.common.event.MountEvents;
 import snw.jmount.common.exceptions.ReflectOperationException;
+import snw.jmount.common.meta.MemberIndex;
+import snw.jmount.common.metrics.MetricsRecorder;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.*;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static snw.jmount.common.util.MountUtils.convertOrReturn;
+import static snw.jmount.common.util.MountUtils.transformerOf;
 
 /**
  * A set of utility methods for calling Java reflect API.
@@ -76,23 +84,10 @@ public final class ReflectUtils {
             Class<?> returnType,
             Mount mount
     ) throws NoSuchElementException {
-        final Method[] methods = getAllMethodsWithExactName(underlyingClass, methodName);
-
-        for (Method method : methods) {
-            final Class<?>[] parameterTypes = method.getParameterTypes();
-            if (argTypes.length != parameterTypes.length) {
-                continue;
-            }
-            if (!isCompatible(parameterTypes, argTypes, mount)) {
-                continue;
+        for (Method method : MemberIndex.of(underlyingClass).getMethods(methodName, argTypes.length)) {
+            if (matches(method, argTypes, mount)) {
+                return method;
             }
-            if (!method.isAnnotationPresent(RuntimeType.class)) {
-                final Class<?> methodReturnType = method.getReturnType();
-                if (!convertOrReturn(methodReturnType, mount).isAssignableFrom(methodReturnType)) {
-                    continue;
-                }
-            }
-            return method;
         }
 
         throw new NoSuchElementException(
@@ -101,6 +96,53 @@ public final class ReflectUtils {
         );
     }
 
+    /**
+     * Look for all the methods in the specified underlying class matching the provided argument types,
+     *  in the same order as they are checked by {@link #matchMethod}. <br>
+     * This is used to select the overload by the classes of the {@link RuntimeType} arguments at runtime.
+     *
+     * @param underlyingClass The specified underlying class
+     * @param methodName The method name
+     * @param argTypes The array of argument type
+     * @param returnType The expected return type of the resulting methods
+     * @param mount The mount object used for looking up the underlying classes
+     * @return The methods, the first one is the same as the one returned by {@link #matchMethod}
+     * @throws NoSuchElementException Thrown if no method in the specified class matches the requirement
+     */
+    public static Method[] matchMethods(
+            Class<?> underlyingClass,
+            String methodName,
+            Parameter[] argTypes,
+            Class<?> returnType,
+            Mount mount
+    ) throws NoSuchElementException {
+        final Method[] methods = MemberIndex.of(underlyingClass).getMethods(methodName, argTypes.length);
+        final List<Method> result = new ArrayList<>(methods.length);
+        for (Method method : methods) {
+            if (matches(method, argTypes, mount)) {
+                result.add(method);
+            }
+        }
+        if (result.isEmpty()) {
+            throw new NoSuchElementException(
+                    "No method in " + underlyingClass + " matches "
+                            + toMethodSignature(methodName, argTypes, returnType)
+            );
+        }
+        return result.toArray(new Method[0]);
+    }
+
+    private static boolean matches(Method method, Parameter[] argTypes, Mount mount) {
+        if (!isCompatible(method.getParameterTypes(), argTypes, mount)) {
+            return false;
+        }
+        if (!method.isAnnotationPresent(RuntimeType.class)) {
+            final Class<?> methodReturnType = method.getReturnType();
+            return convertOrReturn(methodReturnType, mount).isAssignableFrom(methodReturnType);
+        }
+        return true;
+    }
+
     /**
      * Find constructor with the specified argument types,
      *  will convert argument types into underlying types if needed.
@@ -116,18 +158,22 @@ public final class ReflectUtils {
             Class<?>[] argTypes,
             Mount mount
     ) throws NoSuchElementException {
-        final Constructor<?>[] constructors = originClazz.getDeclaredConstructors();
-        for (Constructor<?> constructor : constructors) {
-            final Class<?>[] parameterTypes = constructor.getParameterTypes();
-            if (parameterTypes.length == argTypes.length) {
-                if (isCompatible(parameterTypes, argTypes, mount)) {
+        final Object event = MountEvents.begin(MountEventSink.Kind.CONSTRUCTOR_LOOKUP);
+        try {
+            final Constructor<?>[] constructors = MemberIndex.of(originClazz).getConstructors(argTypes.length);
+            for (Constructor<?> constructor : constructors) {
+                if (isCompatible(constructor.getParameterTypes(), argTypes, mount)) {
                     return constructor;
                 }
             }
+            throw new NoSuchElementException(
+                    "No constructor in " + originClazz + " matches " + toParamSignature(argTypes)
+            );
+        } finally {
+            if (event != null) {
+                MountEvents.end(event, null, originClazz, "<init>");
+            }
         }
-        throw new NoSuchElementException(
-                "No constructor in " + originClazz + " matches " + toParamSignature(argTypes)
-        );
     }
 
     /**
@@ -231,6 +277,41 @@ public final class ReflectUtils {
         }
     }
 
+    /**
+     * Perform the provided action on behalf of the provided mount object, return its return value. <br>
+     * Any exception will be wrapped into {@link ReflectOperationException},
+     *  and counted by the metrics of the mount object if they are enabled.
+     *
+     * @param mount The mount object
+     * @param callable The callable
+     * @return The return value of the provided callable
+     * @param <T> The return type of the provided callable
+     * @throws ReflectOperationException Thrown if any exception occurred during the execution of the provided callable
+     */
+    public static <T> T perform(Mount mount, UncheckedCallable<T> callable) throws ReflectOperationException {
+        try {
+            return callable.call();
+        } catch (Throwable e) {
+            throw wrap(mount, e);
+        }
+    }
+
+    /**
+     * Wrap the provided exception into {@link ReflectOperationException},
+     *  and count it by the metrics of the provided mount object if they are enabled.
+     *
+     * @param mount The mount object which the failed operation is performed on behalf of
+     * @param e The exception
+     * @return The wrapped exception
+     */
+    public static ReflectOperationException wrap(Mount mount, Throwable e) {
+        final MountMetrics metrics = mount.metrics();
+        if (metrics instanceof MetricsRecorder) {
+            ((MetricsRecorder) metrics).wrapped();
+        }
+        return new ReflectOperationException("Cannot perform action", e);
+    }
+
     /**
      * Create a method signature string (without modifiers).
      *
@@ -280,17 +361,54 @@ public final class ReflectUtils {
     }
 
     /**
-     * Look up field in the underlying class.
+     * Look up field in the underlying class, including the fields inherited from the superclasses.
      *
      * @param underlyingClass The underlying class
      * @param fieldNameWithPattern The field name with pattern
      * @param mount The {@link Mount} for replacing patterns
      * @return The field
+     * @throws NoSuchElementException Thrown if no field has the name
      */
     public static Field lookUpField(Class<?> underlyingClass, String fieldNameWithPattern, Mount mount) {
-        final String fieldName =
-                mount.nameTransformer().transformFieldName(underlyingClass.getName(), fieldNameWithPattern);
-        return perform(() -> underlyingClass.getDeclaredField(fieldName));
+        final Object event = MountEvents.begin(MountEventSink.Kind.FIELD_LOOKUP);
+        try {
+            final String fieldName =
+                    transformerOf(mount).transformFieldName(underlyingClass.getName(), fieldNameWithPattern);
+            final Field field = MemberIndex.of(underlyingClass).getField(fieldName);
+            if (field == null) {
+                throw new NoSuchElementException("No field named " + fieldName + " in " + underlyingClass);
+            }
+            return field;
+        } finally {
+            if (event != null) {
+                MountEvents.end(event, null, underlyingClass, fieldNameWithPattern);
+            }
+        }
+    }
+
+    /**
+     * Create a getter handle of the provided field, the field will be set accessible.
+     *
+     * @param field The field
+     * @return The getter handle, not bound
+     */
+    public static MethodHandle unreflectGetter(Field field) {
+        field.setAccessible(true);
+        return perform(() -> MethodHandles.lookup().unreflectGetter(field));
+    }
+
+    /**
+     * Create a setter handle of the provided field, the field will be set accessible.
+     *
+     * @param field The field
+     * @return The setter handle, not bound, or null if the field is final
+     */
+    public static @Nullable MethodHandle unreflectSetter(Field field) {
+        if (Modifier.isFinal(field.getModifiers())) {
+            return null;
+        }
+        field.setAccessible(true);
+        return perform(() -> MethodHandles.lookup().unreflectSetter(field));
     }
 
     /**
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.impl.bytecode;
+
+import snw.jmount.common.AbstractMount;
+import snw.jmount.common.AbstractMountBuilder;
+import snw.jmount.impl.bytecode.handle.MountPointClassGenerator;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static snw.jmount.common.util.ReflectUtils.wrap;
+
+/**
+ * The {@link snw.jmount.Mount} implementation which generates a class for each Mount Point type.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public class BytecodeMount extends AbstractMount {
+    // Not a ClassValue, because the generated classes are bound to this object,
+    // storing them in a ClassValue will make the Mount Point classes keep this object alive.
+    protected final Map<Class<?>, MethodHandle> factories = new ConcurrentHashMap<>();
+
+    public BytecodeMount(AbstractMountBuilder builder) {
+        super(builder);
+    }
+
+    @Override
+    protected Object mount0(Class<?> mpType, Object origin) {
+        final MethodHandle factory = factory(mpType);
+        try {
+            return (Object) factory.invokeExact(origin);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw wrap(this, e);
+        }
+    }
+
+    @Override
+    protected void prepare(Class<?> mpType) {
+        factory(mpType);
+    }
+
+    private MethodHandle factory(Class<?> mpType) {
+        final MethodHandle factory = factories.get(mpType);
+        if (factory != null) {
+            return factory;
+        }
+        return factories.computeIfAbsent(mpType, i -> MountPointClassGenerator.generate(this, getMetadata(i)));
+    }
+
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.impl.bytecode;
+
+import snw.jmount.Mount;
+import snw.jmount.common.AbstractMountBuilder;
+
+/**
+ * The {@link AbstractMountBuilder} implementation for the bytecode generation based implementation.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public class BytecodeMountBuilder extends AbstractMountBuilder {
+    @Override
+    protected Mount build0() {
+        return new BytecodeMount(this);
+    }
+}
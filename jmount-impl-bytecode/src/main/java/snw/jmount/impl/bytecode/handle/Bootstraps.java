@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.impl.bytecode.handle;
+
+import snw.jmount.Mount;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * The bootstrap methods used by the generated Mount Point classes. <br>
+ * This is not a part of the API, do not call it by yourself.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public final class Bootstraps {
+
+    private Bootstraps() {
+    }
+
+    /**
+     * Link the call site of a Mount Point method to its underlying member.
+     *
+     * @param lookup The lookup of the generated class
+     * @param name The name of the Mount Point method
+     * @param type The type of the call site, the origin object is its first parameter
+     * @param index The index of the Mount Point method in the generated class
+     * @return The constant call site
+     */
+    public static CallSite bootstrap(MethodHandles.Lookup lookup, String name, MethodType type, int index) {
+        return new ConstantCallSite(binding(lookup).target(index, type));
+    }
+
+    /**
+     * Link the call site to the constant mount object which owns the generated class.
+     *
+     * @param lookup The lookup of the generated class
+     * @param name The name of the call site, unused
+     * @param type The type of the call site, {@code ()Mount}
+     * @return The constant call site
+     */
+    public static CallSite mount(MethodHandles.Lookup lookup, String name, MethodType type) {
+        return new ConstantCallSite(MethodHandles.constant(Mount.class, binding(lookup).mount));
+    }
+
+    private static CallSiteBinding binding(MethodHandles.Lookup lookup) {
+        final ClassLoader loader = lookup.lookupClass().getClassLoader();
+        if (!(loader instanceof GeneratedClassLoader)) {
+            throw new IllegalArgumentException(lookup.lookupClass() + " is not a generated Mount Point class");
+        }
+        return ((GeneratedClassLoader) loader).binding;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.impl.bytecode.handle;
+
+import snw.jmount.Mount;
+import snw.jmount.common.meta.MemberLinker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * The members bound to the call sites of a generated Mount Point class.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+final class CallSiteBinding {
+    final Mount mount;
+    private final Method[] methods;
+    // the member of each method, or the exception thrown while resolving it
+    private final Object[] members;
+
+    CallSiteBinding(Mount mount, Method[] methods, Object[] members) {
+        this.mount = mount;
+        this.methods = methods;
+        this.members = members;
+    }
+
+    /**
+     * Create the target of the call site in the method with the provided index.
+     *
+     * @param index The index of the method
+     * @param type The type of the call site, the origin object is its first parameter
+     * @return The target handle
+     */
+    MethodHandle target(int index, MethodType type) {
+        return MemberLinker.link(mount, methods[index], members[index], type);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.impl.bytecode.handle;
+
+import snw.jmount.Mount;
+import snw.jmount.common.MountedObject;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The class loader which defines exactly one generated Mount Point class. <br>
+ * It also carries the {@link CallSiteBinding} of that class, so the bootstrap method can find it
+ *  without a global registry, and everything can be unloaded together with the owning {@link snw.jmount.Mount}.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+final class GeneratedClassLoader extends ClassLoader {
+    // the runtime classes referenced by the generated code, always resolved to the copy used by this library
+    private static final Map<String, Class<?>> RUNTIME_CLASSES = new HashMap<>();
+
+    static {
+        for (Class<?> clazz : new Class<?>[]{Mount.class, MountedObject.class, Bootstraps.class}) {
+            RUNTIME_CLASSES.put(clazz.getName(), clazz);
+        }
+    }
+
+    final CallSiteBinding binding;
+
+    GeneratedClassLoader(ClassLoader parent, CallSiteBinding binding) {
+        super(parent);
+        this.binding = binding;
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        final Class<?> runtimeClass = RUNTIME_CLASSES.get(name);
+        if (runtimeClass != null) {
+            return runtimeClass;
+        }
+        return super.loadClass(name, resolve);
+    }
+
+    Class<?> define(String binaryName, byte[] bytes) {
+        return defineClass(binaryName, bytes, 0, bytes.length);
+    }
+}
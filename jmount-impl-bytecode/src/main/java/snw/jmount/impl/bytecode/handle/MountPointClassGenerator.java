@@ -0,0 +1,195 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.impl.bytecode.handle;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import snw.jmount.Mount;
+import snw.jmount.common.MountedObject;
+import snw.jmount.common.meta.MountPointMetadata;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.objectweb.asm.Opcodes.*;
+import static snw.jmount.common.util.ReflectUtils.perform;
+
+/**
+ * The generator of the Mount Point classes. <br>
+ * Every Mount Point method in the generated class loads the origin object and its arguments,
+ *  then calls an {@code invokedynamic} instruction which is linked to the underlying member,
+ *  so the JIT compiler can inline the call down to the underlying member.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public final class MountPointClassGenerator {
+    private static final String ORIGIN_FIELD = "origin";
+    private static final String OBJECT = Type.getInternalName(Object.class);
+    private static final Handle BOOTSTRAP = new Handle(
+            H_INVOKESTATIC,
+            Type.getInternalName(Bootstraps.class),
+            "bootstrap",
+            MethodType.methodType(
+                    CallSite.class, MethodHandles.Lookup.class, String.class, MethodType.class, int.class
+            ).toMethodDescriptorString(),
+            false
+    );
+    private static final Handle MOUNT_BOOTSTRAP = new Handle(
+            H_INVOKESTATIC,
+            Type.getInternalName(Bootstraps.class),
+            "mount",
+            MethodType.methodType(
+                    CallSite.class, MethodHandles.Lookup.class, String.class, MethodType.class
+            ).toMethodDescriptorString(),
+            false
+    );
+
+    private MountPointClassGenerator() {
+    }
+
+    /**
+     * Generate the class of the Mount Point described by the provided metadata.
+     *
+     * @param mount The mount object which the generated class is bound to
+     * @param metadata The resolved metadata of the Mount Point
+     * @return The factory of the generated class, the type is {@code (Object origin)Object}
+     */
+    public static MethodHandle generate(Mount mount, MountPointMetadata metadata) {
+        final Class<?> mpType = metadata.getMountPointClass();
+        if (!isPublic(mpType)) {
+            // the generated class is in another class loader, so it can't access the interface
+            return ProxyInvoker.factory(mount, metadata);
+        }
+        final List<Method> methods = new ArrayList<>();
+        final List<Object> members = new ArrayList<>();
+        final Set<String> signatures = new HashSet<>();
+        for (Method method : mpType.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())
+                    || !signatures.add(method.getName() + Type.getMethodDescriptor(method))) {
+                continue;
+            }
+            Object member;
+            try {
+                member = metadata.getMember(method, mount);
+            } catch (RuntimeException e) {
+                if (method.isDefault()) {
+                    continue; // keep the default implementation
+                }
+                member = e;
+            }
+            methods.add(method);
+            members.add(member);
+        }
+
+        final String className = mpType.getName() + "$JMount";
+        final byte[] bytes = generate(Type.getInternalName(mpType) + "$JMount", mpType, methods);
+        ClassLoader parent = mpType.getClassLoader();
+        if (parent == null) {
+            parent = mount.classLoader();
+        }
+        final GeneratedClassLoader loader = new GeneratedClassLoader(
+                parent, new CallSiteBinding(mount, methods.toArray(new Method[0]), members.toArray())
+        );
+        final Class<?> generated = loader.define(className, bytes);
+        return perform(() -> MethodHandles.lookup()
+                .findConstructor(generated, MethodType.methodType(void.class, Object.class))
+                .asType(MethodType.methodType(Object.class, Object.class)));
+    }
+
+    private static byte[] generate(String internalName, Class<?> mpType, List<Method> methods) {
+        final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, internalName, null, OBJECT,
+                new String[]{Type.getInternalName(mpType), Type.getInternalName(MountedObject.class)});
+        cw.visitField(ACC_PRIVATE | ACC_FINAL, ORIGIN_FIELD, "Ljava/lang/Object;", null, null).visitEnd();
+
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "(Ljava/lang/Object;)V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitFieldInsn(PUTFIELD, internalName, ORIGIN_FIELD, "Ljava/lang/Object;");
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(ACC_PUBLIC | ACC_FINAL, "jmount$origin", "()Ljava/lang/Object;", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, internalName, ORIGIN_FIELD, "Ljava/lang/Object;");
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(ACC_PUBLIC | ACC_FINAL, "jmount$mount", "()Lsnw/jmount/Mount;", null, null);
+        mv.visitCode();
+        mv.visitInvokeDynamicInsn("mount", "()Lsnw/jmount/Mount;", MOUNT_BOOTSTRAP);
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        for (int i = 0; i < methods.size(); i++) {
+            final Method method = methods.get(i);
+            final Type[] argTypes = Type.getArgumentTypes(method);
+            final Type returnType = Type.getReturnType(method);
+            final String[] exceptions = new String[method.getExceptionTypes().length];
+            for (int j = 0; j < exceptions.length; j++) {
+                exceptions[j] = Type.getInternalName(method.getExceptionTypes()[j]);
+            }
+            mv = cw.visitMethod(ACC_PUBLIC | ACC_FINAL, method.getName(), Type.getMethodDescriptor(method),
+                    null, exceptions);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, internalName, ORIGIN_FIELD, "Ljava/lang/Object;");
+            int slot = 1;
+            for (Type argType : argTypes) {
+                mv.visitVarInsn(argType.getOpcode(ILOAD), slot);
+                slot += argType.getSize();
+            }
+            final Type[] callSiteArgTypes = new Type[argTypes.length + 1];
+            callSiteArgTypes[0] = Type.getType(Object.class);
+            System.arraycopy(argTypes, 0, callSiteArgTypes, 1, argTypes.length);
+            mv.visitInvokeDynamicInsn(method.getName(), Type.getMethodDescriptor(returnType, callSiteArgTypes),
+                    BOOTSTRAP, i);
+            mv.visitInsn(returnType.getOpcode(IRETURN));
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static boolean isPublic(Class<?> clazz) {
+        for (Class<?> c = clazz; c != null; c = c.getEnclosingClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.impl.bytecode.handle;
+
+import snw.jmount.Mount;
+import snw.jmount.common.MountedObject;
+import snw.jmount.common.handle.Invoker;
+import snw.jmount.common.meta.MountPointMetadata;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+
+import static snw.jmount.common.util.ReflectUtils.perform;
+
+/**
+ * The {@link InvocationHandler} of the Mount Points which can't be implemented by a generated class. <br>
+ * A generated class is defined by its own class loader, so it can't implement a non-public interface,
+ *  such Mount Points are implemented by {@link Proxy} like the JDK implementation does.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+final class ProxyInvoker extends Invoker implements InvocationHandler {
+    // (MethodHandle, Mount, MountPointMetadata, Object)Object
+    private static final MethodHandle NEW_INSTANCE = perform(() -> MethodHandles.lookup().findStatic(
+            ProxyInvoker.class, "newInstance",
+            MethodType.methodType(Object.class, MethodHandle.class, Mount.class, MountPointMetadata.class, Object.class)
+    ));
+
+    private ProxyInvoker(Mount mount, MountPointMetadata metadata, Object origin) {
+        super(mount, metadata, origin);
+    }
+
+    /**
+     * Create the factory of the proxy class of the provided Mount Point.
+     *
+     * @param mount The mount object which the proxy instances are bound to
+     * @param metadata The resolved metadata of the Mount Point
+     * @return The factory, the type is {@code (Object origin)Object}
+     */
+    static MethodHandle factory(Mount mount, MountPointMetadata metadata) {
+        final Class<?> mpType = metadata.getMountPointClass();
+        // the proxy class of a non-public interface must be defined by the loader of that interface
+        ClassLoader loader = mpType.getClassLoader();
+        if (loader == null) {
+            loader = mount.classLoader();
+        }
+        // Proxy.getProxyClass is deprecated, so take the class of a throwaway instance, it is created once per type
+        final Class<?> proxyClass = Proxy.newProxyInstance(loader, new Class<?>[]{mpType, MountedObject.class},
+                (proxy, method, args) -> null).getClass();
+        final MethodHandle constructor = perform(mount, () -> {
+            final Constructor<?> c = proxyClass.getConstructor(InvocationHandler.class);
+            c.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(c)
+                    .asType(MethodType.methodType(Object.class, InvocationHandler.class));
+        });
+        return MethodHandles.insertArguments(NEW_INSTANCE, 0, constructor, mount, metadata);
+    }
+
+    private static Object newInstance(MethodHandle constructor, Mount mount, MountPointMetadata metadata,
+                                      Object origin) throws Throwable {
+        return (Object) constructor.invokeExact((InvocationHandler) new ProxyInvoker(mount, metadata, origin));
+    }
+}
@@ -18,10 +18,20 @@ package snw.jmount.impl.jdk;
 
 import snw.jmount.common.AbstractMount;
 import snw.jmount.common.AbstractMountBuilder;
+import snw.jmount.common.MountedObject;
+import snw.jmount.common.meta.MountPointMetadata;
 import snw.jmount.impl.jdk.handle.MountInvocationHandler;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
 
+import static snw.jmount.common.util.ReflectUtils.perform;
+import static snw.jmount.common.util.ReflectUtils.wrap;
+
 /**
  * The {@link snw.jmount.Mount} implementation based on pure JDK things.
  *
@@ -29,31 +39,56 @@ import java.lang.reflect.Proxy;
  * @since 0.1.0
  */
 public class JDKMount extends AbstractMount {
+    // Proxy.newProxyInstance looks up the proxy class and its constructor every time, so remember them
+    // the factories don't refer to this object, so storing them in a ClassValue is fine
+    protected final ClassValue<ProxyFactory> proxyFactories = new ClassValue<ProxyFactory>() {
+        @Override
+        protected ProxyFactory computeValue(Class<?> type) {
+            return new ProxyFactory(getMetadata(type), classLoader());
+        }
+    };
 
     public JDKMount(AbstractMountBuilder builder) {
         super(builder);
     }
 
     @Override
-    public <T> T mount(Class<T> mpType, Object origin) throws IllegalArgumentException {
-        if (!findOriginClass(mpType).isAssignableFrom(origin.getClass())) {
-            throw new IllegalArgumentException("The target Mount Point type is not compatible with the provided object");
+    protected Object mount0(Class<?> mpType, Object origin) {
+        final ProxyFactory factory = proxyFactories.get(mpType);
+        try {
+            return (Object) factory.constructor.invokeExact(
+                    (InvocationHandler) new MountInvocationHandler(this, factory.metadata, origin)
+            );
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw wrap(this, e);
         }
-        verify(mpType);
-        // noinspection unchecked
-        return (T) Proxy.newProxyInstance(
-                classLoader(), new Class[]{mpType}, new MountInvocationHandler(this, origin)
-        );
     }
 
     @Override
-    public Object unmount(Object mp) throws IllegalArgumentException {
-        return ((MountInvocationHandler) Proxy.getInvocationHandler(mp)).getOrigin();
+    protected void prepare(Class<?> mpType) {
+        proxyFactories.get(mpType);
     }
 
-    @Override
-    public boolean isMount(Object mp) {
-        return Proxy.isProxyClass(mp.getClass()) && Proxy.getInvocationHandler(mp) instanceof MountInvocationHandler;
-    }
+    protected static final class ProxyFactory {
+        final MountPointMetadata metadata;
+        // (InvocationHandler)Object
+        final MethodHandle constructor;
 
+        ProxyFactory(MountPointMetadata metadata, ClassLoader classLoader) {
+            this.metadata = metadata;
+            // Proxy.getProxyClass is deprecated, so take the class of a throwaway instance, it is created once per type
+            final Class<?> proxyClass = Proxy.newProxyInstance(classLoader,
+                    new Class<?>[]{metadata.getMountPointClass(), MountedObject.class},
+                    (proxy, method, args) -> null).getClass();
+            this.constructor = perform(() -> {
+                // the proxy class is not public if the Mount Point is not public
+                final Constructor<?> c = proxyClass.getConstructor(InvocationHandler.class);
+                c.setAccessible(true);
+                return MethodHandles.lookup().unreflectConstructor(c)
+                        .asType(MethodType.methodType(Object.class, InvocationHandler.class));
+            });
+        }
+    }
 }
@@ -17,10 +17,10 @@
 package snw.jmount.impl.jdk.handle;
 
 import snw.jmount.common.handle.Invoker;
+import snw.jmount.common.meta.MountPointMetadata;
 import snw.jmount.impl.jdk.JDKMount;
 
 import java.lang.reflect.InvocationHandler;
-import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * The {@link InvocationHandler} implementation for handling Mount Point interface method calls.
@@ -30,8 +30,8 @@ import java.util.concurrent.atomic.AtomicReference;
  */
 public class MountInvocationHandler extends Invoker implements InvocationHandler {
 
-    public MountInvocationHandler(JDKMount mount, Object origin) {
-        super(mount, new AtomicReference<>(origin));
+    public MountInvocationHandler(JDKMount mount, MountPointMetadata metadata, Object origin) {
+        super(mount, metadata, origin);
     }
 
 }
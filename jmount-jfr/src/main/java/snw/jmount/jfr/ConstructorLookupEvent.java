@@ -0,0 +1,33 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A constructor is looked up in the origin class.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+@Name("snw.jmount.ConstructorLookup")
+@Label("Constructor Lookup")
+@Description("A constructor is looked up in the origin class.")
+public final class ConstructorLookupEvent extends MountEvent {
+}
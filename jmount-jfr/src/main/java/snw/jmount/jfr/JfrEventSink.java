@@ -0,0 +1,79 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.jfr;
+
+import org.jetbrains.annotations.Nullable;
+import snw.jmount.common.event.MountEventSink;
+
+/**
+ * Reports the JMount events to JDK Flight Recorder, it is found by {@link java.util.ServiceLoader}. <br>
+ * The events are created only if they are enabled in the running recordings.
+ * The calls of the Mount Point methods are timed only if the {@code jmount.jfr.invocations} system property
+ *  is {@code true} when JMount is loaded, and only the calls slower than the threshold of
+ *  {@link InvocationEvent} (1 ms by default, configurable in the recording settings) are recorded.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public final class JfrEventSink implements MountEventSink {
+    private static final boolean TRACES_INVOCATIONS = Boolean.getBoolean("jmount.jfr.invocations");
+
+    @Override
+    public @Nullable Object begin(Kind kind) {
+        final MountEvent event = create(kind);
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void end(Object event, @Nullable Class<?> mountPointClass, @Nullable Class<?> originClass,
+                    @Nullable String member) {
+        final MountEvent mountEvent = (MountEvent) event;
+        mountEvent.end();
+        if (mountEvent.shouldCommit()) {
+            mountEvent.mountPointClass = mountPointClass;
+            mountEvent.originClass = originClass;
+            mountEvent.member = member;
+            mountEvent.commit();
+        }
+    }
+
+    @Override
+    public boolean tracesInvocations() {
+        return TRACES_INVOCATIONS;
+    }
+
+    private static MountEvent create(Kind kind) {
+        switch (kind) {
+            case VERIFICATION:
+                return new VerificationEvent();
+            case METHOD_RESOLUTION:
+                return new MethodResolutionEvent();
+            case FIELD_LOOKUP:
+                return new FieldLookupEvent();
+            case CONSTRUCTOR_LOOKUP:
+                return new ConstructorLookupEvent();
+            case FILL_ENUM:
+                return new FillEnumEvent();
+            default:
+                return new InvocationEvent();
+        }
+    }
+}
@@ -0,0 +1,414 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Generates the Mount Point classes at compile time, so the Mount Point types don't need to be
+ *  implemented at runtime, and writes the index file which is read by
+ *  {@code snw.jmount.common.prepared.PreparedMountPoints}. <br>
+ * Only the class generation is moved to compile time, nothing of the member resolution is precomputed.
+ * The index lists the Mount Point methods, not the origin members, because the names of the origin members
+ *  depend on the name transformer used at runtime, and the origin classes are usually not available
+ *  (or not obfuscated yet) when the Mount Points are compiled.
+ * So {@code @AccessField}, {@code @Redirect} and {@code @RuntimeType} are handled at runtime,
+ *  the same as for the Mount Points without a generated class,
+ *  use {@code MountBuilder#resolutionCache} to skip the lookups on the later runs. <br>
+ * The generated classes call the handles bound to them, so they work with every implementation.
+ * The Mount Point types which cannot be implemented in their packages (such as private nested interfaces,
+ *  or generic interfaces) are skipped, and they are implemented at runtime as usual.
+ *
+ * @author SNWCreations
+ * @since 0.1.0
+ */
+public class MountPointProcessor extends AbstractProcessor {
+    // the same as PreparedMountPoints, this module does not depend on jmount-common
+    static final String INDEX = "META-INF/jmount/mount-points.idx";
+    static final String MOUNT_POINT = "snw.jmount.annotation.MountPoint";
+    static final String SUFFIX = "$JMountImpl";
+
+    private static final String BINDING = "snw.jmount.common.prepared.PreparedBinding";
+
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+    // Mount Point binary name -> the lines of it in the index file
+    private final Map<String, List<String>> index = new TreeMap<>();
+    private final List<Element> originatingElements = new ArrayList<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        filer = processingEnv.getFiler();
+        messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(MOUNT_POINT);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.INTERFACE) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "@MountPoint can only be used on interfaces", element);
+                    continue;
+                }
+                final TypeElement type = (TypeElement) element;
+                final String skipped = checkGeneratable(type);
+                if (skipped != null) {
+                    messager.printMessage(Diagnostic.Kind.NOTE,
+                            type.getQualifiedName() + " " + skipped + ", it will be implemented at runtime", type);
+                    continue;
+                }
+                try {
+                    generate(type);
+                } catch (IOException | IllegalArgumentException e) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "Cannot generate the Mount Point class: " + e, type);
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !index.isEmpty()) {
+            try {
+                writeIndex();
+            } catch (IOException e) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Cannot write " + INDEX + ": " + e);
+            }
+        }
+        return false;
+    }
+
+    private String checkGeneratable(TypeElement type) {
+        if (!type.getTypeParameters().isEmpty()) {
+            return "is generic";
+        }
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) {
+                return "is not accessible in its package";
+            }
+        }
+        return null;
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        final String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        final String binaryName = elements.getBinaryName(type).toString();
+        final String implBinaryName = binaryName + SUFFIX;
+        final String implSimpleName = packageName.isEmpty()
+                ? implBinaryName : implBinaryName.substring(packageName.length() + 1);
+        final String mpName = type.getQualifiedName().toString();
+
+        final List<String> lines = new ArrayList<>();
+        lines.add(binaryName + " " + implBinaryName);
+
+        final StringBuilder out = new StringBuilder();
+        out.append("// Generated by jmount-processor, do not edit.\n");
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        // javac ignores "all", so name the warnings the overrides may repeat, such as the generic varargs
+        out.append("@SuppressWarnings({\"unchecked\", \"deprecation\"})\n")
+                .append("public final class ").append(implSimpleName)
+                .append(" implements ").append(mpName).append(", snw.jmount.common.MountedObject {\n")
+                .append("    private final ").append(BINDING).append(" binding;\n")
+                .append("    private final Object origin;\n\n")
+                .append("    public ").append(implSimpleName).append("(").append(BINDING)
+                .append(" binding, Object origin) {\n")
+                .append("        this.binding = binding;\n")
+                .append("        this.origin = origin;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public Object jmount$origin() {\n")
+                .append("        return this.origin;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public snw.jmount.Mount jmount$mount() {\n")
+                .append("        return this.binding.mount();\n")
+                .append("    }\n");
+
+        final DeclaredType declaredType = (DeclaredType) type.asType();
+        final Set<String> signatures = new HashSet<>();
+        int methodIndex = 0;
+        for (ExecutableElement method : methods(type)) {
+            final ExecutableType memberType = (ExecutableType) types.asMemberOf(declaredType, method);
+            // the declared types are written in the source, so the methods override without unchecked conversions,
+            // and their erasures are written in the index, they are the types of the handle
+            final List<? extends TypeMirror> declaredParamTypes = memberType.getParameterTypes();
+            final TypeMirror declaredReturnType = memberType.getReturnType();
+            final List<TypeMirror> paramTypes = new ArrayList<>();
+            for (TypeMirror paramType : declaredParamTypes) {
+                paramTypes.add(types.erasure(paramType));
+            }
+            final TypeMirror returnType = types.erasure(declaredReturnType);
+            final String name = method.getSimpleName().toString();
+            final String callDescriptor = descriptor(paramTypes, returnType);
+            if (!signatures.add(name + callDescriptor)) {
+                continue; // inherited from more than one super interface
+            }
+            final List<TypeMirror> erasedParamTypes = new ArrayList<>();
+            for (VariableElement parameter : method.getParameters()) {
+                erasedParamTypes.add(types.erasure(parameter.asType()));
+            }
+            final String lookupDescriptor = descriptor(erasedParamTypes, types.erasure(method.getReturnType()));
+            lines.add("    " + name + " " + lookupDescriptor + " " + callDescriptor);
+
+            final boolean isVoid = returnType.getKind() == TypeKind.VOID;
+            final StringBuilder params = new StringBuilder();
+            final StringBuilder args = new StringBuilder();
+            for (int i = 0; i < paramTypes.size(); i++) {
+                if (i > 0) {
+                    params.append(", ");
+                    args.append(", ");
+                }
+                final boolean varArgs = method.isVarArgs() && i == paramTypes.size() - 1;
+                params.append(varArgs
+                        ? source(((ArrayType) declaredParamTypes.get(i)).getComponentType()) + "..."
+                        : source(declaredParamTypes.get(i))).append(" arg").append(i);
+                args.append("arg").append(i);
+            }
+            out.append('\n')
+                    .append("    @Override\n")
+                    .append("    public ").append(typeVariables(memberType.getTypeVariables()))
+                    .append(source(declaredReturnType)).append(' ').append(name)
+                    .append('(').append(params).append(") {\n")
+                    .append("        final java.lang.invoke.MethodHandle handle = this.binding.handle(")
+                    .append(methodIndex).append(");\n");
+            if (method.getModifiers().contains(Modifier.DEFAULT)) {
+                out.append("        if (handle == null) {\n")
+                        .append("            ").append(isVoid ? "" : "return ")
+                        .append(mpName).append(".super.").append(name).append('(').append(args).append(");\n");
+                if (isVoid) {
+                    out.append("            return;\n");
+                }
+                out.append("        }\n");
+            }
+            out.append("        try {\n")
+                    .append("            ").append(isVoid ? "" : "return (" + source(declaredReturnType) + ") ")
+                    .append("handle.invokeExact(this.origin").append(args.length() > 0 ? ", " : "")
+                    .append(args).append(");\n")
+                    .append("        } catch (Throwable e) {\n")
+                    .append("            throw ").append(BINDING).append(".rethrow(e);\n")
+                    .append("        }\n")
+                    .append("    }\n");
+            methodIndex++;
+        }
+        out.append("}\n");
+
+        try (Writer writer = filer.createSourceFile(packageName.isEmpty()
+                ? implSimpleName : packageName + "." + implSimpleName, type).openWriter()) {
+            writer.write(out.toString());
+        }
+        index.put(binaryName, lines);
+        originatingElements.add(type);
+    }
+
+    // the methods implemented by the generated class, the methods of Object are left to Object
+    private List<ExecutableElement> methods(TypeElement type) {
+        final List<ExecutableElement> result = new ArrayList<>();
+        for (Element member : elements.getAllMembers(type)) {
+            if (member.getKind() != ElementKind.METHOD) {
+                continue;
+            }
+            final ExecutableElement method = (ExecutableElement) member;
+            final Set<Modifier> modifiers = method.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.PRIVATE)
+                    || method.getEnclosingElement().getKind() != ElementKind.INTERFACE
+                    || isObjectMethod(method)) {
+                continue;
+            }
+            result.add(method);
+        }
+        return result;
+    }
+
+    private boolean isObjectMethod(ExecutableElement method) {
+        final String name = method.getSimpleName().toString();
+        final List<? extends VariableElement> parameters = method.getParameters();
+        if (parameters.isEmpty()) {
+            return name.equals("hashCode") || name.equals("toString");
+        }
+        return parameters.size() == 1 && name.equals("equals")
+                && types.erasure(parameters.get(0).asType()).toString().equals("java.lang.Object");
+    }
+
+    private void writeIndex() throws IOException {
+        final Map<String, List<String>> merged = new TreeMap<>();
+        readExistingIndex(merged); // keep the entries of the Mount Points which were not compiled this time
+        merged.putAll(index);
+        final FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX,
+                originatingElements.toArray(new Element[0]));
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8))) {
+            writer.write("# Generated by jmount-processor, do not edit.\n");
+            for (List<String> lines : merged.values()) {
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+        }
+    }
+
+    private void readExistingIndex(Map<String, List<String>> target) {
+        try {
+            final FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                List<String> current = null;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.trim().isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    if (Character.isWhitespace(line.charAt(0))) {
+                        if (current != null) {
+                            current.add(line);
+                        }
+                    } else {
+                        current = new ArrayList<>();
+                        current.add(line);
+                        target.put(line.substring(0, line.indexOf(' ')), current);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // not exists, this is a clean build
+        }
+    }
+
+    // the declaration of the type variables of a generic method, followed by a space if there is any
+    private String typeVariables(List<? extends TypeVariable> typeVariables) {
+        if (typeVariables.isEmpty()) {
+            return "";
+        }
+        final StringJoiner joiner = new StringJoiner(", ", "<", "> ");
+        for (TypeVariable typeVariable : typeVariables) {
+            final TypeMirror upperBound = typeVariable.getUpperBound();
+            final List<? extends TypeMirror> bounds = upperBound.getKind() == TypeKind.INTERSECTION
+                    ? ((IntersectionType) upperBound).getBounds() : Collections.singletonList(upperBound);
+            final String name = typeVariable.asElement().getSimpleName().toString();
+            if (bounds.size() == 1 && source(bounds.get(0)).equals("java.lang.Object")) {
+                joiner.add(name);
+                continue;
+            }
+            final StringJoiner declaration = new StringJoiner(" & ", name + " extends ", "");
+            for (TypeMirror bound : bounds) {
+                declaration.add(source(bound));
+            }
+            joiner.add(declaration.toString());
+        }
+        return joiner.toString();
+    }
+
+    private String source(TypeMirror type) {
+        switch (type.getKind()) {
+            case ARRAY:
+                return source(((ArrayType) type).getComponentType()) + "[]";
+            case DECLARED: {
+                final String name = ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+                final List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+                if (typeArguments.isEmpty()) {
+                    return name;
+                }
+                final StringJoiner joiner = new StringJoiner(", ", name + "<", ">");
+                for (TypeMirror typeArgument : typeArguments) {
+                    joiner.add(source(typeArgument));
+                }
+                return joiner.toString();
+            }
+            case TYPEVAR:
+                return ((TypeVariable) type).asElement().getSimpleName().toString();
+            case WILDCARD: {
+                final WildcardType wildcard = (WildcardType) type;
+                if (wildcard.getExtendsBound() != null) {
+                    return "? extends " + source(wildcard.getExtendsBound());
+                }
+                return wildcard.getSuperBound() != null ? "? super " + source(wildcard.getSuperBound()) : "?";
+            }
+            default:
+                if (type.getKind().isPrimitive() || type.getKind() == TypeKind.VOID) {
+                    return type.getKind().name().toLowerCase(Locale.ROOT);
+                }
+                return type.toString();
+        }
+    }
+
+    private String descriptor(List<TypeMirror> paramTypes, TypeMirror returnType) {
+        final StringBuilder builder = new StringBuilder("(");
+        for (TypeMirror paramType : paramTypes) {
+            builder.append(descriptor(paramType));
+        }
+        return builder.append(')').append(descriptor(returnType)).toString();
+    }
+
+    private String descriptor(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "Z";
+            case BYTE:
+                return "B";
+            case SHORT:
+                return "S";
+            case CHAR:
+                return "C";
+            case INT:
+                return "I";
+            case LONG:
+                return "J";
+            case FLOAT:
+                return "F";
+            case DOUBLE:
+                return "D";
+            case VOID:
+                return "V";
+            case ARRAY:
+                return "[" + descriptor(((ArrayType) type).getComponentType());
+            case DECLARED:
+                final TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+                return "L" + elements.getBinaryName(element).toString().replace('.', '/') + ";";
+            case TYPEVAR:
+                return descriptor(types.erasure(type));
+            default:
+                throw new IllegalArgumentException("Unsupported type: " + type);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.test;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import snw.jmount.Mount;
+import snw.jmount.MountBuilder;
+import snw.jmount.handle.ConstructorMP;
+import snw.jmount.handle.FieldAccessor;
+import snw.jmount.test.testobjects.DummyNameTransformer;
+import snw.jmount.test.testobjects.mp.AnotherThingMP;
+import snw.jmount.test.testobjects.mp.OverloadsMP;
+import snw.jmount.test.testobjects.mp.SomethingMP;
+import snw.jmount.test.testobjects.origin.AnotherThing;
+import snw.jmount.test.testobjects.origin.Overloads;
+import snw.jmount.test.testobjects.origin.Something;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks the bytes allocated by the warm operations, so the hidden allocations fail the build. <br>
+ * The budgets are counted in probe objects (an object with eight reference fields), whose size is measured first,
+ *  so they don't depend on the object layout (compressed oops or not). The zero budgets rely on the escape analysis
+ *  of the optimizing JIT compiler, the test is skipped if it is not available (e.g. {@code -Xint}).
+ */
+public class AllocationTest {
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 100_000;
+
+    protected static Mount mount;
+    private static com.sun.management.ThreadMXBean threads;
+    private static long probeSize;
+    // keeps the probe objects escaping, so they are really allocated
+    private static volatile Object sink;
+
+    @BeforeAll
+    static void setUpCounter() {
+        assumeTrue(isOptimizingCompilerEnabled(), "the optimizing JIT compiler is not enabled");
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "allocation counter not available");
+        threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "allocation counter not supported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        probeSize = measure(() -> sink = new Probe());
+        assertTrue(probeSize > 0, "the probe objects are not allocated");
+    }
+
+    @BeforeAll
+    static void beforeAll() {
+        mount = MountBuilder.create()
+                .classLoader(Thread.currentThread().getContextClassLoader())
+                .nameTransformer(new DummyNameTransformer())
+                .prepared(false) // covered by PreparedAllocationTest
+                .build();
+    }
+
+    @Test
+    void mountPointCallTest() {
+        final SomethingMP mp = mount.mount(SomethingMP.class, new Something());
+        assertAllocation("void call", 0, mp::doSomething);
+        assertAllocation("redirected call", 0, mp::anotherRefToDoSomething);
+        assertAllocation("field getter", 0, mp::getVar0);
+        final AnotherThingMP other = mount.mount(AnotherThingMP.class, new AnotherThing());
+        // the argument array of the call, the boxed float, and the string built by the origin method
+        assertAllocation("call with arguments", 4, () -> other.describe(1, 2.0F, "s", other));
+    }
+
+    @Test
+    void fieldAccessTest() {
+        final SomethingMP mp = mount.mount(SomethingMP.class, new Something());
+        final FieldAccessor<Object> accessor = mp.object();
+        final Object value = new Object();
+        assertAllocation("get", 0, accessor::get);
+        assertAllocation("set", 0, () -> accessor.set(value));
+        // the accessor itself
+        assertAllocation("accessor", 1, mp::object);
+    }
+
+    @Test
+    void mountPointReturningCallTest() {
+        final SomethingMP mp = mount.mount(SomethingMP.class, new Something());
+        final FieldAccessor<AnotherThingMP> accessor = mp.anotherThing();
+        // the new Mount Point instance
+        assertAllocation("getMounted", 1, accessor::getMounted);
+    }
+
+    @Test
+    void runtimeTypeTest() {
+        final OverloadsMP mp = mount.mount(OverloadsMP.class, new Overloads());
+        // the argument array passed by the proxy to its invocation handler
+        final int budget = Proxy.isProxyClass(mp.getClass()) ? 1 : 0;
+        final String string = "s";
+        assertAllocation("dispatched call", budget, () -> mp.accept(string));
+        // more classes than the inline caches hold, the later ones are looked up in the shared table
+        final Object[] values = {new StringBuilder(), 1, new Object(), 1L, new StringBuffer()};
+        for (Object value : values) {
+            mp.accept(value);
+        }
+        final Object megamorphic = values[values.length - 1];
+        assertAllocation("megamorphic dispatched call", budget, () -> mp.accept(megamorphic));
+    }
+
+    @Test
+    void unmountTest() {
+        final SomethingMP mp = mount.mount(SomethingMP.class, new Something());
+        final Object notMounted = new Object();
+        assertAllocation("unmount", 0, () -> mount.unmount(mp));
+        assertAllocation("isMount", 0, () -> mount.isMount(mp));
+        assertAllocation("isMount (false)", 0, () -> mount.isMount(notMounted));
+    }
+
+    @Test
+    void constructorTest() {
+        final ConstructorMP<AnotherThingMP> constructor = mount.findConstructorAndWrapAsMP(AnotherThingMP.class, int.class);
+        // the origin object, the Mount Point and the boxed argument
+        assertAllocation("newInstance", 3, () -> constructor.newInstance(1));
+    }
+
+    // the zero budgets need the escape analysis of C2, which is not used in the interpreter or by C1
+    private static boolean isOptimizingCompilerEnabled() {
+        if (ManagementFactory.getCompilationMXBean() == null) {
+            return false; // -Xint
+        }
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (argument.equals("-Xint") || argument.equals("-XX:-DoEscapeAnalysis")
+                    || argument.startsWith("-XX:TieredStopAtLevel=") && !argument.endsWith("=4")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void assertAllocation(String name, int probes, Runnable operation) {
+        final long perOperation = measure(operation);
+        final long budget = probes * probeSize;
+        assertTrue(perOperation <= budget, () -> name + " allocated " + perOperation
+                + " bytes per operation, the budget is " + probes + " probe objects (" + budget + " bytes)");
+    }
+
+    private static long measure(Runnable operation) {
+        for (int i = 0; i < WARMUP; i++) {
+            operation.run();
+        }
+        final long threadId = Thread.currentThread().getId();
+        final long start = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - start) / ITERATIONS;
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Probe {
+        Object a, b, c, d, e, f, g, h;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import snw.jmount.Mount;
+import snw.jmount.MountBuilder;
+import snw.jmount.test.testobjects.DummyNameTransformer;
+import snw.jmount.test.testobjects.mp.SomethingMP;
+import snw.jmount.test.testobjects.origin.Something;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JfrEventsTest {
+
+    @Test
+    void eventsTest() throws IOException {
+        final Path file = Files.createTempFile("jmount", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                for (String name : new String[]{"Verification", "MethodResolution", "FieldLookup"}) {
+                    recording.enable("snw.jmount." + name).withoutThreshold();
+                }
+                recording.start();
+                final Mount mount = MountBuilder.create()
+                        .classLoader(Thread.currentThread().getContextClassLoader())
+                        .nameTransformer(new DummyNameTransformer())
+                        .build();
+                final Something underlying = new Something();
+                mount.mount(SomethingMP.class, underlying).doSomething();
+                mount.accessField(underlying, "did").get();
+                recording.stop();
+                recording.dump(file);
+            }
+
+            final Set<String> names = new HashSet<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                names.add(event.getEventType().getName());
+                if (event.getEventType().getName().equals("snw.jmount.Verification")) {
+                    assertEquals(SomethingMP.class.getName(), event.getClass("mountPointClass").getName());
+                    assertEquals(Something.class.getName(), event.getClass("originClass").getName());
+                }
+            }
+            assertTrue(names.contains("snw.jmount.Verification"));
+            assertTrue(names.contains("snw.jmount.MethodResolution"));
+            assertTrue(names.contains("snw.jmount.FieldLookup"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
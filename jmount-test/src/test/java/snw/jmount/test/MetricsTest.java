@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.test;
+
+import org.junit.jupiter.api.Test;
+import snw.jmount.Mount;
+import snw.jmount.MountBuilder;
+import snw.jmount.MountMetrics;
+import snw.jmount.common.exceptions.ReflectOperationException;
+import snw.jmount.test.testobjects.DummyNameTransformer;
+import snw.jmount.test.testobjects.mp.AnotherThingMP;
+import snw.jmount.test.testobjects.mp.MissingMP;
+import snw.jmount.test.testobjects.mp.SomethingMP;
+import snw.jmount.test.testobjects.origin.Something;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTest {
+
+    @Test
+    void metricsTest() throws NoSuchMethodException {
+        for (boolean prepared : new boolean[]{false, true}) {
+            final Mount mount = MountBuilder.create()
+                    .classLoader(Thread.currentThread().getContextClassLoader())
+                    .nameTransformer(new DummyNameTransformer())
+                    .prepared(prepared)
+                    .interning(true) // the mounts go through the result cache
+                    .metrics(true)
+                    .build();
+            final MountMetrics metrics = mount.metrics();
+            assertNotNull(metrics);
+
+            final Something underlying = new Something();
+            final SomethingMP mp = mount.mount(SomethingMP.class, underlying);
+            mount.mount(SomethingMP.class, underlying);
+            for (int i = 0; i < 3; i++) {
+                mp.doSomething();
+            }
+            mp.anotherThing().getMounted();
+            mp.anotherThing().getMounted();
+            mount.accessField(underlying, "did");
+            mount.accessField(underlying, "did");
+
+            assertEquals(1L, metrics.getMounts().get(SomethingMP.class));
+            assertEquals(1L, metrics.getMounts().get(AnotherThingMP.class));
+            assertEquals(3L, metrics.getInvocations().get(SomethingMP.class.getMethod("doSomething")));
+            assertTrue(metrics.getResolutions() >= 1);
+            assertTrue(metrics.getResolutionNanos() > 0);
+            assertEquals(2, metrics.getMisses(MountMetrics.Cache.RESULT));
+            assertEquals(2, metrics.getHits(MountMetrics.Cache.RESULT));
+            assertEquals(1, metrics.getMisses(MountMetrics.Cache.FIELD));
+            assertEquals(1, metrics.getHits(MountMetrics.Cache.FIELD));
+            assertTrue(metrics.getMisses(MountMetrics.Cache.ORIGIN_CLASS) >= 1);
+            assertTrue(metrics.getMisses(MountMetrics.Cache.METHOD) >= 1);
+
+            // counted by the mount object which the failed lookup is performed on behalf of
+            assertEquals(0, metrics.getWrappedExceptions());
+            assertThrows(ReflectOperationException.class, () -> mount.findOriginClass(MissingMP.class));
+            assertEquals(1, metrics.getWrappedExceptions());
+        }
+
+        final Mount disabled = MountBuilder.create()
+                .classLoader(Thread.currentThread().getContextClassLoader())
+                .nameTransformer(new DummyNameTransformer())
+                .build();
+        assertNull(disabled.metrics());
+    }
+}
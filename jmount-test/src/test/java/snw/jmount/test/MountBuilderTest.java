@@ -20,9 +20,10 @@ import org.junit.jupiter.api.Test;
 import snw.jmount.Mount;
 import snw.jmount.MountBuilder;
 import snw.jmount.test.testobjects.DummyNameTransformer;
+import snw.jmount.test.testobjects.mp.SomethingMP;
+import snw.jmount.test.testobjects.origin.Something;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class MountBuilderTest {
 
@@ -30,6 +31,33 @@ public class MountBuilderTest {
     void buildTest() {
         assertThrows(NullPointerException.class, () -> MountBuilder.create().build());
         assertDoesNotThrow(this::produce);
+
+        final DummyNameTransformer transformer = new DummyNameTransformer();
+        final Mount mount = MountBuilder.create()
+                .classLoader(Thread.currentThread().getContextClassLoader())
+                .nameTransformer(transformer)
+                .build();
+        assertSame(transformer, mount.nameTransformer()); // the cache is internal
+    }
+
+    @Test
+    void interningTest() {
+        final Something origin = new Something();
+        final Mount interning = MountBuilder.create()
+                .classLoader(Thread.currentThread().getContextClassLoader())
+                .nameTransformer(new DummyNameTransformer())
+                .interning(true)
+                .build();
+        final SomethingMP mp = interning.mount(SomethingMP.class, origin);
+        assertSame(mp, interning.mount(SomethingMP.class, origin));
+        assertNotSame(mp, interning.mount(SomethingMP.class, new Something()));
+        assertEquals(mp, interning.mount(SomethingMP.class, origin));
+        assertEquals(mp.hashCode(), interning.mount(SomethingMP.class, origin).hashCode());
+
+        final Mount notInterning = produce();
+        final SomethingMP another = notInterning.mount(SomethingMP.class, origin);
+        assertNotSame(another, notInterning.mount(SomethingMP.class, origin));
+        assertNotEquals(another, notInterning.mount(SomethingMP.class, origin));
     }
 
     private Mount produce() {
@@ -20,17 +20,32 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import snw.jmount.Mount;
 import snw.jmount.MountBuilder;
+import snw.jmount.PreloadReport;
+import snw.jmount.annotation.MountPoint;
+import snw.jmount.common.MountedObject;
+import snw.jmount.common.exceptions.ReflectOperationException;
 import snw.jmount.handle.ConstructorMP;
+import snw.jmount.handle.FieldAccessor;
 import snw.jmount.handle.WrappedConstructor;
 import snw.jmount.test.testobjects.DummyNameTransformer;
 import snw.jmount.test.testobjects.mp.AnEnumMP;
 import snw.jmount.test.testobjects.mp.AnotherThingMP;
+import snw.jmount.test.testobjects.mp.MissingMP;
+import snw.jmount.test.testobjects.mp.OverloadsMP;
 import snw.jmount.test.testobjects.mp.SomethingMP;
 import snw.jmount.test.testobjects.origin.AnEnum;
 import snw.jmount.test.testobjects.origin.AnotherThing;
+import snw.jmount.test.testobjects.origin.Overloads;
+import snw.jmount.test.testobjects.origin.Primitives;
 import snw.jmount.test.testobjects.origin.Something;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static snw.jmount.common.util.ReflectUtils.perform;
@@ -43,6 +58,7 @@ public class MountTest {
         mount = MountBuilder.create()
                 .classLoader(Thread.currentThread().getContextClassLoader())
                 .nameTransformer(new DummyNameTransformer())
+                .prepared(false) // covered by PreparedMountTest
                 .build();
     }
 
@@ -52,6 +68,9 @@ public class MountTest {
         SomethingMP mp = mount.mount(SomethingMP.class, underlying);
         assertEquals(underlying.object, mp.object().get());
         assertDoesNotThrow(() -> mp.object().set(new Object()));
+        final AnotherThingMP anotherThingMP = mount.mount(AnotherThingMP.class, new AnotherThing());
+        mp.object().set(anotherThingMP);
+        assertSame(mount.unmount(anotherThingMP), underlying.object);
         assertEquals(0, mp.getVar0());
         assertEquals(0, mp.anotherThing().getMounted().getA());
 
@@ -62,6 +81,173 @@ public class MountTest {
         assertFalse(underlying.did);
     }
 
+    @Test
+    void primitiveAccessTest() {
+        final AnotherThing underlying = new AnotherThing(1);
+        final FieldAccessor<?> accessor = mount.mount(AnotherThingMP.class, underlying).aAccessor();
+        assertEquals(1, accessor.getInt());
+        accessor.setInt(2);
+        assertEquals(2, underlying.a);
+        accessor.set(3);
+        assertEquals(3, accessor.get());
+        assertThrows(IllegalStateException.class, accessor::getLong);
+        assertThrows(IllegalArgumentException.class, () -> accessor.set(4L));
+    }
+
+    @Test
+    void accessFieldTest() {
+        final AnotherThing underlying = new AnotherThing(1);
+        final FieldAccessor<?> accessor = mount.accessField(underlying, "a");
+        assertEquals(1, accessor.getInt());
+        accessor.setInt(2);
+        assertEquals(2, underlying.a);
+        assertEquals(3, mount.accessField(new AnotherThing(3), "a").get());
+
+        final Something something = new Something(new AnotherThing(4));
+        assertEquals(4, mount.accessField(something, "anotherThing", AnotherThingMP.class).getMounted().getA());
+        assertThrows(IllegalArgumentException.class, () -> mount.accessField(something, "anotherThing", SomethingMP.class));
+        assertThrows(NoSuchElementException.class, () -> mount.accessField(something, "nothing"));
+        assertThrows(NoSuchElementException.class, () -> mount.accessStaticField(AnotherThing.class, "a"));
+    }
+
+    @Test
+    void atomicAccessTest() {
+        final FieldAccessor<?> accessor = mount.mount(AnotherThingMP.class, new AnotherThing(1)).aAccessor();
+        assertTrue(accessor.compareAndSetInt(1, 2));
+        assertFalse(accessor.compareAndSetInt(1, 3));
+        assertEquals(2, accessor.getAndAddInt(3));
+        assertEquals(5, accessor.getVolatile());
+        assertTrue(accessor.compareAndSet(5, 6));
+        accessor.setRelease(7);
+        assertEquals(7, accessor.getAcquire());
+        assertThrows(IllegalStateException.class, () -> accessor.getAndAddLong(1));
+
+        final Something underlying = new Something();
+        final SomethingMP mp = mount.mount(SomethingMP.class, underlying);
+        final Object previous = underlying.object;
+        final AnotherThingMP anotherThingMP = mount.mount(AnotherThingMP.class, new AnotherThing());
+        assertSame(previous, mp.object().getAndSet(anotherThingMP));
+        assertTrue(mp.object().compareAndSet(anotherThingMP, previous));
+        assertSame(previous, underlying.object);
+        assertThrows(IllegalStateException.class, () -> mp.anotherThing().setVolatile(anotherThingMP));
+
+        final FieldAccessor<?> counter = mount.accessStaticField(AnotherThing.class, "counter");
+        final long start = counter.getAndAddLong(2);
+        assertEquals(start + 2, AnotherThing.counter);
+        assertEquals(start + 2, counter.getOpaque());
+    }
+
+    @Test
+    void argumentsTest() {
+        final AnotherThingMP mp = mount.mount(AnotherThingMP.class, new AnotherThing());
+        final AnotherThingMP other = mount.mount(AnotherThingMP.class, new AnotherThing(3));
+        assertEquals("1, 2.0, str, 3", mp.describe(1, 2.0F, "str", other));
+
+        final AnotherThingMP notMounted = (AnotherThingMP) Proxy.newProxyInstance(
+                AnotherThingMP.class.getClassLoader(), new Class[]{AnotherThingMP.class}, (proxy, method, args) -> null
+        );
+        assertThrows(IllegalArgumentException.class, () -> mp.describe(1, 2.0F, "str", notMounted));
+    }
+
+    @Test
+    void mountPointAsObjectArgumentTest() {
+        final AnotherThingMP mp = mount.mount(AnotherThingMP.class, new AnotherThing());
+        final AnotherThing underlying = new AnotherThing();
+        final AnotherThingMP other = mount.mount(AnotherThingMP.class, underlying);
+        assertTrue(mp.isAnotherThing(other));
+        assertTrue(mp.isAnotherThing(underlying));
+        assertFalse(mp.isAnotherThing("str"));
+
+        final AnotherThing tagged = new AnotherThing();
+        mount.mount(AnotherThingMP.class, tagged).setTag(other);
+        assertSame(underlying, tagged.tag);
+    }
+
+    @Test
+    void unmountTest() {
+        final Something underlying = new Something();
+        final SomethingMP mp = mount.mount(SomethingMP.class, underlying);
+        assertTrue(mount.isMount(mp));
+        assertFalse(mount.isMount(underlying));
+        assertSame(underlying, mount.unmount(mp));
+        assertThrows(IllegalArgumentException.class, () -> mount.unmount(underlying));
+
+        final Mount anotherMount = MountBuilder.create()
+                .classLoader(Thread.currentThread().getContextClassLoader())
+                .nameTransformer(new DummyNameTransformer())
+                .build();
+        final SomethingMP anotherMP = anotherMount.mount(SomethingMP.class, underlying);
+        assertSame(mount, ((MountedObject) mp).jmount$mount());
+        assertSame(anotherMount, ((MountedObject) anotherMP).jmount$mount());
+    }
+
+    @Test
+    void runtimeTypeTest() {
+        final OverloadsMP mp = mount.mount(OverloadsMP.class, new Overloads());
+        final SomethingMP something = mount.mount(SomethingMP.class, new Something());
+        // more classes than the inline cache can hold, and each of them is seen again after it becomes megamorphic
+        for (int i = 0; i < 2; i++) {
+            assertEquals("Something", mp.accept(something)); // selected by the class of the origin object
+            assertEquals("String", mp.accept("s"));
+            assertEquals("CharSequence", mp.accept(new StringBuilder()));
+            assertEquals("Integer", mp.accept(1));
+            assertEquals("Object", mp.accept(new Object()));
+            assertEquals("Object", mp.accept(1L));
+            assertEquals("CharSequence", mp.accept(new StringBuffer()));
+        }
+    }
+
+    @Test
+    void runtimeTypeMismatchTest() {
+        final OverloadsMP mp = mount.mount(OverloadsMP.class, new Overloads());
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> mp.describe(1L));
+        assertTrue(e.getMessage().contains(Long.class.getName()), e.getMessage());
+        assertTrue(e.getMessage().contains("describe(java.lang.Integer)"), e.getMessage());
+        // the same after the shared table is used
+        assertEquals("CharSequence", mp.describe("s"));
+        assertEquals("CharSequence", mp.describe(new StringBuilder()));
+        assertEquals("CharSequence", mp.describe(new StringBuffer()));
+        assertEquals("Integer", mp.describe(1));
+        assertThrows(IllegalArgumentException.class, () -> mp.describe(1L));
+        assertEquals("Integer", mp.describe(2));
+    }
+
+    @Test
+    void runtimeTypeUnloadingTest() throws InterruptedException {
+        final OverloadsMP mp = mount.mount(OverloadsMP.class, new Overloads());
+        // fill the inline cache, the following classes are kept in the shared table
+        mp.accept("s");
+        mp.accept(new StringBuilder());
+        mp.accept(1);
+        mp.accept(new Object());
+        mp.accept(1L);
+        final WeakReference<ClassLoader> loader = acceptClassOfTemporaryLoader(mp);
+        for (int i = 0; i < 50 && loader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(loader.get());
+    }
+
+    private static WeakReference<ClassLoader> acceptClassOfTemporaryLoader(OverloadsMP mp) {
+        final ClassLoader loader = new URLClassLoader(new URL[0], null);
+        final Object proxy = Proxy.newProxyInstance(loader, new Class<?>[]{Runnable.class}, (p, m, args) -> null);
+        assertEquals("Object", mp.accept(proxy));
+        assertEquals("Object", mp.accept(proxy));
+        return new WeakReference<>(loader);
+    }
+
+    @Test
+    void missingOriginClassTest() {
+        final ReflectOperationException first =
+                assertThrows(ReflectOperationException.class, () -> mount.findOriginClass(MissingMP.class));
+        final ReflectOperationException second =
+                assertThrows(ReflectOperationException.class, () -> mount.findOriginClass(MissingMP.class));
+        assertSame(first.getCause(), second.getCause()); // the lookup is not performed again
+        assertThrows(ReflectOperationException.class, () -> mount.mount(MissingMP.class, new Object()));
+        assertThrows(IllegalArgumentException.class, () -> mount.findOriginClass(Something.class));
+    }
+
     @Test
     void constructorTest() {
         final Constructor<?> c = perform(() -> Something.class.getDeclaredConstructor(AnotherThing.class));
@@ -91,6 +277,23 @@ public class MountTest {
         final ConstructorMP<AnotherThingMP> atmpcWithInt = mount.findConstructorAndWrapAsMP(AnotherThingMP.class, int.class);
         final AnotherThingMP anotherThingMP1 = atmpcWithInt.newInstance(a);
         assertEquals(a, anotherThingMP1.getA());
+
+        final Object[] args = {anotherThingMP};
+        wc.newInstance(args);
+        assertSame(anotherThingMP, args[0]); // the array of the caller is not modified
+        assertThrows(IllegalArgumentException.class, () -> wc.newInstance(anotherThingMP, anotherThingMP));
+        assertThrows(IllegalArgumentException.class, () -> atmpcWithInt.newInstance(6L));
+    }
+
+    @Test
+    void preloadTest() {
+        final PreloadReport report = mount.preload(ForkJoinPool.commonPool(),
+                SomethingMP.class, AnotherThingMP.class, MissingMP.class).join();
+        assertEquals(3, report.getResults().size());
+        assertFalse(report.isSuccessful());
+        assertTrue(report.getResults().get(SomethingMP.class).isSuccessful());
+        assertTrue(report.getResults().get(AnotherThingMP.class).isSuccessful());
+        assertInstanceOf(ReflectOperationException.class, report.getFailures().get(MissingMP.class));
     }
 
     @SuppressWarnings("DataFlowIssue")
@@ -107,4 +310,48 @@ public class MountTest {
         assertEquals(AnEnum.A.getStr(), AnEnumMP.A.getStr());
         assertEquals(AnEnum.B.getStr(), AnEnumMP.B.getStr());
     }
+
+    @Test
+    void narrowAtomicAccessTest() {
+        final Primitives underlying = new Primitives();
+        final FieldAccessor<?> z = mount.accessField(underlying, "z");
+        final FieldAccessor<?> b = mount.accessField(underlying, "b");
+        final FieldAccessor<?> s = mount.accessField(underlying, "s");
+        final FieldAccessor<?> c = mount.accessField(underlying, "c");
+        assertTrue(z.compareAndSet(false, true));
+        assertFalse(z.compareAndSet(false, true));
+        assertTrue(b.compareAndSet((byte) 0, (byte) -1));
+        assertEquals((short) 0, s.getAndSet((short) -2));
+        assertTrue(c.compareAndSet('\0', '\uffff'));
+        assertEquals(true, z.getAndSet(false));
+        assertEquals((byte) -1, b.getAndSet((byte) 5));
+        assertFalse(underlying.z);
+        assertEquals(5, underlying.b);
+        assertEquals(-2, underlying.s);
+        assertEquals('\uffff', underlying.c);
+
+        final FieldAccessor<?> f = mount.accessField(underlying, "f");
+        final FieldAccessor<?> d = mount.accessField(underlying, "d");
+        assertTrue(f.compareAndSet(0.0F, 1.5F));
+        assertEquals(1.5F, f.getAndSet(2.5F));
+        assertTrue(d.compareAndSet(0.0, -1.0));
+        assertEquals(-1.0, d.getAndSet(3.0));
+        assertEquals(2.5F, underlying.f);
+        assertEquals(3.0, underlying.d);
+    }
+
+    @Test
+    void nonPublicMountPointTest() {
+        final Something underlying = new Something();
+        final PackagePrivateMP mp = mount.mount(PackagePrivateMP.class, underlying);
+        mp.doSomething();
+        assertTrue(underlying.did);
+        assertTrue(mount.isMount(mp));
+        assertSame(underlying, mount.unmount(mp));
+    }
+
+    @MountPoint("snw.jmount.test.testobjects.origin.Something")
+    interface PackagePrivateMP {
+        void doSomething();
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.test;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import snw.jmount.Mount;
+import snw.jmount.MountBuilder;
+import snw.jmount.test.testobjects.DummyNameTransformer;
+import snw.jmount.test.testobjects.mp.AnotherThingMP;
+import snw.jmount.test.testobjects.mp.SomethingMP;
+import snw.jmount.test.testobjects.origin.AnotherThing;
+import snw.jmount.test.testobjects.origin.Something;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// runs the tests in MountTest with the Mount Point classes generated by jmount-processor
+public class PreparedMountTest extends MountTest {
+
+    @BeforeAll
+    static void beforeAll() {
+        mount = MountBuilder.create()
+                .classLoader(Thread.currentThread().getContextClassLoader())
+                .nameTransformer(new DummyNameTransformer())
+                .build();
+    }
+
+    // not a test, the enum constants are static and they are filled by MountTest
+    @Override
+    void fillEnumTest() {
+    }
+
+    @Test
+    void generatedClassTest() {
+        final SomethingMP mp = mount.mount(SomethingMP.class, new Something());
+        assertEquals(SomethingMP.class.getName() + "$JMountImpl", mp.getClass().getName());
+        assertEquals(AnotherThingMP.class.getName() + "$JMountImpl",
+                mount.mount(AnotherThingMP.class, new AnotherThing()).getClass().getName());
+
+        final Mount notPrepared = MountBuilder.create()
+                .classLoader(Thread.currentThread().getContextClassLoader())
+                .nameTransformer(new DummyNameTransformer())
+                .prepared(false)
+                .build();
+        assertNotEquals(mp.getClass(), notPrepared.mount(SomethingMP.class, new Something()).getClass());
+    }
+}
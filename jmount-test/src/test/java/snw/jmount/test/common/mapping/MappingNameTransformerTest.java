@@ -0,0 +1,190 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.test.common.mapping;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import snw.jmount.NameTransformer;
+import snw.jmount.common.mapping.CachingNameTransformer;
+import snw.jmount.common.mapping.MappingNameTransformer;
+import snw.jmount.test.testobjects.CountingNameTransformer;
+import snw.jmount.test.testobjects.origin.AnotherThing;
+import snw.jmount.test.testobjects.origin.Something;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the test objects are used as the obfuscated classes, com.example.Foo is Something, com.example.Bar is AnotherThing
+public class MappingNameTransformerTest {
+    private static final String FOO = Something.class.getName();
+    private static final String BAR = AnotherThing.class.getName();
+    private static final String FOO_INTERNAL = FOO.replace('.', '/');
+    private static final String BAR_INTERNAL = BAR.replace('.', '/');
+    private static final Class<?>[] STRING_INT = {String.class, int.class};
+    private static final Class<?>[] BAR_ARRAY = {AnotherThing[].class};
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void proGuardTest() throws IOException {
+        final MappingNameTransformer transformer = MappingNameTransformer.readProGuard(new StringReader(
+                "# compiler: R8\n" +
+                "com.example.Foo -> " + FOO + ":\n" +
+                "    int count -> a\n" +
+                "    com.example.Bar bar -> b\n" +
+                "    1:3:void run(java.lang.String,int):10:12 -> a\n" +
+                "    4:4:void run(java.lang.String,int):13:13 -> a\n" +
+                "    void run(com.example.Bar[]) -> b\n" +
+                "    5:5:void com.example.Bar.inlined():20:20 -> c\n" +
+                "com.example.Bar -> " + BAR + ":\n"
+        ));
+        check(transformer);
+        assertEquals("inlined", transformer.transformMethodName(FOO, "inlined", new Class<?>[0]));
+    }
+
+    @Test
+    void srgTest() throws IOException {
+        check(MappingNameTransformer.readSrg(new StringReader(srg())));
+    }
+
+    @Test
+    void tinyTest() throws IOException {
+        check(MappingNameTransformer.readTiny(new StringReader(
+                "v1\tofficial\tnamed\n" +
+                "CLASS\t" + FOO_INTERNAL + "\tcom/example/Foo\n" +
+                "CLASS\t" + BAR_INTERNAL + "\tcom/example/Bar\n" +
+                "FIELD\t" + FOO_INTERNAL + "\tI\ta\tcount\n" +
+                "FIELD\t" + FOO_INTERNAL + "\tL" + BAR_INTERNAL + ";\tb\tbar\n" +
+                "METHOD\t" + FOO_INTERNAL + "\t(Ljava/lang/String;I)V\ta\trun\n" +
+                "METHOD\t" + FOO_INTERNAL + "\t([L" + BAR_INTERNAL + ";)V\tb\trun\n"
+        ), "named", "official"));
+
+        // the descriptors are in the first namespace, which is not the runtime one here
+        check(MappingNameTransformer.readTiny(new StringReader(
+                "tiny\t2\t0\tofficial\tintermediary\tnamed\n" +
+                "\tsome-property\n" +
+                "c\ta/a\t" + FOO_INTERNAL + "\tcom/example/Foo\n" +
+                "\tc\tA comment.\n" +
+                "\tf\tI\ta\ta\tcount\n" +
+                "\tf\tLa/b;\tb\tb\tbar\n" +
+                "\tm\t(Ljava/lang/String;I)V\ta\ta\trun\n" +
+                "\t\tp\t1\t\t\tname\n" +
+                "\tm\t([La/b;)V\tb\tb\trun\n" +
+                "c\ta/b\t" + BAR_INTERNAL + "\tcom/example/Bar\n"
+        ), "named", "intermediary"));
+
+        assertThrows(IllegalArgumentException.class, () -> MappingNameTransformer.readTiny(
+                new StringReader("v1\tofficial\tnamed\n"), "named", "intermediary"));
+    }
+
+    @Test
+    void indexTest() throws IOException {
+        final Path file = dir.resolve("mapping.idx");
+        final MappingNameTransformer read = MappingNameTransformer.readSrg(new StringReader(srg()));
+        read.saveIndex(file);
+        final MappingNameTransformer loaded = MappingNameTransformer.loadIndex(file);
+        check(loaded);
+
+        // the same names give the same fingerprint, another mapping gives another one
+        assertEquals(read.fingerprint(), loaded.fingerprint());
+        assertEquals(read.fingerprint(), CachingNameTransformer.of(loaded).fingerprint());
+        assertNotEquals(read.fingerprint(), MappingNameTransformer.readSrg(new StringReader(
+                srg().replace("/a com/example/Foo/count", "/c com/example/Foo/count"))).fingerprint());
+    }
+
+    @Test
+    void inheritedTest() throws IOException {
+        final MappingNameTransformer transformer = MappingNameTransformer.readProGuard(new StringReader(
+                "java.util.AbstractList -> java.util.AbstractList:\n" +
+                "    int count -> modCount\n"
+        ));
+        assertEquals("count", transformer.transformFieldName("java.util.ArrayList", "count"));
+        assertEquals("modCount", transformer.withClassLoader(ClassLoader.getSystemClassLoader())
+                .transformFieldName("java.util.ArrayList", "count"));
+    }
+
+    @Test
+    void cachingTest() throws IOException {
+        final CountingNameTransformer counting = new CountingNameTransformer();
+        final CachingNameTransformer cached = CachingNameTransformer.of(counting);
+        assertSame(cached, CachingNameTransformer.of(cached));
+        assertEquals("run", cached.transformMethodName(FOO, "run", STRING_INT));
+        assertEquals("run", cached.transformMethodName(FOO, "run", STRING_INT));
+        assertEquals("run", cached.transformMethodName(FOO, "run", BAR_ARRAY));
+        assertEquals("count", cached.transformFieldName(FOO, "count"));
+        assertEquals("count", cached.transformFieldName(FOO, "count"));
+        assertEquals(3, counting.members.get());
+        assertNull(cached.transformMemberNames(FOO));
+
+        // answered by the names transformed at once
+        final CachingNameTransformer mapping = CachingNameTransformer.of(
+                MappingNameTransformer.readSrg(new StringReader(srg())));
+        final Map<String, String> names = mapping.transformMemberNames(FOO);
+        assertNotNull(names);
+        assertEquals("a", names.get("run(Ljava/lang/String;I)"));
+        assertEquals("b", names.get("run([L" + BAR_INTERNAL + ";)"));
+        check(mapping);
+
+        // the names missing from the batch are transformed one by one
+        final CachingNameTransformer partial = CachingNameTransformer.of(new CountingNameTransformer() {
+            @Override
+            public Map<String, String> transformMemberNames(String originClassName) {
+                return Collections.singletonMap("count", "a");
+            }
+        });
+        assertEquals("a", partial.transformFieldName(FOO, "count"));
+        assertEquals("bar", partial.transformFieldName(FOO, "bar"));
+        assertEquals("run", partial.transformMethodName(FOO, "run", STRING_INT));
+        assertEquals(2, ((CountingNameTransformer) partial.getDelegate()).members.get());
+    }
+
+    @Test
+    void malformedTest() {
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> MappingNameTransformer.readProGuard(new StringReader("a -> b:\n    broken\n")));
+        assertTrue(e.getMessage().contains("line 2"));
+    }
+
+    private static String srg() {
+        return "PK: . com/example\n" +
+                "CL: " + FOO_INTERNAL + " com/example/Foo\n" +
+                "CL: " + BAR_INTERNAL + " com/example/Bar\n" +
+                "FD: " + FOO_INTERNAL + "/a com/example/Foo/count\n" +
+                "FD: " + FOO_INTERNAL + "/b com/example/Foo/bar\n" +
+                "MD: " + FOO_INTERNAL + "/a (Ljava/lang/String;I)V com/example/Foo/run (Ljava/lang/String;I)V\n" +
+                "MD: " + FOO_INTERNAL + "/b ([L" + BAR_INTERNAL + ";)V com/example/Foo/run ([Lcom/example/Bar;)V\n";
+    }
+
+    private static void check(NameTransformer transformer) {
+        assertEquals(FOO, transformer.transformClassName("com.example.Foo"));
+        assertEquals(BAR, transformer.transformClassName("com.example.Bar"));
+        assertEquals("java.lang.String", transformer.transformClassName("java.lang.String"));
+        assertEquals("a", transformer.transformFieldName(FOO, "count"));
+        assertEquals("b", transformer.transformFieldName(FOO, "bar"));
+        assertEquals("missing", transformer.transformFieldName(FOO, "missing"));
+        assertEquals("count", transformer.transformFieldName(BAR, "count"));
+        assertEquals("a", transformer.transformMethodName(FOO, "run", STRING_INT));
+        assertEquals("b", transformer.transformMethodName(FOO, "run", BAR_ARRAY));
+        assertEquals("run", transformer.transformMethodName(FOO, "run", new Class<?>[]{String.class}));
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.test.common.meta;
+
+import org.junit.jupiter.api.Test;
+import snw.jmount.common.meta.MemberIndex;
+import snw.jmount.test.testobjects.origin.Something;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MemberIndexTest {
+    @Test
+    void indexTest() {
+        final MemberIndex index = MemberIndex.of(Something.class);
+        assertSame(index, MemberIndex.of(Something.class));
+        assertEquals(1, index.getMethods("doSomething", 0).length);
+        assertEquals(0, index.getMethods("doSomething", 1).length);
+        assertNotNull(index.getField("did"));
+        assertNull(index.getField("missing"));
+        assertEquals(1, index.getConstructors(0).length);
+        assertEquals(1, index.getConstructors(1).length);
+        assertEquals(0, index.getConstructors(2).length);
+    }
+
+    @Test
+    void inheritedTest() {
+        final MemberIndex index = MemberIndex.of(ArrayList.class);
+        assertSame(AbstractList.class, index.getField("modCount").getDeclaringClass());
+        assertSame(ArrayList.class, index.getMethods("add", 1)[0].getDeclaringClass());
+        assertTrue(index.getMethods("add", 1).length > 1); // also contains the ones in the superclasses
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.test.common.meta;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import snw.jmount.MountBuilder;
+import snw.jmount.common.AbstractMount;
+import snw.jmount.common.meta.MountPointMetadata;
+import snw.jmount.common.meta.ResolvedField;
+import snw.jmount.common.meta.ResolvedMethod;
+import snw.jmount.test.testobjects.CountingNameTransformer;
+import snw.jmount.test.testobjects.DummyNameTransformer;
+import snw.jmount.test.testobjects.mp.BrokenMP;
+import snw.jmount.test.testobjects.mp.SomethingMP;
+import snw.jmount.test.testobjects.origin.Something;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static snw.jmount.common.util.ReflectUtils.perform;
+
+public class MountPointMetadataTest {
+    protected static AbstractMount mount;
+
+    @BeforeAll
+    static void beforeAll() {
+        mount = (AbstractMount) MountBuilder.create()
+                .classLoader(Thread.currentThread().getContextClassLoader())
+                .nameTransformer(new DummyNameTransformer())
+                .build();
+    }
+
+    @Test
+    void resolveOnceTest() {
+        final MountPointMetadata metadata = mount.getMetadata(SomethingMP.class);
+        assertTrue(metadata.isResolved());
+        assertSame(Something.class, metadata.getOriginClass());
+        assertSame(metadata, mount.getMetadata(SomethingMP.class));
+        mount.mount(SomethingMP.class, new Something());
+        assertSame(metadata, mount.getMetadata(SomethingMP.class));
+    }
+
+    @Test
+    void membersTest() {
+        final MountPointMetadata metadata = mount.getMetadata(SomethingMP.class);
+        assertEquals(5, metadata.getMembers().size());
+        assertInstanceOf(ResolvedField.class,
+                metadata.getMember(perform(() -> SomethingMP.class.getDeclaredMethod("getVar0"))));
+        final ResolvedMethod redirected = (ResolvedMethod) metadata.getMember(
+                perform(() -> SomethingMP.class.getDeclaredMethod("anotherRefToDoSomething"))
+        );
+        assertNotNull(redirected);
+        assertEquals("doSomething", redirected.getUnderlyingMethod().getName());
+    }
+
+    @Test
+    void singleFlightTest() throws Exception {
+        final CountingNameTransformer transformer = new CountingNameTransformer();
+        final AbstractMount concurrentMount = (AbstractMount) MountBuilder.create()
+                .classLoader(Thread.currentThread().getContextClassLoader())
+                .nameTransformer(transformer)
+                .build();
+        final int threads = 16;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<MountPointMetadata>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return concurrentMount.getMetadata(SomethingMP.class);
+                }));
+            }
+            start.countDown();
+            final MountPointMetadata metadata = futures.get(0).get();
+            for (Future<MountPointMetadata> future : futures) {
+                assertSame(metadata, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // each member is resolved only once, and the name of doSomething is transformed once for both methods
+        assertEquals(4, transformer.members.get());
+    }
+
+    @Test
+    void failureTest() {
+        final NoSuchElementException first =
+                assertThrows(NoSuchElementException.class, () -> mount.getMetadata(BrokenMP.class));
+        final NoSuchElementException second =
+                assertThrows(NoSuchElementException.class, () -> mount.getMetadata(BrokenMP.class));
+        assertSame(first, second.getCause()); // not resolved again
+        assertThrows(NoSuchElementException.class, () -> mount.mount(BrokenMP.class, new Something()));
+        assertThrows(IllegalArgumentException.class, () -> mount.getMetadata(Something.class));
+    }
+}
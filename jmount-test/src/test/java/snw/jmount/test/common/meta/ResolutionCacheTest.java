@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.test.common.meta;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import snw.jmount.MountBuilder;
+import snw.jmount.common.AbstractMount;
+import snw.jmount.test.testobjects.CountingNameTransformer;
+import snw.jmount.test.testobjects.DummyNameTransformer;
+import snw.jmount.test.testobjects.mp.AnotherThingMP;
+import snw.jmount.test.testobjects.mp.SomethingMP;
+import snw.jmount.test.testobjects.origin.Something;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResolutionCacheTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void reuseTest() throws IOException {
+        final Path file = dir.resolve("resolution.cache");
+        final CountingNameTransformer transformer = new CountingNameTransformer();
+        resolve(file, transformer);
+        assertTrue(transformer.members.get() > 0);
+        assertTrue(Files.size(file) > 0);
+
+        transformer.members.set(0);
+        final AbstractMount mount = resolve(file, transformer);
+        assertEquals(0, transformer.members.get()); // all of them are loaded from the file
+        final Something underlying = new Something();
+        final SomethingMP mp = mount.mount(SomethingMP.class, underlying);
+        mp.doSomething();
+        assertTrue(underlying.did);
+        assertEquals(0, mp.getVar0());
+
+        // the incomplete record is dropped, the complete ones are still used
+        Files.write(file, new byte[]{0, 42, 1}, StandardOpenOption.APPEND);
+        resolve(file, transformer);
+        assertEquals(0, transformer.members.get());
+
+        // unreadable, resolve them again
+        Files.write(file, new byte[]{1, 2, 3});
+        resolve(file, transformer);
+        assertTrue(transformer.members.get() > 0);
+
+        // created by another name transformer
+        transformer.members.set(0);
+        resolve(file, new DummyNameTransformer());
+        resolve(file, transformer);
+        assertTrue(transformer.members.get() > 0);
+
+        // the same type of name transformer, but another mapping
+        transformer.members.set(0);
+        transformer.version = 1;
+        resolve(file, transformer);
+        assertTrue(transformer.members.get() > 0);
+        transformer.members.set(0);
+        resolve(file, transformer);
+        assertEquals(0, transformer.members.get());
+    }
+
+    private static AbstractMount resolve(Path file, DummyNameTransformer transformer) {
+        final AbstractMount mount = (AbstractMount) MountBuilder.create()
+                .classLoader(Thread.currentThread().getContextClassLoader())
+                .nameTransformer(transformer)
+                .resolutionCache(file)
+                .build();
+        mount.getMetadata(SomethingMP.class);
+        mount.getMetadata(AnotherThingMP.class);
+        return mount;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.test.common.util;
+
+import org.junit.jupiter.api.Test;
+import snw.jmount.common.util.ConcurrentWeakIdentityMap;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentWeakIdentityMapTest {
+    @Test
+    void identityTest() {
+        final ConcurrentWeakIdentityMap<String, Object> map = new ConcurrentWeakIdentityMap<>();
+        final String key = new String("key");
+        final String equalKey = new String("key");
+        final Object value = new Object();
+
+        assertSame(value, map.computeIfAbsent(key, k -> value));
+        assertSame(value, map.computeIfAbsent(key, k -> new Object()));
+        assertSame(value, map.get(key));
+        assertNull(map.get(equalKey));
+        assertNotSame(value, map.computeIfAbsent(equalKey, k -> new Object()));
+        assertEquals(2, map.size());
+
+        assertSame(value, map.remove(key));
+        assertNull(map.get(key));
+    }
+
+    @Test
+    void weakKeyTest() throws InterruptedException {
+        final ConcurrentWeakIdentityMap<Object, Object> map = new ConcurrentWeakIdentityMap<>();
+        final Object value = new Object(); // keep the value reachable, only the key can be collected
+        map.computeIfAbsent(new Object(), k -> value);
+        for (int i = 0; i < 50 && map.size() != 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void weakValueTest() throws InterruptedException {
+        final ConcurrentWeakIdentityMap<Object, Object> map = new ConcurrentWeakIdentityMap<>();
+        final Object key = new Object(); // keep the key reachable, only the value can be collected
+        map.computeIfAbsent(key, k -> new Object());
+        for (int i = 0; i < 50 && map.size() != 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(0, map.size());
+        assertNull(map.get(key));
+    }
+
+    @Test
+    void singleFlightTest() throws InterruptedException {
+        final ConcurrentWeakIdentityMap<Object, Object> map = new ConcurrentWeakIdentityMap<>();
+        final Object key = new Object();
+        final Object value = new Object();
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                assertSame(value, map.computeIfAbsent(key, k -> {
+                    calls.incrementAndGet();
+                    return value;
+                }));
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, calls.get());
+    }
+}
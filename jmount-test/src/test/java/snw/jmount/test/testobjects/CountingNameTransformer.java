@@ -0,0 +1,42 @@
+/*
+ * Copyright 2023 JMount contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package snw.jmount.test.testobjects;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// counts the member names transformed, each of them is transformed when the member is resolved
+public class CountingNameTransformer extends DummyNameTransformer {
+    public final AtomicInteger members = new AtomicInteger();
+    public volatile long version; // the fingerprint, changed to simulate another mapping
+
+    @Override
+    public long fingerprint() {
+        return version;
+    }
+
+    @Override
+    public String transformFieldName(String originClassName, String fieldNameWithPattern) {
+        members.incrementAndGet();
+        return fieldNameWithPattern;
+    }
+
+    @Override
+    public String transformMethodName(String originClassName, String methodNameWithPattern, Class<?>[] convertedArgTypes) {
+        members.incrementAndGet();
+        return methodNameWithPattern;
+    }
+}
@@ -18,9 +18,20 @@ package snw.jmount.test.testobjects.mp;
 
 import snw.jmount.annotation.AccessField;
 import snw.jmount.annotation.MountPoint;
+import snw.jmount.handle.FieldAccessor;
 
 @MountPoint("snw.jmount.test.testobjects.origin.AnotherThing")
 public interface AnotherThingMP {
     @AccessField("a")
     int getA();
+
+    @AccessField("a")
+    FieldAccessor<?> aAccessor();
+
+    @AccessField("tag")
+    void setTag(Object tag);
+
+    String describe(int i, float f, String s, AnotherThingMP other);
+
+    boolean isAnotherThing(Object value); // the Mount Point instances are unmounted even if the type is not a Mount Point
 }
@@ -17,7 +17,9 @@
 package snw.jmount.test.testobjects.origin;
 
 public class AnotherThing {
+    public static long counter = 0;
     public int a = 0;
+    public Object tag;
 
     public AnotherThing() {
     }
@@ -25,4 +27,12 @@ public class AnotherThing {
     public AnotherThing(int a) {
         this.a = a;
     }
+
+    public String describe(int i, float f, String s, AnotherThing other) {
+        return i + ", " + f + ", " + s + ", " + other.a;
+    }
+
+    public boolean isAnotherThing(Object value) {
+        return value instanceof AnotherThing;
+    }
 }